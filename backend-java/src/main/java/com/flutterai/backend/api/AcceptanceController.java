@@ -3,6 +3,7 @@ package com.flutterai.backend.api;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -40,93 +41,37 @@ public class AcceptanceController {
   }
 
   @GetMapping("/v1/acceptance-records")
-  public List<AcceptanceRecordOut> listAcceptance(
+  public ResponseEntity<List<AcceptanceRecordOut>> listAcceptance(
       @RequestParam(name = "project_id", defaultValue = "1") long projectId,
       @RequestParam(name = "project_name", required = false) String projectName,
-      @RequestParam(name = "limit", defaultValue = "100") int limit) {
+      @RequestParam(name = "limit", defaultValue = "100") int limit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
 
     if (projectName != null && !projectName.trim().isEmpty()) {
       projectId = projectService.ensureProject(projectName.trim()).getId();
     }
 
-    return acceptanceService.list(projectId, limit).stream()
-        .map(r -> new AcceptanceRecordOut(
-            r.getId(),
-            r.getProjectId(),
-            r.getRegionCode(),
-            r.getRegionText(),
-            r.getBuildingNo(),
-            r.getFloorNo(),
-            r.getZone(),
-            r.getDivision(),
-            r.getSubdivision(),
-            r.getItem(),
-            r.getItemCode(),
-            r.getIndicator(),
-            r.getIndicatorCode(),
-            r.getResult(),
-            r.getPhotoPath(),
-            r.getRemark(),
-            r.getAiJson(),
-            r.getClientCreatedAt(),
-            r.getCreatedAt(),
-            r.getSource(),
-            r.getClientRecordId()
-        ))
-        .toList();
+    return Paging.page(acceptanceService.list(projectId, limit, cursor));
   }
 
   @GetMapping("/v1/acceptance-records/{recordId}")
   public AcceptanceRecordOut getAcceptance(@PathVariable("recordId") long recordId) {
-    var r = acceptanceService.get(recordId);
+    var r = acceptanceService.getOut(recordId);
     if (r == null) {
       throw new ApiNotFoundException("acceptance record not found");
     }
-    return new AcceptanceRecordOut(
-        r.getId(),
-        r.getProjectId(),
-        r.getRegionCode(),
-        r.getRegionText(),
-        r.getBuildingNo(),
-        r.getFloorNo(),
-        r.getZone(),
-        r.getDivision(),
-        r.getSubdivision(),
-        r.getItem(),
-        r.getItemCode(),
-        r.getIndicator(),
-        r.getIndicatorCode(),
-        r.getResult(),
-        r.getPhotoPath(),
-        r.getRemark(),
-        r.getAiJson(),
-        r.getClientCreatedAt(),
-        r.getCreatedAt(),
-        r.getSource(),
-        r.getClientRecordId()
-    );
+    return r;
   }
 
   @GetMapping("/v1/acceptance-records/{recordId}/actions")
-  public List<RectificationActionOut> listActions(@PathVariable("recordId") long recordId) {
-    var r = acceptanceService.get(recordId);
-    if (r == null) {
+  public ResponseEntity<List<RectificationActionOut>> listActions(
+      @PathVariable("recordId") long recordId,
+      @RequestParam(name = "limit", defaultValue = "200") int limit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    if (!acceptanceService.exists(recordId)) {
       throw new ApiNotFoundException("acceptance record not found");
     }
-    return actionService.listActions("acceptance", recordId, 200).stream()
-        .map(a -> new RectificationActionOut(
-            a.getId(),
-            a.getProjectId(),
-            a.getTargetType(),
-            a.getTargetId(),
-            a.getActionType(),
-            a.getContent(),
-            a.getPhotoUrls(),
-            a.getActorRole(),
-            a.getActorName(),
-            a.getCreatedAt()
-        ))
-        .toList();
+    return Paging.page(actionService.listActions("acceptance", recordId, limit, cursor));
   }
 
   @PostMapping("/v1/acceptance-records/{recordId}/actions")
@@ -0,0 +1,46 @@
+package com.flutterai.backend.api;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flutterai.backend.dto.AnalyticsDtos.AnalyticsQueryIn;
+import com.flutterai.backend.dto.AnalyticsDtos.AnalyticsQueryOut;
+import com.flutterai.backend.service.AnalyticsQueryService;
+import com.flutterai.backend.service.AnalyticsSnapshots;
+import com.flutterai.backend.service.ProjectService;
+
+@RestController
+public class AnalyticsController {
+  private final AnalyticsSnapshots analyticsSnapshots;
+  private final AnalyticsQueryService analyticsQueryService;
+  private final ProjectService projectService;
+
+  public AnalyticsController(
+      AnalyticsSnapshots analyticsSnapshots,
+      AnalyticsQueryService analyticsQueryService,
+      ProjectService projectService) {
+    this.analyticsSnapshots = analyticsSnapshots;
+    this.analyticsQueryService = analyticsQueryService;
+    this.projectService = projectService;
+  }
+
+  @GetMapping("/v1/analytics/snapshots")
+  public Map<String, Object> snapshots() {
+    return analyticsSnapshots.stats();
+  }
+
+  @PostMapping("/v1/analytics/query")
+  public AnalyticsQueryOut query(@RequestBody AnalyticsQueryIn payload) {
+    long projectId = 1;
+    if (payload != null && payload.projectId() != null) {
+      projectId = payload.projectId();
+    } else if (payload != null && payload.projectName() != null && !payload.projectName().trim().isEmpty()) {
+      projectId = projectService.ensureProject(payload.projectName().trim()).getId();
+    }
+    return analyticsQueryService.query(projectId, payload);
+  }
+}
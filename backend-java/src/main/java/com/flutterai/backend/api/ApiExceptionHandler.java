@@ -7,6 +7,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
@@ -22,4 +24,16 @@ public class ApiExceptionHandler {
     return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
         .body(Map.of("detail", "validation error"));
   }
+
+  @ExceptionHandler(ResponseStatusException.class)
+  public ResponseEntity<Map<String, Object>> handleStatus(ResponseStatusException ex) {
+    return ResponseEntity.status(ex.getStatusCode())
+        .body(Map.of("detail", ex.getReason() == null ? "error" : ex.getReason()));
+  }
+
+  @ExceptionHandler(MaxUploadSizeExceededException.class)
+  public ResponseEntity<Map<String, Object>> handleMaxUpload(MaxUploadSizeExceededException ex) {
+    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+        .body(Map.of("detail", "upload too large"));
+  }
 }
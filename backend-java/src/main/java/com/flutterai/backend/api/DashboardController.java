@@ -5,15 +5,25 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.flutterai.backend.service.DashboardService;
+import com.flutterai.backend.service.DashboardSnapshots;
+import com.flutterai.backend.service.LocationIndex;
 import com.flutterai.backend.service.ProjectService;
 
 @RestController
 public class DashboardController {
   private final DashboardService dashboardService;
+  private final DashboardSnapshots dashboardSnapshots;
+  private final LocationIndex locationIndex;
   private final ProjectService projectService;
 
-  public DashboardController(DashboardService dashboardService, ProjectService projectService) {
+  public DashboardController(
+      DashboardService dashboardService,
+      DashboardSnapshots dashboardSnapshots,
+      LocationIndex locationIndex,
+      ProjectService projectService) {
     this.dashboardService = dashboardService;
+    this.dashboardSnapshots = dashboardSnapshots;
+    this.locationIndex = locationIndex;
     this.projectService = projectService;
   }
 
@@ -26,7 +36,8 @@ public class DashboardController {
     if (projectName != null && !projectName.trim().isEmpty()) {
       projectId = projectService.ensureProject(projectName.trim()).getId();
     }
-    return dashboardService.summary(projectId, limit);
+    Object snapshot = dashboardSnapshots.summary(projectId, limit);
+    return snapshot != null ? snapshot : dashboardService.summary(projectId, limit);
   }
 
   @GetMapping("/v1/dashboard/focus")
@@ -36,13 +47,29 @@ public class DashboardController {
       @RequestParam(name = "time_range_days", defaultValue = "14") int timeRangeDays,
       @RequestParam(name = "building", required = false) String building,
       @RequestParam(name = "do_backfill", defaultValue = "true") boolean doBackfill,
-      @RequestParam(name = "backfill_limit", defaultValue = "200") int backfillLimit) {
+      @RequestParam(name = "backfill_limit", defaultValue = "200") int backfillLimit,
+      @RequestParam(name = "compare", defaultValue = "false") boolean compare) {
 
     if (projectName != null && !projectName.trim().isEmpty()) {
       projectId = projectService.ensureProject(projectName.trim()).getId();
     }
 
     String b = building == null || building.trim().isEmpty() ? null : building.trim();
-    return dashboardService.focusPack(projectId, timeRangeDays, b, doBackfill, backfillLimit);
+    if (compare) {
+      return dashboardService.focusComparison(projectId, timeRangeDays, b, doBackfill, backfillLimit);
+    }
+    Object snapshot = dashboardSnapshots.focusPack(projectId, timeRangeDays, b);
+    return snapshot != null ? snapshot : dashboardService.focusPack(projectId, timeRangeDays, b, doBackfill, backfillLimit);
+  }
+
+  @GetMapping("/v1/dashboard/heatmap")
+  public Object heatmap(
+      @RequestParam(name = "project_id", defaultValue = "1") long projectId,
+      @RequestParam(name = "project_name", required = false) String projectName) {
+
+    if (projectName != null && !projectName.trim().isEmpty()) {
+      projectId = projectService.ensureProject(projectName.trim()).getId();
+    }
+    return locationIndex.heatmap(projectId);
   }
 }
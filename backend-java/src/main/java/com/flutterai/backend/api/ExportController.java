@@ -0,0 +1,67 @@
+package com.flutterai.backend.api;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flutterai.backend.service.ExportService;
+import com.flutterai.backend.service.ExportService.Format;
+import com.flutterai.backend.service.ProjectService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+public class ExportController {
+  private final ExportService exportService;
+  private final ProjectService projectService;
+
+  public ExportController(ExportService exportService, ProjectService projectService) {
+    this.exportService = exportService;
+    this.projectService = projectService;
+  }
+
+  @GetMapping("/v1/export")
+  public void export(
+      @RequestParam(name = "project_id", defaultValue = "1") long projectId,
+      @RequestParam(name = "project_name", required = false) String projectName,
+      @RequestParam(name = "format", defaultValue = "ndjson") String format,
+      @RequestParam(name = "tables", required = false) String tables,
+      @RequestParam(name = "gzip", defaultValue = "false") boolean gzip,
+      HttpServletResponse response) throws IOException {
+
+    if (projectName != null && !projectName.trim().isEmpty()) {
+      projectId = projectService.ensureProject(projectName.trim()).getId();
+    }
+
+    // Validate before the response is committed so errors still come back as JSON 400s.
+    Format f = ExportService.parseFormat(format);
+    var names = ExportService.parseTables(tables);
+    if (f == Format.CSV && names.size() != 1) {
+      throw new IllegalArgumentException("csv export needs exactly one table");
+    }
+
+    String filename = "project-" + projectId
+        + (f == Format.CSV ? "-" + names.get(0) + ".csv" : ".ndjson")
+        + (gzip ? ".gz" : "");
+    response.setContentType(gzip ? "application/gzip" : (f == Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson"));
+    response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+
+    OutputStream raw = response.getOutputStream();
+    if (gzip) {
+      GZIPOutputStream gz = new GZIPOutputStream(raw, 64 * 1024);
+      OutputStream out = new BufferedOutputStream(gz, 64 * 1024);
+      exportService.export(projectId, f, names, out);
+      out.flush();
+      gz.finish();
+    } else {
+      OutputStream out = new BufferedOutputStream(raw, 64 * 1024);
+      exportService.export(projectId, f, names, out);
+      out.flush();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.flutterai.backend.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.flutterai.backend.dto.ImportDtos.ImportJobOut;
+import com.flutterai.backend.service.ImportService;
+import com.flutterai.backend.service.ProjectService;
+
+@RestController
+public class ImportController {
+  private final ImportService importService;
+  private final ProjectService projectService;
+
+  public ImportController(ImportService importService, ProjectService projectService) {
+    this.importService = importService;
+    this.projectService = projectService;
+  }
+
+  @PostMapping(value = "/v1/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public ImportJobOut submit(
+      @RequestPart("file") MultipartFile file,
+      @RequestParam(name = "kind") String kind,
+      @RequestParam(name = "project_id", required = false) Long projectId,
+      @RequestParam(name = "project_name", required = false) String projectName,
+      @RequestParam(name = "batch_size", required = false) Integer batchSize) throws IOException {
+    if (file == null || file.isEmpty()) {
+      throw new IllegalArgumentException("empty file");
+    }
+    String k = ImportService.parseKind(kind);
+
+    long pid;
+    if (projectId != null) {
+      pid = projectId;
+    } else if (projectName != null && !projectName.trim().isEmpty()) {
+      pid = projectService.ensureProject(projectName.trim()).getId();
+    } else {
+      pid = projectService.ensureProject("默认项目").getId();
+    }
+
+    try (InputStream in = file.getInputStream()) {
+      return importService.submit(pid, k, file.getOriginalFilename(), in, batchSize);
+    }
+  }
+
+  @GetMapping("/v1/imports/{jobId}")
+  public ImportJobOut get(@PathVariable long jobId) {
+    ImportJobOut out = importService.get(jobId);
+    if (out == null) {
+      throw new ApiNotFoundException("import job not found");
+    }
+    return out;
+  }
+
+  @PostMapping("/v1/imports/{jobId}/resume")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public ImportJobOut resume(@PathVariable long jobId) {
+    ImportJobOut out = importService.resume(jobId);
+    if (out == null) {
+      throw new ApiNotFoundException("import job not found");
+    }
+    return out;
+  }
+}
@@ -3,6 +3,7 @@ package com.flutterai.backend.api;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,6 +15,7 @@ import com.flutterai.backend.dto.ActionDtos.RectificationActionIn;
 import com.flutterai.backend.dto.ActionDtos.RectificationActionOut;
 import com.flutterai.backend.dto.IssueDtos.IssueReportIn;
 import com.flutterai.backend.dto.IssueDtos.IssueReportOut;
+import com.flutterai.backend.dto.IssueDtos.OverdueIssueOut;
 import com.flutterai.backend.service.ActionService;
 import com.flutterai.backend.service.IssueService;
 import com.flutterai.backend.service.ProjectService;
@@ -39,101 +41,54 @@ public class IssueController {
   }
 
   @GetMapping("/v1/issue-reports")
-  public List<IssueReportOut> listIssues(
+  public ResponseEntity<List<IssueReportOut>> listIssues(
       @RequestParam(name = "project_id", defaultValue = "1") long projectId,
       @RequestParam(name = "project_name", required = false) String projectName,
       @RequestParam(name = "limit", defaultValue = "100") int limit,
       @RequestParam(name = "status", required = false) String status,
-      @RequestParam(name = "responsible_unit", required = false) String responsibleUnit) {
+      @RequestParam(name = "responsible_unit", required = false) String responsibleUnit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
 
     if (projectName != null && !projectName.trim().isEmpty()) {
       projectId = projectService.ensureProject(projectName.trim()).getId();
     }
 
-    return issueService.list(projectId, limit, status, responsibleUnit).stream()
-        .map(r -> new IssueReportOut(
-            r.getId(),
-            r.getProjectId(),
-            r.getRegionCode(),
-            r.getRegionText(),
-            r.getBuildingNo(),
-            r.getFloorNo(),
-            r.getZone(),
-            r.getDivision(),
-            r.getSubdivision(),
-            r.getItem(),
-            r.getIndicator(),
-            r.getLibraryId(),
-            r.getDescription(),
-            r.getSeverity(),
-            r.getDeadlineDays(),
-            r.getResponsibleUnit(),
-            r.getResponsiblePerson(),
-            r.getStatus(),
-            r.getPhotoPath(),
-            r.getAiJson(),
-            r.getClientCreatedAt(),
-            r.getCreatedAt(),
-            r.getSource(),
-            r.getClientRecordId()
-        ))
-        .toList();
+    return Paging.page(issueService.list(projectId, limit, status, responsibleUnit, cursor));
+  }
+
+  @GetMapping("/v1/issue-reports/overdue")
+  public ResponseEntity<List<OverdueIssueOut>> listOverdue(
+      @RequestParam(name = "project_id", defaultValue = "1") long projectId,
+      @RequestParam(name = "project_name", required = false) String projectName,
+      @RequestParam(name = "building", required = false) String building,
+      @RequestParam(name = "limit", defaultValue = "100") int limit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+
+    if (projectName != null && !projectName.trim().isEmpty()) {
+      projectId = projectService.ensureProject(projectName.trim()).getId();
+    }
+
+    return Paging.page(issueService.listOverdue(projectId, building, limit, cursor));
   }
 
   @GetMapping("/v1/issue-reports/{issueId}")
   public IssueReportOut getIssue(@PathVariable("issueId") long issueId) {
-    var r = issueService.get(issueId);
+    var r = issueService.getOut(issueId);
     if (r == null) {
       throw new ApiNotFoundException("issue report not found");
     }
-    return new IssueReportOut(
-        r.getId(),
-        r.getProjectId(),
-        r.getRegionCode(),
-        r.getRegionText(),
-        r.getBuildingNo(),
-        r.getFloorNo(),
-        r.getZone(),
-        r.getDivision(),
-        r.getSubdivision(),
-        r.getItem(),
-        r.getIndicator(),
-        r.getLibraryId(),
-        r.getDescription(),
-        r.getSeverity(),
-        r.getDeadlineDays(),
-        r.getResponsibleUnit(),
-        r.getResponsiblePerson(),
-        r.getStatus(),
-        r.getPhotoPath(),
-        r.getAiJson(),
-        r.getClientCreatedAt(),
-        r.getCreatedAt(),
-        r.getSource(),
-        r.getClientRecordId()
-    );
+    return r;
   }
 
   @GetMapping("/v1/issue-reports/{issueId}/actions")
-  public List<RectificationActionOut> listActions(@PathVariable("issueId") long issueId) {
-    var r = issueService.get(issueId);
-    if (r == null) {
+  public ResponseEntity<List<RectificationActionOut>> listActions(
+      @PathVariable("issueId") long issueId,
+      @RequestParam(name = "limit", defaultValue = "200") int limit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    if (!issueService.exists(issueId)) {
       throw new ApiNotFoundException("issue report not found");
     }
-    return actionService.listActions("issue", issueId, 200).stream()
-        .map(a -> new RectificationActionOut(
-            a.getId(),
-            a.getProjectId(),
-            a.getTargetType(),
-            a.getTargetId(),
-            a.getActionType(),
-            a.getContent(),
-            a.getPhotoUrls(),
-            a.getActorRole(),
-            a.getActorName(),
-            a.getCreatedAt()
-        ))
-        .toList();
+    return Paging.page(actionService.listActions("issue", issueId, limit, cursor));
   }
 
   @PostMapping("/v1/issue-reports/{issueId}/actions")
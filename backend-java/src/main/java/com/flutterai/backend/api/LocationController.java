@@ -0,0 +1,46 @@
+package com.flutterai.backend.api;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flutterai.backend.service.LocationIndex;
+import com.flutterai.backend.service.ProjectService;
+
+@RestController
+public class LocationController {
+  private final LocationIndex locationIndex;
+  private final ProjectService projectService;
+
+  public LocationController(LocationIndex locationIndex, ProjectService projectService) {
+    this.locationIndex = locationIndex;
+    this.projectService = projectService;
+  }
+
+  @GetMapping("/v1/locations/tree")
+  public Map<String, Object> tree(
+      @RequestParam(name = "project_id", defaultValue = "1") long projectId,
+      @RequestParam(name = "project_name", required = false) String projectName,
+      @RequestParam(name = "building", required = false) String building,
+      @RequestParam(name = "floor", required = false) Integer floor,
+      @RequestParam(name = "zone", required = false) String zone,
+      @RequestParam(name = "depth", defaultValue = "1") int depth) {
+
+    if (projectName != null && !projectName.trim().isEmpty()) {
+      projectId = projectService.ensureProject(projectName.trim()).getId();
+    }
+    String b = building == null || building.trim().isEmpty() ? null : building.trim();
+    String z = zone == null || zone.trim().isEmpty() ? null : zone.trim();
+    if ((floor != null && b == null) || (z != null && floor == null)) {
+      throw new IllegalArgumentException("floor needs building, zone needs floor");
+    }
+
+    Map<String, Object> node = locationIndex.tree(projectId, b, floor, z, Math.min(depth, 3));
+    if (node == null) {
+      throw new ApiNotFoundException("location not found");
+    }
+    return node;
+  }
+}
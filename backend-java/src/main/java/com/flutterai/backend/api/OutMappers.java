@@ -0,0 +1,82 @@
+package com.flutterai.backend.api;
+
+import com.flutterai.backend.domain.AcceptanceRecordEntity;
+import com.flutterai.backend.domain.IssueReportEntity;
+import com.flutterai.backend.domain.RectificationActionEntity;
+import com.flutterai.backend.dto.AcceptanceDtos.AcceptanceRecordOut;
+import com.flutterai.backend.dto.ActionDtos.RectificationActionOut;
+import com.flutterai.backend.dto.IssueDtos.IssueReportOut;
+
+final class OutMappers {
+  private OutMappers() {}
+
+  static AcceptanceRecordOut acceptance(AcceptanceRecordEntity r) {
+    return new AcceptanceRecordOut(
+        r.getId(),
+        r.getProjectId(),
+        r.getRegionCode(),
+        r.getRegionText(),
+        r.getBuildingNo(),
+        r.getFloorNo(),
+        r.getZone(),
+        r.getDivision(),
+        r.getSubdivision(),
+        r.getItem(),
+        r.getItemCode(),
+        r.getIndicator(),
+        r.getIndicatorCode(),
+        r.getResult(),
+        r.getPhotoPath(),
+        r.getRemark(),
+        r.getAiJson(),
+        r.getClientCreatedAt(),
+        r.getCreatedAt(),
+        r.getSource(),
+        r.getClientRecordId()
+    );
+  }
+
+  static IssueReportOut issue(IssueReportEntity r) {
+    return new IssueReportOut(
+        r.getId(),
+        r.getProjectId(),
+        r.getRegionCode(),
+        r.getRegionText(),
+        r.getBuildingNo(),
+        r.getFloorNo(),
+        r.getZone(),
+        r.getDivision(),
+        r.getSubdivision(),
+        r.getItem(),
+        r.getIndicator(),
+        r.getLibraryId(),
+        r.getDescription(),
+        r.getSeverity(),
+        r.getDeadlineDays(),
+        r.getResponsibleUnit(),
+        r.getResponsiblePerson(),
+        r.getStatus(),
+        r.getPhotoPath(),
+        r.getAiJson(),
+        r.getClientCreatedAt(),
+        r.getCreatedAt(),
+        r.getSource(),
+        r.getClientRecordId()
+    );
+  }
+
+  static RectificationActionOut action(RectificationActionEntity a) {
+    return new RectificationActionOut(
+        a.getId(),
+        a.getProjectId(),
+        a.getTargetType(),
+        a.getTargetId(),
+        a.getActionType(),
+        a.getContent(),
+        a.getPhotoUrls(),
+        a.getActorRole(),
+        a.getActorName(),
+        a.getCreatedAt()
+    );
+  }
+}
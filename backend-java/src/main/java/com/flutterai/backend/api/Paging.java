@@ -0,0 +1,44 @@
+package com.flutterai.backend.api;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
+
+import com.flutterai.backend.repo.ReadPage;
+import com.flutterai.backend.service.KeysetCursors;
+
+/**
+ * List endpoints keep returning a bare JSON array (what the app already parses);
+ * the keyset cursor for the next page travels in a response header instead.
+ */
+final class Paging {
+  private Paging() {}
+
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  static <T> ResponseEntity<List<T>> page(ReadPage<T> page) {
+    var resp = ResponseEntity.ok();
+    if (page.nextCursor() != null) {
+      resp.header(NEXT_CURSOR_HEADER, page.nextCursor());
+    }
+    return resp.body(page.items());
+  }
+
+  static <T, R> ResponseEntity<List<R>> page(
+      Window<T> window,
+      Function<T, R> mapper,
+      Function<T, OffsetDateTime> createdAt,
+      ToLongFunction<T> id) {
+    List<R> body = window.getContent().stream().map(mapper).toList();
+    String next = KeysetCursors.next(window, createdAt, id);
+    var resp = ResponseEntity.ok();
+    if (next != null) {
+      resp.header(NEXT_CURSOR_HEADER, next);
+    }
+    return resp.body(body);
+  }
+}
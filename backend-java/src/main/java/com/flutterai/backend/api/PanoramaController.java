@@ -0,0 +1,90 @@
+package com.flutterai.backend.api;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flutterai.backend.service.PanoramaTiles;
+import com.flutterai.backend.service.PanoramaTiles.Manifest;
+import com.flutterai.backend.service.PhotoStore;
+import com.flutterai.backend.util.UploadRefNormalizer;
+
+@RestController
+public class PanoramaController {
+  private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+  private final PanoramaTiles panoramaTiles;
+  private final PhotoStore photoStore;
+
+  public PanoramaController(PanoramaTiles panoramaTiles, PhotoStore photoStore) {
+    this.panoramaTiles = panoramaTiles;
+    this.photoStore = photoStore;
+  }
+
+  /**
+   * Pyramid layout for an uploaded image ({@code path} as stored on records). 202 while the tiles
+   * are still being generated; generation is queued on the first request if needed.
+   */
+  @GetMapping("/v1/panoramas/manifest")
+  public ResponseEntity<Map<String, Object>> manifest(@RequestParam("path") String path) {
+    String rel = UploadRefNormalizer.uploadsPathFromRef(path);
+    if (rel == null) {
+      throw new IllegalArgumentException("path must point below /uploads/");
+    }
+    int q = rel.indexOf('?');
+    String name = (q >= 0 ? rel.substring(0, q) : rel).substring("/uploads/".length());
+    String base = name.substring(name.lastIndexOf('/') + 1);
+    if (!SAFE_NAME.matcher(base).matches() || photoStore.resolve(name) == null) {
+      throw new ApiNotFoundException("file not found");
+    }
+
+    Map<String, Object> out = new LinkedHashMap<>();
+    Manifest m = panoramaTiles.manifest(base);
+    if (m != null) {
+      out.put("status", "ready");
+      out.put("width", m.width());
+      out.put("height", m.height());
+      out.put("tile_size", m.tileSize());
+      out.put("levels", m.levels());
+      out.put("tile_url", "/v1/panoramas/tiles/" + base + "/{z}/{x}/{y}.jpg");
+      return ResponseEntity.ok(out);
+    }
+    if (panoramaTiles.isUnsupported(base)) {
+      throw new IllegalArgumentException("image format cannot be tiled");
+    }
+    out.put("status", panoramaTiles.request(base) ? "pending" : "busy");
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(out);
+  }
+
+  // Tiles of a content-addressed upload never change: strong ETag, cached for a year.
+  @GetMapping("/v1/panoramas/tiles/{name}/{z}/{x}/{y}.jpg")
+  public ResponseEntity<Resource> tile(
+      @PathVariable String name,
+      @PathVariable int z,
+      @PathVariable int x,
+      @PathVariable int y) {
+    Path file = SAFE_NAME.matcher(name).matches() ? panoramaTiles.tile(name, z, x, y) : null;
+    if (file == null) {
+      throw new ApiNotFoundException("tile not found");
+    }
+    String stem = name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : name;
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+        .eTag("\"" + stem + "-" + z + "-" + x + "-" + y + "\"")
+        .contentType(MediaType.IMAGE_JPEG)
+        .body(new FileSystemResource(file));
+  }
+}
@@ -3,35 +3,38 @@ package com.flutterai.backend.api;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.flutterai.backend.domain.ProjectEntity;
 import com.flutterai.backend.dto.ProjectDtos.ProjectIn;
 import com.flutterai.backend.dto.ProjectDtos.ProjectOut;
-import com.flutterai.backend.repo.ProjectRepository;
 import com.flutterai.backend.service.ProjectService;
 
 import jakarta.validation.Valid;
 
 @RestController
 public class ProjectsController {
-  private final ProjectRepository projectRepository;
   private final ProjectService projectService;
 
-  public ProjectsController(ProjectRepository projectRepository, ProjectService projectService) {
-    this.projectRepository = projectRepository;
+  public ProjectsController(ProjectService projectService) {
     this.projectService = projectService;
   }
 
   @GetMapping("/v1/projects")
-  public List<ProjectOut> listProjects() {
-    return projectRepository.findAll().stream()
-        .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-        .limit(200)
-        .map(p -> new ProjectOut(p.getId(), p.getName(), p.getAddress(), p.getCreatedAt()))
-        .toList();
+  public ResponseEntity<List<ProjectOut>> listProjects(
+      @RequestParam(name = "limit", defaultValue = "200") int limit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    return Paging.page(
+        projectService.list(limit, cursor),
+        p -> new ProjectOut(p.getId(), p.getName(), p.getAddress(), p.getCreatedAt()),
+        ProjectEntity::getCreatedAt,
+        ProjectEntity::getId
+    );
   }
 
   @PostMapping("/v1/projects/ensure")
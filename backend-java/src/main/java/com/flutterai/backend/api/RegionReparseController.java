@@ -0,0 +1,61 @@
+package com.flutterai.backend.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flutterai.backend.dto.RegionDtos.RegionReparseJobOut;
+import com.flutterai.backend.service.ProjectService;
+import com.flutterai.backend.service.RegionReparseService;
+
+@RestController
+public class RegionReparseController {
+  private final RegionReparseService reparseService;
+  private final ProjectService projectService;
+
+  public RegionReparseController(RegionReparseService reparseService, ProjectService projectService) {
+    this.reparseService = reparseService;
+    this.projectService = projectService;
+  }
+
+  @PostMapping("/v1/regions/reparse")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public RegionReparseJobOut submit(
+      @RequestParam(name = "project_id", required = false) Long projectId,
+      @RequestParam(name = "project_name", required = false) String projectName,
+      @RequestParam(name = "dry_run", defaultValue = "false") boolean dryRun,
+      @RequestParam(name = "chunk_size", required = false) Integer chunkSize) {
+    long pid;
+    if (projectId != null) {
+      pid = projectId;
+    } else if (projectName != null && !projectName.trim().isEmpty()) {
+      pid = projectService.ensureProject(projectName.trim()).getId();
+    } else {
+      pid = 1;
+    }
+    return reparseService.submit(pid, dryRun, chunkSize);
+  }
+
+  @GetMapping("/v1/regions/reparse/{jobId}")
+  public RegionReparseJobOut get(@PathVariable long jobId) {
+    RegionReparseJobOut out = reparseService.get(jobId);
+    if (out == null) {
+      throw new ApiNotFoundException("re-parse job not found");
+    }
+    return out;
+  }
+
+  @PostMapping("/v1/regions/reparse/{jobId}/resume")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public RegionReparseJobOut resume(@PathVariable long jobId) {
+    RegionReparseJobOut out = reparseService.resume(jobId);
+    if (out == null) {
+      throw new ApiNotFoundException("re-parse job not found");
+    }
+    return out;
+  }
+}
@@ -0,0 +1,45 @@
+package com.flutterai.backend.api;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flutterai.backend.dto.SyncDtos.SyncChangesOut;
+import com.flutterai.backend.dto.SyncDtos.TombstoneOut;
+import com.flutterai.backend.service.ProjectService;
+import com.flutterai.backend.service.SyncService;
+
+@RestController
+public class SyncController {
+  private final SyncService syncService;
+  private final ProjectService projectService;
+
+  public SyncController(SyncService syncService, ProjectService projectService) {
+    this.syncService = syncService;
+    this.projectService = projectService;
+  }
+
+  @GetMapping("/v1/sync/changes")
+  public SyncChangesOut changes(
+      @RequestParam(name = "project_id", defaultValue = "1") long projectId,
+      @RequestParam(name = "project_name", required = false) String projectName,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "limit", defaultValue = "200") int limit) {
+
+    if (projectName != null && !projectName.trim().isEmpty()) {
+      projectId = projectService.ensureProject(projectName.trim()).getId();
+    }
+
+    var batch = syncService.changesSince(projectId, cursor, limit);
+    return new SyncChangesOut(
+        batch.acceptance().stream().map(OutMappers::acceptance).toList(),
+        batch.issues().stream().map(OutMappers::issue).toList(),
+        batch.actions().stream().map(OutMappers::action).toList(),
+        batch.tombstones().stream()
+            .map(t -> new TombstoneOut(t.getEntityType(), t.getEntityId(), t.getDeletedAt()))
+            .toList(),
+        batch.nextCursor(),
+        batch.hasMore()
+    );
+  }
+}
@@ -1,69 +1,228 @@
 package com.flutterai.backend.api;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import com.flutterai.backend.util.SharedBackendPaths;
+import com.flutterai.backend.dto.UploadDtos.GcReportOut;
+import com.flutterai.backend.dto.UploadDtos.UploadSessionIn;
+import com.flutterai.backend.dto.UploadDtos.UploadSessionOut;
+import com.flutterai.backend.service.ImageVariants;
+import com.flutterai.backend.service.PanoramaTiles;
+import com.flutterai.backend.service.PhotoIngest;
+import com.flutterai.backend.service.PhotoStore;
+import com.flutterai.backend.service.PhotoStore.StoredPhoto;
+import com.flutterai.backend.service.UploadGarbageCollector;
+import com.flutterai.backend.service.UploadSessionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 
 @RestController
 public class UploadController {
+  private final PhotoStore photoStore;
+  private final ImageVariants imageVariants;
+  private final PanoramaTiles panoramaTiles;
+  private final PhotoIngest photoIngest;
+  private final UploadSessionService sessions;
+  private final UploadGarbageCollector garbageCollector;
 
-  private static final Set<String> ALLOWED_EXT = Set.of(".jpg", ".jpeg", ".png", ".webp", ".heic");
+  @Value("${app.uploads.max-batch-files:20}")
+  private int maxBatchFiles;
 
-  @Value("${app.uploads-dir:./uploads}")
-  private String uploadsDir;
+  public UploadController(
+      PhotoStore photoStore,
+      ImageVariants imageVariants,
+      PanoramaTiles panoramaTiles,
+      PhotoIngest photoIngest,
+      UploadSessionService sessions,
+      UploadGarbageCollector garbageCollector) {
+    this.photoStore = photoStore;
+    this.imageVariants = imageVariants;
+    this.panoramaTiles = panoramaTiles;
+    this.photoIngest = photoIngest;
+    this.sessions = sessions;
+    this.garbageCollector = garbageCollector;
+  }
 
   @PostMapping(value = "/v1/uploads/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-  public Map<String, Object> uploadPhoto(@RequestPart("file") MultipartFile file) throws IOException {
+  public CompletableFuture<Map<String, Object>> uploadPhoto(@RequestPart("file") MultipartFile file) throws IOException {
     if (file == null || file.isEmpty()) {
       throw new IllegalArgumentException("empty file");
     }
+    try (InputStream in = file.getInputStream()) {
+      return ingested(photoStore.store(in, file.getOriginalFilename(), file.getSize()));
+    }
+  }
 
-    String original = file.getOriginalFilename() == null ? "" : file.getOriginalFilename();
-    String ext = "";
-    int idx = original.lastIndexOf('.');
-    if (idx >= 0) {
-      ext = original.substring(idx).toLowerCase().trim();
+  /**
+   * Several photos in one multipart request (repeated {@code files} parts), persisted in parallel.
+   * Returns one entry per part, in part order.
+   */
+  @PostMapping(value = "/v1/uploads/photos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public CompletableFuture<List<Map<String, Object>>> uploadPhotos(@RequestPart("files") List<MultipartFile> files)
+      throws IOException {
+    if (files == null || files.isEmpty()) {
+      throw new IllegalArgumentException("no files");
+    }
+    if (files.size() > maxBatchFiles) {
+      throw new IllegalArgumentException("too many files (max " + maxBatchFiles + ")");
     }
-    if (!ALLOWED_EXT.contains(ext)) {
-      ext = ext.isEmpty() ? ".jpg" : ext;
-      // allow unknown extensions by defaulting to .jpg, consistent with Python behavior
-      if (!ALLOWED_EXT.contains(ext)) {
-        ext = ".jpg";
+    List<PhotoStore.Source> sources = new ArrayList<>(files.size());
+    for (MultipartFile f : files) {
+      if (f.isEmpty()) {
+        throw new IllegalArgumentException("empty file: " + f.getOriginalFilename());
       }
+      sources.add(new MultipartSource(f));
+    }
+    String base = baseUrl();
+    List<CompletableFuture<Map<String, Object>>> pending = new ArrayList<>(files.size());
+    for (StoredPhoto stored : photoStore.storeAll(sources)) {
+      pending.add(photoIngest.process(stored).thenApply(p -> response(base, p)));
+    }
+    return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+        .thenApply(v -> pending.stream().map(CompletableFuture::join).toList());
+  }
+
+  private record MultipartSource(MultipartFile file) implements PhotoStore.Source {
+    @Override
+    public String originalName() {
+      return file.getOriginalFilename();
+    }
+
+    @Override
+    public long declaredLength() {
+      return file.getSize();
     }
 
-    String name = UUID.randomUUID().toString().replace("-", "") + ext;
-    Path dir = SharedBackendPaths.resolveExistingDir(
-        uploadsDir,
-        List.of("backend/uploads", "../backend/uploads")
-    );
-    if (dir == null) {
-      dir = Path.of("backend/uploads").toAbsolutePath().normalize();
+    @Override
+    public InputStream open() throws IOException {
+      return file.getInputStream();
     }
-    Files.createDirectories(dir);
+  }
+
+  /**
+   * Raw-body variant (Content-Type image/* or application/octet-stream): the request body is
+   * streamed straight into the uploads dir without the multipart spool file.
+   */
+  @PostMapping(value = "/v1/uploads/photo", consumes = {"image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+  public CompletableFuture<Map<String, Object>> uploadPhotoRaw(
+      @RequestParam(name = "filename", required = false) String filename,
+      @RequestHeader(name = "X-Filename", required = false) String filenameHeader,
+      HttpServletRequest request) throws IOException {
+    String name = filename != null ? filename : filenameHeader;
+    try (InputStream in = request.getInputStream()) {
+      return ingested(photoStore.store(in, name, request.getContentLengthLong()));
+    }
+  }
 
-    Path dst = dir.resolve(name);
-    Files.write(dst, file.getBytes());
+  // Resumable upload: create -> PUT chunks at ?offset= (GET tells where to resume) -> complete.
 
-    String path = "/uploads/" + name;
-    String url = ServletUriComponentsBuilder.fromCurrentContextPath()
-        .path(path)
-        .toUriString();
+  @PostMapping("/v1/uploads/sessions")
+  @ResponseStatus(HttpStatus.CREATED)
+  public UploadSessionOut createSession(@Valid @RequestBody UploadSessionIn payload) throws IOException {
+    return sessions.create(payload);
+  }
 
-    return Map.of("url", url, "path", path);
+  @GetMapping("/v1/uploads/sessions/{sessionId}")
+  public UploadSessionOut getSession(@PathVariable String sessionId) {
+    UploadSessionOut out = sessions.get(sessionId);
+    if (out == null) {
+      throw new ApiNotFoundException("upload session not found");
+    }
+    return out;
+  }
+
+  @PutMapping(value = "/v1/uploads/sessions/{sessionId}", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*"})
+  public UploadSessionOut putChunk(
+      @PathVariable String sessionId,
+      @RequestParam(name = "offset") long offset,
+      HttpServletRequest request) throws IOException {
+    UploadSessionOut out;
+    try (InputStream in = request.getInputStream()) {
+      out = sessions.writeChunk(sessionId, offset, in, request.getContentLengthLong());
+    }
+    if (out == null) {
+      throw new ApiNotFoundException("upload session not found");
+    }
+    return out;
+  }
+
+  @PostMapping("/v1/uploads/sessions/{sessionId}/complete")
+  public CompletableFuture<Map<String, Object>> completeSession(@PathVariable String sessionId) throws IOException {
+    String base = baseUrl();
+    CompletableFuture<StoredPhoto> done = sessions.complete(sessionId);
+    if (done == null) {
+      throw new ApiNotFoundException("upload session not found");
+    }
+    return done.thenApply(p -> response(base, p));
+  }
+
+  @DeleteMapping("/v1/uploads/sessions/{sessionId}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void abortSession(@PathVariable String sessionId) throws IOException {
+    if (!sessions.abort(sessionId)) {
+      throw new ApiNotFoundException("upload session not found");
+    }
+  }
+
+  @GetMapping("/v1/uploads/gc")
+  public GcReportOut lastGc() {
+    GcReportOut report = garbageCollector.lastReport();
+    if (report == null) {
+      throw new ApiNotFoundException("no gc run yet");
+    }
+    return report;
+  }
+
+  // Manual trigger; dry run unless asked otherwise.
+  @PostMapping("/v1/uploads/gc")
+  public GcReportOut runGc(@RequestParam(name = "dry_run", defaultValue = "true") boolean dryRun) {
+    return garbageCollector.run(dryRun);
+  }
+
+  // The optional ingest stage completes off the request thread (async dispatch), so the request
+  // thread is released while a photo is re-encoded.
+  private CompletableFuture<Map<String, Object>> ingested(StoredPhoto stored) {
+    String base = baseUrl();
+    return photoIngest.process(stored).thenApply(p -> response(base, p));
+  }
+
+  // Resolved on the request thread; ingest callbacks have no current request.
+  private static String baseUrl() {
+    return ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+  }
+
+  private Map<String, Object> response(String baseUrl, StoredPhoto stored) {
+    if (!stored.existing()) {
+      imageVariants.pregenerate(stored.name());
+      panoramaTiles.pregenerate(stored.name());
+    }
+    return Map.of(
+        "url", baseUrl + stored.path(),
+        "path", stored.path(),
+        "sha256", stored.sha256(),
+        "size", stored.size(),
+        "deduplicated", stored.existing());
   }
 }
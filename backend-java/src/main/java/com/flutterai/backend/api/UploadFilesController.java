@@ -0,0 +1,185 @@
+package com.flutterai.backend.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.flutterai.backend.service.ImageVariants;
+import com.flutterai.backend.service.PhotoStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves {@code /uploads/**}, optionally as a downscaled variant via {@code ?size=thumb|preview}.
+ *
+ * Upload names never get new content (hash or UUID names), so responses carry a strong ETag and
+ * {@code immutable} caching; conditional GETs answer 304 and single byte ranges answer 206. Bodies
+ * go out through Tomcat's sendfile when the connector offers it.
+ */
+@RestController
+public class UploadFilesController {
+  private static final Pattern SAFE_SEGMENT = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+  private static final Pattern SHA256_NAME = Pattern.compile("([0-9a-f]{64})\\.[a-z0-9]+");
+
+  private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+  // Original served in place of a variant ImageIO could not produce; may change if decoding improves.
+  private static final String FALLBACK = "public, max-age=86400";
+
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+  // Below this Tomcat copies anyway (its sendfileSize default).
+  private static final long SENDFILE_MIN = 48 * 1024;
+
+  private final PhotoStore photoStore;
+  private final ImageVariants imageVariants;
+
+  public UploadFilesController(PhotoStore photoStore, ImageVariants imageVariants) {
+    this.photoStore = photoStore;
+    this.imageVariants = imageVariants;
+  }
+
+  @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+  public void get(
+      @RequestParam(name = "size", required = false) String size,
+      HttpServletRequest request,
+      HttpServletResponse response) throws IOException {
+    String name = relativeName(request);
+    Path original = name == null ? null : photoStore.resolve(name);
+    if (original == null) {
+      throw new ApiNotFoundException("file not found");
+    }
+
+    long originalModified = Files.getLastModifiedTime(original).toMillis();
+    String etag = etagOf(name, Files.size(original), originalModified);
+
+    Path file = original;
+    MediaType type = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    String cacheControl = IMMUTABLE;
+    if (size != null && !size.isBlank()) {
+      ImageVariants.Size s = ImageVariants.Size.parse(size);
+      Path variant = imageVariants.variant(name, s);
+      if (variant != null) {
+        file = variant;
+        type = MediaType.IMAGE_JPEG;
+        // Derived from the original's tag: variant mtimes move with LRU touches.
+        etag = etag.substring(0, etag.length() - 1) + "-" + s.name().toLowerCase() + "\"";
+      } else {
+        cacheControl = FALLBACK;
+      }
+    }
+
+    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+    if (new ServletWebRequest(request, response).checkNotModified(etag, originalModified)) {
+      return;
+    }
+
+    long length = Files.size(file);
+    long start = 0;
+    long end = length - 1;
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setContentType(type.toString());
+
+    List<HttpRange> ranges = rangesToHonour(request, etag);
+    if (ranges.size() == 1) {
+      HttpRange r = ranges.get(0);
+      start = r.getRangeStart(length);
+      end = Math.min(r.getRangeEnd(length), length - 1);
+      if (length == 0 || start >= length || start > end) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        return;
+      }
+      response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+    }
+    long count = end - start + 1;
+    response.setContentLengthLong(count);
+
+    if ("HEAD".equals(request.getMethod()) || count <= 0) {
+      return;
+    }
+    if (count >= SENDFILE_MIN && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end + 1);
+      return;
+    }
+    try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+      OutputStream os = response.getOutputStream();
+      WritableByteChannel out = Channels.newChannel(os);
+      long pos = start;
+      while (pos <= end) {
+        long n = in.transferTo(pos, end + 1 - pos, out);
+        if (n <= 0) {
+          break;
+        }
+        pos += n;
+      }
+      os.flush();
+    }
+  }
+
+  /**
+   * Path below {@code /uploads/}, or null if any segment is unsafe (hidden files, traversal).
+   */
+  private static String relativeName(HttpServletRequest request) {
+    String uri = request.getRequestURI().substring(request.getContextPath().length());
+    String rel = uri.startsWith("/uploads/") ? uri.substring("/uploads/".length()) : "";
+    if (rel.isEmpty()) {
+      return null;
+    }
+    for (String seg : rel.split("/", -1)) {
+      if (!SAFE_SEGMENT.matcher(seg).matches()) {
+        return null;
+      }
+    }
+    return rel;
+  }
+
+  private static String etagOf(String name, long size, long modifiedMillis) {
+    String file = name.substring(name.lastIndexOf('/') + 1);
+    var m = SHA256_NAME.matcher(file);
+    if (m.matches()) {
+      return "\"" + m.group(1) + "\"";
+    }
+    return "\"" + Long.toHexString(size) + "-" + Long.toHexString(modifiedMillis) + "\"";
+  }
+
+  // Only a single satisfiable range is served as 206; multi-range and stale If-Range get the full body.
+  private static List<HttpRange> rangesToHonour(HttpServletRequest request, String etag) {
+    String header = request.getHeader(HttpHeaders.RANGE);
+    if (header == null) {
+      return List.of();
+    }
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange != null && !ifRange.equals(etag)) {
+      return List.of();
+    }
+    try {
+      List<HttpRange> ranges = HttpRange.parseRanges(header);
+      return ranges.size() == 1 ? ranges : List.of();
+    } catch (IllegalArgumentException e) {
+      return List.of();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.flutterai.backend.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.flutterai.backend.util.SqliteTimestamps;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Maintains {@code issue_reports.deadline_at} (epoch millis): {@code created_at + deadline_days},
+ * or NULL without a deadline.
+ *
+ * Stored so "overdue" is an indexed range query ({@code status = 'open' AND deadline_at < now})
+ * instead of parsing every open issue's timestamp in Java. Like the sync triggers it is kept by
+ * SQLite, so rows from the Python backend, imports and direct SQL get it too. The stamping UPDATE
+ * passes through the sync trigger like any other write, so it takes a change_seq of its own.
+ */
+@Component
+public class IssueDeadlineSchemaInitializer {
+  private final JdbcTemplate jdbc;
+
+  // Depends on the EntityManagerFactory so Hibernate's ddl-auto has created the column first.
+  public IssueDeadlineSchemaInitializer(JdbcTemplate jdbc, EntityManagerFactory entityManagerFactory) {
+    this.jdbc = jdbc;
+  }
+
+  // created_at holds epoch millis (Hibernate) or naive UTC text (Python).
+  static String deadlineOf(String row) {
+    String created = SqliteTimestamps.millisSql(row + "created_at");
+    return "(CASE WHEN " + row + "deadline_days IS NULL OR " + row + "created_at IS NULL THEN NULL "
+        + "ELSE " + created + " + " + row + "deadline_days * 86400000 END)";
+  }
+
+  @PostConstruct
+  public void init() {
+    String stamp = "UPDATE issue_reports SET deadline_at = " + deadlineOf("NEW.") + " WHERE id = NEW.id;";
+    // The WHEN guards skip the write when nothing changed (Hibernate updates list every column).
+    String changed = " WHEN NEW.deadline_at IS NOT " + deadlineOf("NEW.");
+    jdbc.execute("CREATE TRIGGER IF NOT EXISTS trg_issue_reports_deadline_ins AFTER INSERT ON issue_reports"
+        + changed + " BEGIN " + stamp + " END");
+    jdbc.execute("CREATE TRIGGER IF NOT EXISTS trg_issue_reports_deadline_upd AFTER UPDATE OF created_at, deadline_days "
+        + "ON issue_reports" + changed + " BEGIN " + stamp + " END");
+
+    // Rows written before the triggers existed (or by a writer that set deadline_at itself).
+    jdbc.update("UPDATE issue_reports SET deadline_at = " + deadlineOf("") + " WHERE deadline_at IS NOT " + deadlineOf(""));
+  }
+}
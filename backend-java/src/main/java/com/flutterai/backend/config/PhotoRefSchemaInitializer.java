@@ -0,0 +1,87 @@
+package com.flutterai.backend.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Maintains {@code photo_refs}: which rows point at which blob under the uploads dir.
+ *
+ * Uploads are content-addressed and shared between rows, so a blob may only be removed once
+ * nothing references it. Like the sync triggers, the index is kept by SQLite triggers so writes
+ * from the Python backend are covered too. Blob keys are the path below {@code /uploads/}.
+ */
+@Component
+public class PhotoRefSchemaInitializer {
+  private static final String PHOTO_OWNERS_SQL = "SELECT '%1$s', id, %2$s FROM %3$s WHERE %2$s IS NOT NULL";
+
+  private record Owner(String table, String ownerType) {}
+
+  private static final Owner[] SINGLE_PHOTO_OWNERS = {
+      new Owner("acceptance_records", "acceptance"),
+      new Owner("issue_reports", "issue")
+  };
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+
+  // Depends on the EntityManagerFactory so Hibernate's ddl-auto has created the tables first.
+  public PhotoRefSchemaInitializer(JdbcTemplate jdbc, TransactionTemplate tx, EntityManagerFactory entityManagerFactory) {
+    this.jdbc = jdbc;
+    this.tx = tx;
+  }
+
+  private static String blobOf(String ref) {
+    return "(CASE WHEN instr(" + ref + ", '/uploads/') > 0 THEN substr(" + ref + ", instr(" + ref + ", '/uploads/') + 9) END)";
+  }
+
+  // Blobs in an action's photo_urls JSON array; row is NEW (trigger) or the table itself (backfill).
+  private static String actionBlobsOf(String row, String from) {
+    return "SELECT 'action', " + row + ".id, " + blobOf("j.value") + " FROM " + from + "json_each("
+        + "CASE WHEN json_valid(" + row + ".photo_urls) THEN " + row + ".photo_urls ELSE '[]' END) j "
+        + "WHERE " + blobOf("j.value") + " IS NOT NULL";
+  }
+
+  @PostConstruct
+  public void init() {
+    jdbc.execute("CREATE TABLE IF NOT EXISTS photo_refs ("
+        + "owner_type TEXT NOT NULL, owner_id INTEGER NOT NULL, blob TEXT NOT NULL, "
+        + "PRIMARY KEY (owner_type, owner_id, blob))");
+    jdbc.execute("CREATE INDEX IF NOT EXISTS idx_photo_refs_blob ON photo_refs (blob)");
+
+    for (Owner o : SINGLE_PHOTO_OWNERS) {
+      String insert = "INSERT OR IGNORE INTO photo_refs (owner_type, owner_id, blob) SELECT '" + o.ownerType()
+          + "', NEW.id, " + blobOf("NEW.photo_path") + " WHERE " + blobOf("NEW.photo_path") + " IS NOT NULL;";
+      String delete = "DELETE FROM photo_refs WHERE owner_type = '" + o.ownerType() + "' AND owner_id = OLD.id;";
+      createTriggers(o.table(), "photo_path", insert, delete);
+    }
+
+    String insertActions = "INSERT OR IGNORE INTO photo_refs (owner_type, owner_id, blob) "
+        + actionBlobsOf("NEW", "") + ";";
+    String deleteActions = "DELETE FROM photo_refs WHERE owner_type = 'action' AND owner_id = OLD.id;";
+    createTriggers("rectification_actions", "photo_urls", insertActions, deleteActions);
+
+    // Rebuild on start: covers rows written before the triggers existed.
+    tx.executeWithoutResult(s -> {
+      jdbc.update("DELETE FROM photo_refs");
+      for (Owner o : SINGLE_PHOTO_OWNERS) {
+        jdbc.update("INSERT OR IGNORE INTO photo_refs (owner_type, owner_id, blob) "
+            + String.format(PHOTO_OWNERS_SQL, o.ownerType(), blobOf("photo_path"), o.table()));
+      }
+      jdbc.update("INSERT OR IGNORE INTO photo_refs (owner_type, owner_id, blob) "
+          + actionBlobsOf("rectification_actions", "rectification_actions, "));
+    });
+  }
+
+  private void createTriggers(String table, String column, String insert, String delete) {
+    jdbc.execute("CREATE TRIGGER IF NOT EXISTS trg_" + table + "_photo_ins AFTER INSERT ON " + table
+        + " BEGIN " + insert + " END");
+    jdbc.execute("CREATE TRIGGER IF NOT EXISTS trg_" + table + "_photo_upd AFTER UPDATE OF " + column + " ON " + table
+        + " BEGIN " + delete.replace("OLD.id", "NEW.id") + " " + insert + " END");
+    jdbc.execute("CREATE TRIGGER IF NOT EXISTS trg_" + table + "_photo_del AFTER DELETE ON " + table
+        + " BEGIN " + delete + " END");
+  }
+}
@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import com.flutterai.backend.util.SharedBackendPaths;
 import com.zaxxer.hikari.HikariConfig;
@@ -20,6 +21,46 @@ public class SqliteDataSourceConfig {
   @Bean
   @Primary
   public DataSource dataSource(Environment env) {
+    HikariConfig cfg = new HikariConfig();
+    cfg.setJdbcUrl(jdbcUrl(env));
+    cfg.setDriverClassName("org.sqlite.JDBC");
+
+    // SQLite is single-writer; a single connection avoids frequent SQLITE_BUSY errors.
+    cfg.setMaximumPoolSize(1);
+
+    return new HikariDataSource(cfg);
+  }
+
+  // Declared explicitly: defining the read-only template below would otherwise switch off Boot's default one.
+  @Bean
+  @Primary
+  public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+    return new JdbcTemplate(dataSource);
+  }
+
+  /**
+   * Separate read-only connections for long forward-only scans (exports, sweeps) so they
+   * don't hold the single read/write connection that serves the API.
+   */
+  @Bean
+  public JdbcTemplate readOnlyJdbcTemplate(Environment env) {
+    HikariConfig cfg = new HikariConfig();
+    cfg.setJdbcUrl(jdbcUrl(env));
+    cfg.setDriverClassName("org.sqlite.JDBC");
+    // sqlite-jdbc only accepts the read-only flag at open time (open_mode=SQLITE_OPEN_READONLY);
+    // Hikari's setReadOnly(true) afterwards is then a no-op.
+    cfg.addDataSourceProperty("open_mode", "1");
+    cfg.setReadOnly(true);
+    cfg.setPoolName("sqlite-readonly");
+    cfg.setMaximumPoolSize(Integer.parseInt(firstNonBlank(env.getProperty("app.sqlite.read-pool-size"), "2")));
+    cfg.setMinimumIdle(0);
+
+    JdbcTemplate jdbc = new JdbcTemplate(new HikariDataSource(cfg));
+    jdbc.setFetchSize(500);
+    return jdbc;
+  }
+
+  private static String jdbcUrl(Environment env) {
     String override = firstNonBlank(
         env.getProperty("app.db.path"),
         System.getenv("APP_DB_PATH")
@@ -35,16 +76,7 @@ public class SqliteDataSourceConfig {
 
     String busyTimeout = firstNonBlank(env.getProperty("app.sqlite.busy-timeout-ms"), "10000");
 
-    String url = "jdbc:sqlite:" + db.toString() + "?busy_timeout=" + busyTimeout;
-
-    HikariConfig cfg = new HikariConfig();
-    cfg.setJdbcUrl(url);
-    cfg.setDriverClassName("org.sqlite.JDBC");
-
-    // SQLite is single-writer; a single connection avoids frequent SQLITE_BUSY errors.
-    cfg.setMaximumPoolSize(1);
-
-    return new HikariDataSource(cfg);
+    return "jdbc:sqlite:" + db.toString() + "?busy_timeout=" + busyTimeout;
   }
 
   private static String firstNonBlank(String... values) {
@@ -0,0 +1,66 @@
+package com.flutterai.backend.config;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Installs the SQLite triggers that maintain {@code updated_at} / {@code change_seq}.
+ *
+ * The DB is shared with the Python backend and maintenance scripts, so the change sequence
+ * is kept by the database itself rather than by JPA callbacks: every insert/update bumps a
+ * single global clock row and stamps the row, every delete leaves a tombstone.
+ */
+@Component
+public class SyncSchemaInitializer {
+  // Same representation Hibernate uses for OffsetDateTime on SQLite (epoch millis).
+  private static final String NOW_MILLIS = "CAST(ROUND((julianday('now') - 2440587.5) * 86400000) AS INTEGER)";
+
+  private static final String NEXT_SEQ = "UPDATE sync_clock SET seq = seq + 1 WHERE id = 1;";
+  private static final String CUR_SEQ = "(SELECT seq FROM sync_clock WHERE id = 1)";
+
+  private record Tracked(String table, String entityType) {}
+
+  private static final List<Tracked> TRACKED = List.of(
+      new Tracked("acceptance_records", "acceptance"),
+      new Tracked("issue_reports", "issue"),
+      new Tracked("rectification_actions", "action"),
+      new Tracked("projects", null)
+  );
+
+  private final JdbcTemplate jdbc;
+
+  // Depends on the EntityManagerFactory so Hibernate's ddl-auto has created the columns first.
+  public SyncSchemaInitializer(JdbcTemplate jdbc, EntityManagerFactory entityManagerFactory) {
+    this.jdbc = jdbc;
+  }
+
+  @PostConstruct
+  public void init() {
+    jdbc.execute("CREATE TABLE IF NOT EXISTS sync_clock (id INTEGER PRIMARY KEY, seq INTEGER NOT NULL)");
+    jdbc.execute("INSERT OR IGNORE INTO sync_clock (id, seq) VALUES (1, 0)");
+
+    for (Tracked t : TRACKED) {
+      String stamp = "UPDATE " + t.table() + " SET change_seq = " + CUR_SEQ + ", updated_at = " + NOW_MILLIS
+          + " WHERE id = NEW.id;";
+      jdbc.execute("CREATE TRIGGER IF NOT EXISTS trg_" + t.table() + "_sync_ins AFTER INSERT ON " + t.table()
+          + " BEGIN " + NEXT_SEQ + " " + stamp + " END");
+      // The WHEN guard keeps the stamping UPDATE (which changes change_seq) from re-firing this trigger.
+      jdbc.execute("CREATE TRIGGER IF NOT EXISTS trg_" + t.table() + "_sync_upd AFTER UPDATE ON " + t.table()
+          + " WHEN NEW.change_seq IS OLD.change_seq BEGIN " + NEXT_SEQ + " " + stamp + " END");
+      if (t.entityType() != null) {
+        jdbc.execute("CREATE TRIGGER IF NOT EXISTS trg_" + t.table() + "_sync_del AFTER DELETE ON " + t.table()
+            + " BEGIN " + NEXT_SEQ + " "
+            + "INSERT INTO sync_tombstones (project_id, entity_type, entity_id, change_seq, deleted_at) "
+            + "VALUES (OLD.project_id, '" + t.entityType() + "', OLD.id, " + CUR_SEQ + ", " + NOW_MILLIS + "); END");
+      }
+
+      // Rows written before the triggers existed: touching them lets the update trigger assign a sequence.
+      jdbc.update("UPDATE " + t.table() + " SET updated_at = updated_at WHERE change_seq IS NULL");
+    }
+  }
+}
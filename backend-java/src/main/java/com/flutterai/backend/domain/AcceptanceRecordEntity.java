@@ -17,7 +17,9 @@ import jakarta.persistence.Table;
     name = "acceptance_records",
     indexes = {
         @Index(name = "idx_acceptance_project", columnList = "project_id"),
-        @Index(name = "idx_acceptance_client_record", columnList = "project_id,client_record_id")
+        @Index(name = "idx_acceptance_client_record", columnList = "project_id,client_record_id"),
+        @Index(name = "idx_acceptance_project_seq", columnList = "project_id,change_seq"),
+        @Index(name = "idx_acceptance_project_created", columnList = "project_id,created_at,id")
     })
 public class AcceptanceRecordEntity {
   @Id
@@ -45,6 +47,10 @@ public class AcceptanceRecordEntity {
   @Column(name = "zone")
   private String zone;
 
+  // RegionParser.VERSION that produced building_no / floor_no / zone; null for rows written elsewhere.
+  @Column(name = "region_parser_version")
+  private Integer regionParserVersion;
+
   @Column(name = "division")
   private String division;
 
@@ -82,6 +88,12 @@ public class AcceptanceRecordEntity {
   @Column(name = "created_at")
   private OffsetDateTime createdAt;
 
+  @Column(name = "updated_at", insertable = false, updatable = false)
+  private OffsetDateTime updatedAt;
+
+  @Column(name = "change_seq", insertable = false, updatable = false)
+  private Long changeSeq;
+
   @Column(name = "source")
   private String source;
 
@@ -152,6 +164,14 @@ public class AcceptanceRecordEntity {
     this.zone = zone;
   }
 
+  public Integer getRegionParserVersion() {
+    return regionParserVersion;
+  }
+
+  public void setRegionParserVersion(Integer regionParserVersion) {
+    this.regionParserVersion = regionParserVersion;
+  }
+
   public String getDivision() {
     return division;
   }
@@ -263,4 +283,12 @@ public class AcceptanceRecordEntity {
   public void setClientRecordId(String clientRecordId) {
     this.clientRecordId = clientRecordId;
   }
+
+  public OffsetDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public Long getChangeSeq() {
+    return changeSeq;
+  }
 }
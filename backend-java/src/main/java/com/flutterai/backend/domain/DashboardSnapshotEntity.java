@@ -0,0 +1,123 @@
+package com.flutterai.backend.domain;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Precomputed dashboard payload for one project, rewritten in place by {@code DashboardSnapshots}.
+ */
+@Entity
+@Table(
+    name = "dashboard_snapshots",
+    indexes = {
+        @Index(name = "idx_dashboard_snapshot_project_kind", columnList = "project_id,kind", unique = true)
+    })
+public class DashboardSnapshotEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "project_id", nullable = false)
+  private Long projectId;
+
+  // focus | summary
+  @Column(name = "kind", nullable = false)
+  private String kind;
+
+  // The response body as served.
+  @Column(name = "payload_json", columnDefinition = "TEXT", nullable = false)
+  private String payloadJson;
+
+  // sync_clock value read before computing; later writes to the project have a higher change_seq.
+  @Column(name = "source_seq", nullable = false)
+  private long sourceSeq;
+
+  @Column(name = "generated_at", nullable = false)
+  private OffsetDateTime generatedAt;
+
+  @Column(name = "duration_ms", nullable = false)
+  private long durationMs;
+
+  // Why the latest refresh failed, if it did; cleared by the next successful one. The payload is
+  // then left from an earlier run, which is what to look at when a project's snapshot stops moving.
+  @Column(name = "last_error", columnDefinition = "TEXT")
+  private String lastError;
+
+  @Column(name = "last_error_at")
+  private OffsetDateTime lastErrorAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  public void setProjectId(Long projectId) {
+    this.projectId = projectId;
+  }
+
+  public String getKind() {
+    return kind;
+  }
+
+  public void setKind(String kind) {
+    this.kind = kind;
+  }
+
+  public String getPayloadJson() {
+    return payloadJson;
+  }
+
+  public void setPayloadJson(String payloadJson) {
+    this.payloadJson = payloadJson;
+  }
+
+  public long getSourceSeq() {
+    return sourceSeq;
+  }
+
+  public void setSourceSeq(long sourceSeq) {
+    this.sourceSeq = sourceSeq;
+  }
+
+  public OffsetDateTime getGeneratedAt() {
+    return generatedAt;
+  }
+
+  public void setGeneratedAt(OffsetDateTime generatedAt) {
+    this.generatedAt = generatedAt;
+  }
+
+  public long getDurationMs() {
+    return durationMs;
+  }
+
+  public void setDurationMs(long durationMs) {
+    this.durationMs = durationMs;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public OffsetDateTime getLastErrorAt() {
+    return lastErrorAt;
+  }
+
+  public void setLastErrorAt(OffsetDateTime lastErrorAt) {
+    this.lastErrorAt = lastErrorAt;
+  }
+}
@@ -0,0 +1,203 @@
+package com.flutterai.backend.domain;
+
+import java.time.OffsetDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Bulk import progress. {@code checkpointRow} is committed in the same transaction as each
+ * batch, so an interrupted job resumes exactly after the last written row.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJobEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "project_id", nullable = false)
+  private Long projectId;
+
+  // acceptance | issues
+  @Column(name = "kind", nullable = false)
+  private String kind;
+
+  // queued | running | done | failed
+  @Column(name = "status", nullable = false)
+  private String status;
+
+  @Column(name = "file_name")
+  private String fileName;
+
+  @Column(name = "file_path", columnDefinition = "TEXT")
+  private String filePath;
+
+  @Column(name = "batch_size")
+  private Integer batchSize;
+
+  @Column(name = "rows_imported", nullable = false)
+  private long rowsImported;
+
+  @Column(name = "rows_rejected", nullable = false)
+  private long rowsRejected;
+
+  // Last data row (1-based, header excluded) whose batch has been committed.
+  @Column(name = "checkpoint_row", nullable = false)
+  private long checkpointRow;
+
+  // checkpoint_row when the current run started; used for throughput.
+  @Column(name = "run_start_row", nullable = false)
+  private long runStartRow;
+
+  // JSON array of {row, reason}, capped.
+  @Column(name = "errors_json", columnDefinition = "TEXT")
+  private String errorsJson;
+
+  @Column(name = "message", columnDefinition = "TEXT")
+  private String message;
+
+  @CreationTimestamp
+  @Column(name = "created_at")
+  private OffsetDateTime createdAt;
+
+  @Column(name = "started_at")
+  private OffsetDateTime startedAt;
+
+  @Column(name = "finished_at")
+  private OffsetDateTime finishedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  public void setProjectId(Long projectId) {
+    this.projectId = projectId;
+  }
+
+  public String getKind() {
+    return kind;
+  }
+
+  public void setKind(String kind) {
+    this.kind = kind;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public String getFilePath() {
+    return filePath;
+  }
+
+  public void setFilePath(String filePath) {
+    this.filePath = filePath;
+  }
+
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getRowsImported() {
+    return rowsImported;
+  }
+
+  public void setRowsImported(long rowsImported) {
+    this.rowsImported = rowsImported;
+  }
+
+  public long getRowsRejected() {
+    return rowsRejected;
+  }
+
+  public void setRowsRejected(long rowsRejected) {
+    this.rowsRejected = rowsRejected;
+  }
+
+  public long getCheckpointRow() {
+    return checkpointRow;
+  }
+
+  public void setCheckpointRow(long checkpointRow) {
+    this.checkpointRow = checkpointRow;
+  }
+
+  public long getRunStartRow() {
+    return runStartRow;
+  }
+
+  public void setRunStartRow(long runStartRow) {
+    this.runStartRow = runStartRow;
+  }
+
+  public String getErrorsJson() {
+    return errorsJson;
+  }
+
+  public void setErrorsJson(String errorsJson) {
+    this.errorsJson = errorsJson;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(OffsetDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public OffsetDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(OffsetDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public OffsetDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(OffsetDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+}
@@ -17,7 +17,12 @@ import jakarta.persistence.Table;
     name = "issue_reports",
     indexes = {
         @Index(name = "idx_issue_project", columnList = "project_id"),
-        @Index(name = "idx_issue_client_record", columnList = "project_id,client_record_id")
+        @Index(name = "idx_issue_client_record", columnList = "project_id,client_record_id"),
+        @Index(name = "idx_issue_project_seq", columnList = "project_id,change_seq"),
+        @Index(name = "idx_issue_project_created", columnList = "project_id,created_at,id"),
+        @Index(name = "idx_issue_project_status_created", columnList = "project_id,status,created_at,id"),
+        @Index(name = "idx_issue_project_unit_created", columnList = "project_id,responsible_unit,created_at,id"),
+        @Index(name = "idx_issue_project_status_deadline", columnList = "project_id,status,deadline_at,id")
     })
 public class IssueReportEntity {
   @Id
@@ -45,6 +50,10 @@ public class IssueReportEntity {
   @Column(name = "zone")
   private String zone;
 
+  // RegionParser.VERSION that produced building_no / floor_no / zone; null for rows written elsewhere.
+  @Column(name = "region_parser_version")
+  private Integer regionParserVersion;
+
   @Column(name = "division")
   private String division;
 
@@ -69,6 +78,10 @@ public class IssueReportEntity {
   @Column(name = "deadline_days")
   private Integer deadlineDays;
 
+  // created_at + deadline_days in epoch millis, maintained by a trigger (IssueDeadlineSchemaInitializer).
+  @Column(name = "deadline_at", insertable = false, updatable = false)
+  private Long deadlineAt;
+
   @Column(name = "responsible_unit")
   private String responsibleUnit;
 
@@ -91,6 +104,12 @@ public class IssueReportEntity {
   @Column(name = "created_at")
   private OffsetDateTime createdAt;
 
+  @Column(name = "updated_at", insertable = false, updatable = false)
+  private OffsetDateTime updatedAt;
+
+  @Column(name = "change_seq", insertable = false, updatable = false)
+  private Long changeSeq;
+
   @Column(name = "source")
   private String source;
 
@@ -161,6 +180,14 @@ public class IssueReportEntity {
     this.zone = zone;
   }
 
+  public Integer getRegionParserVersion() {
+    return regionParserVersion;
+  }
+
+  public void setRegionParserVersion(Integer regionParserVersion) {
+    this.regionParserVersion = regionParserVersion;
+  }
+
   public String getDivision() {
     return division;
   }
@@ -225,6 +252,10 @@ public class IssueReportEntity {
     this.deadlineDays = deadlineDays;
   }
 
+  public Long getDeadlineAt() {
+    return deadlineAt;
+  }
+
   public String getResponsibleUnit() {
     return responsibleUnit;
   }
@@ -296,4 +327,12 @@ public class IssueReportEntity {
   public void setClientRecordId(String clientRecordId) {
     this.clientRecordId = clientRecordId;
   }
+
+  public OffsetDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public Long getChangeSeq() {
+    return changeSeq;
+  }
 }
@@ -9,10 +9,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "projects")
+@Table(
+    name = "projects",
+    indexes = {
+        @Index(name = "idx_project_created", columnList = "created_at,id")
+    })
 public class ProjectEntity {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +33,12 @@ public class ProjectEntity {
   @Column(name = "created_at")
   private OffsetDateTime createdAt;
 
+  @Column(name = "updated_at", insertable = false, updatable = false)
+  private OffsetDateTime updatedAt;
+
+  @Column(name = "change_seq", insertable = false, updatable = false)
+  private Long changeSeq;
+
   public Long getId() {
     return id;
   }
@@ -59,4 +70,12 @@ public class ProjectEntity {
   public void setCreatedAt(OffsetDateTime createdAt) {
     this.createdAt = createdAt;
   }
+
+  public OffsetDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public Long getChangeSeq() {
+    return changeSeq;
+  }
 }
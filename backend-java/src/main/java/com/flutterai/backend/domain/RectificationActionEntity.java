@@ -17,7 +17,9 @@ import jakarta.persistence.Table;
     name = "rectification_actions",
     indexes = {
         @Index(name = "idx_action_target", columnList = "target_type,target_id"),
-        @Index(name = "idx_action_project", columnList = "project_id")
+        @Index(name = "idx_action_project", columnList = "project_id"),
+        @Index(name = "idx_action_project_seq", columnList = "project_id,change_seq"),
+        @Index(name = "idx_action_target_created", columnList = "target_type,target_id,created_at,id")
     })
 public class RectificationActionEntity {
   @Id
@@ -52,6 +54,12 @@ public class RectificationActionEntity {
   @Column(name = "created_at")
   private OffsetDateTime createdAt;
 
+  @Column(name = "updated_at", insertable = false, updatable = false)
+  private OffsetDateTime updatedAt;
+
+  @Column(name = "change_seq", insertable = false, updatable = false)
+  private Long changeSeq;
+
   public Long getId() {
     return id;
   }
@@ -131,4 +139,12 @@ public class RectificationActionEntity {
   public void setCreatedAt(OffsetDateTime createdAt) {
     this.createdAt = createdAt;
   }
+
+  public OffsetDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public Long getChangeSeq() {
+    return changeSeq;
+  }
 }
@@ -0,0 +1,62 @@
+package com.flutterai.backend.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A row the region re-parse job checked and found already correct for {@code parser_version}.
+ *
+ * Kept beside the row instead of stamping its region_parser_version, which would bump change_seq
+ * and make every client re-pull it. Written with plain JDBC by {@code RegionReparseService}; it
+ * only counts while {@code change_seq} still matches the row's, so any later write re-queues it.
+ */
+@Entity
+@Table(
+    name = "region_parse_checks",
+    indexes = {
+        @Index(name = "idx_region_parse_check_row", columnList = "table_name,row_id", unique = true)
+    })
+public class RegionParseCheckEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  // acceptance_records | issue_reports
+  @Column(name = "table_name", nullable = false)
+  private String tableName;
+
+  @Column(name = "row_id", nullable = false)
+  private Long rowId;
+
+  @Column(name = "parser_version", nullable = false)
+  private Integer parserVersion;
+
+  // The row's change_seq when it was checked.
+  @Column(name = "change_seq")
+  private Long changeSeq;
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public Long getRowId() {
+    return rowId;
+  }
+
+  public Integer getParserVersion() {
+    return parserVersion;
+  }
+
+  public Long getChangeSeq() {
+    return changeSeq;
+  }
+}
@@ -0,0 +1,225 @@
+package com.flutterai.backend.domain;
+
+import java.time.OffsetDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Re-parse of a project's region fields with the current {@code RegionParser}. Tables are
+ * walked in id order; {@code phase}/{@code checkpointId} are committed with each chunk's updates.
+ */
+@Entity
+@Table(name = "region_reparse_jobs")
+public class RegionReparseJobEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "project_id", nullable = false)
+  private Long projectId;
+
+  // queued | running | done | failed
+  @Column(name = "status", nullable = false)
+  private String status;
+
+  // Report what would change without writing.
+  @Column(name = "dry_run", nullable = false)
+  private boolean dryRun;
+
+  @Column(name = "parser_version", nullable = false)
+  private int parserVersion;
+
+  @Column(name = "chunk_size", nullable = false)
+  private int chunkSize;
+
+  // acceptance | issues
+  @Column(name = "phase", nullable = false)
+  private String phase;
+
+  // Highest row id of the current phase already handled.
+  @Column(name = "checkpoint_id", nullable = false)
+  private long checkpointId;
+
+  @Column(name = "rows_scanned", nullable = false)
+  private long rowsScanned;
+
+  @Column(name = "rows_changed", nullable = false)
+  private long rowsChanged;
+
+  @Column(name = "building_changes", nullable = false)
+  private long buildingChanges;
+
+  @Column(name = "floor_changes", nullable = false)
+  private long floorChanges;
+
+  @Column(name = "zone_changes", nullable = false)
+  private long zoneChanges;
+
+  // JSON array of the first changed rows (before/after), capped.
+  @Column(name = "diff_json", columnDefinition = "TEXT")
+  private String diffJson;
+
+  @Column(name = "message", columnDefinition = "TEXT")
+  private String message;
+
+  @CreationTimestamp
+  @Column(name = "created_at")
+  private OffsetDateTime createdAt;
+
+  @Column(name = "started_at")
+  private OffsetDateTime startedAt;
+
+  @Column(name = "finished_at")
+  private OffsetDateTime finishedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  public void setProjectId(Long projectId) {
+    this.projectId = projectId;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public boolean isDryRun() {
+    return dryRun;
+  }
+
+  public void setDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+  }
+
+  public int getParserVersion() {
+    return parserVersion;
+  }
+
+  public void setParserVersion(int parserVersion) {
+    this.parserVersion = parserVersion;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public String getPhase() {
+    return phase;
+  }
+
+  public void setPhase(String phase) {
+    this.phase = phase;
+  }
+
+  public long getCheckpointId() {
+    return checkpointId;
+  }
+
+  public void setCheckpointId(long checkpointId) {
+    this.checkpointId = checkpointId;
+  }
+
+  public long getRowsScanned() {
+    return rowsScanned;
+  }
+
+  public void setRowsScanned(long rowsScanned) {
+    this.rowsScanned = rowsScanned;
+  }
+
+  public long getRowsChanged() {
+    return rowsChanged;
+  }
+
+  public void setRowsChanged(long rowsChanged) {
+    this.rowsChanged = rowsChanged;
+  }
+
+  public long getBuildingChanges() {
+    return buildingChanges;
+  }
+
+  public void setBuildingChanges(long buildingChanges) {
+    this.buildingChanges = buildingChanges;
+  }
+
+  public long getFloorChanges() {
+    return floorChanges;
+  }
+
+  public void setFloorChanges(long floorChanges) {
+    this.floorChanges = floorChanges;
+  }
+
+  public long getZoneChanges() {
+    return zoneChanges;
+  }
+
+  public void setZoneChanges(long zoneChanges) {
+    this.zoneChanges = zoneChanges;
+  }
+
+  public String getDiffJson() {
+    return diffJson;
+  }
+
+  public void setDiffJson(String diffJson) {
+    this.diffJson = diffJson;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(OffsetDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public OffsetDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(OffsetDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public OffsetDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(OffsetDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+}
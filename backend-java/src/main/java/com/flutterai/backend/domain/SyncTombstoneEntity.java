@@ -0,0 +1,91 @@
+package com.flutterai.backend.domain;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Deleted row marker for delta sync. Rows are written by the SQLite delete triggers
+ * installed in {@code SyncSchemaInitializer}, so deletes from any writer are captured.
+ */
+@Entity
+@Table(
+    name = "sync_tombstones",
+    indexes = {
+        @Index(name = "idx_tombstone_project_seq", columnList = "project_id,change_seq")
+    })
+public class SyncTombstoneEntity {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "project_id", nullable = false)
+  private Long projectId;
+
+  // acceptance | issue | action
+  @Column(name = "entity_type", nullable = false)
+  private String entityType;
+
+  @Column(name = "entity_id", nullable = false)
+  private Long entityId;
+
+  @Column(name = "change_seq", nullable = false)
+  private Long changeSeq;
+
+  @Column(name = "deleted_at")
+  private OffsetDateTime deletedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  public void setProjectId(Long projectId) {
+    this.projectId = projectId;
+  }
+
+  public String getEntityType() {
+    return entityType;
+  }
+
+  public void setEntityType(String entityType) {
+    this.entityType = entityType;
+  }
+
+  public Long getEntityId() {
+    return entityId;
+  }
+
+  public void setEntityId(Long entityId) {
+    this.entityId = entityId;
+  }
+
+  public Long getChangeSeq() {
+    return changeSeq;
+  }
+
+  public void setChangeSeq(Long changeSeq) {
+    this.changeSeq = changeSeq;
+  }
+
+  public OffsetDateTime getDeletedAt() {
+    return deletedAt;
+  }
+
+  public void setDeletedAt(OffsetDateTime deletedAt) {
+    this.deletedAt = deletedAt;
+  }
+}
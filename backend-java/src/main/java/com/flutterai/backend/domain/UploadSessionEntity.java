@@ -0,0 +1,133 @@
+package com.flutterai.backend.domain;
+
+import java.time.OffsetDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Resumable upload. {@code receivedBytes} only advances after the chunk data has been forced to
+ * disk, so after a crash or restart the client resumes from an offset the file really holds.
+ */
+@Entity
+@Table(name = "upload_sessions")
+public class UploadSessionEntity {
+  // Random 32-hex token; also names the part file under uploads/.sessions/.
+  @Id
+  @Column(name = "id", length = 32)
+  private String id;
+
+  @Column(name = "file_name")
+  private String fileName;
+
+  @Column(name = "total_bytes", nullable = false)
+  private long totalBytes;
+
+  @Column(name = "received_bytes", nullable = false)
+  private long receivedBytes;
+
+  // Optional digest declared by the client, checked on completion.
+  @Column(name = "expected_sha256")
+  private String expectedSha256;
+
+  // open | complete
+  @Column(name = "status", nullable = false)
+  private String status;
+
+  @Column(name = "result_path", columnDefinition = "TEXT")
+  private String resultPath;
+
+  @Column(name = "result_sha256")
+  private String resultSha256;
+
+  @CreationTimestamp
+  @Column(name = "created_at")
+  private OffsetDateTime createdAt;
+
+  @Column(name = "updated_at")
+  private OffsetDateTime updatedAt;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public void setTotalBytes(long totalBytes) {
+    this.totalBytes = totalBytes;
+  }
+
+  public long getReceivedBytes() {
+    return receivedBytes;
+  }
+
+  public void setReceivedBytes(long receivedBytes) {
+    this.receivedBytes = receivedBytes;
+  }
+
+  public String getExpectedSha256() {
+    return expectedSha256;
+  }
+
+  public void setExpectedSha256(String expectedSha256) {
+    this.expectedSha256 = expectedSha256;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public String getResultPath() {
+    return resultPath;
+  }
+
+  public void setResultPath(String resultPath) {
+    this.resultPath = resultPath;
+  }
+
+  public String getResultSha256() {
+    return resultSha256;
+  }
+
+  public void setResultSha256(String resultSha256) {
+    this.resultSha256 = resultSha256;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(OffsetDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public OffsetDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(OffsetDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
@@ -0,0 +1,31 @@
+package com.flutterai.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public final class AnalyticsDtos {
+  private AnalyticsDtos() {}
+
+  /**
+   * Filter values are a scalar or a list (matched with IN); {@code since} / {@code until} take a
+   * date, a timestamp or epoch millis.
+   */
+  public record AnalyticsQueryIn(
+      Long projectId,
+      String projectName,
+      String source,
+      List<String> dimensions,
+      List<String> measures,
+      Map<String, Object> filters,
+      String sort,
+      Integer limit
+  ) {}
+
+  public record AnalyticsColumn(String name, String type) {}
+
+  public record AnalyticsQueryOut(
+      List<AnalyticsColumn> columns,
+      List<Object[]> rows,
+      boolean truncated
+  ) {}
+}
@@ -17,6 +17,7 @@ public final class DashboardDtos {
       Map<String, Integer> issuesBySeverity,
       List<Map<String, Object>> topResponsibleUnits,
       List<Map<String, Object>> recentUnqualifiedAcceptance,
-      List<Map<String, Object>> recentOpenIssues
+      List<Map<String, Object>> recentOpenIssues,
+      Map<String, Object> meta
   ) {}
 }
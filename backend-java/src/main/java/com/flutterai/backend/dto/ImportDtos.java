@@ -0,0 +1,27 @@
+package com.flutterai.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public final class ImportDtos {
+  private ImportDtos() {}
+
+  public record ImportRowError(long row, String reason) {}
+
+  public record ImportJobOut(
+      long id,
+      long projectId,
+      String kind,
+      String status,
+      String fileName,
+      long rowsImported,
+      long rowsRejected,
+      long checkpointRow,
+      double rowsPerSecond,
+      List<ImportRowError> errors,
+      String message,
+      OffsetDateTime createdAt,
+      OffsetDateTime startedAt,
+      OffsetDateTime finishedAt
+  ) {}
+}
@@ -60,4 +60,10 @@ public final class IssueDtos {
       String source,
       String clientRecordId
   ) {}
+
+  public record OverdueIssueOut(
+      IssueReportOut issue,
+      OffsetDateTime deadlineAt,
+      double daysOverdue
+  ) {}
 }
@@ -0,0 +1,32 @@
+package com.flutterai.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public final class RegionDtos {
+  private RegionDtos() {}
+
+  public record RegionFields(String buildingNo, Integer floorNo, String zone) {}
+
+  public record RegionDiff(String table, long id, String regionText, RegionFields before, RegionFields after) {}
+
+  public record RegionReparseJobOut(
+      long id,
+      long projectId,
+      String status,
+      boolean dryRun,
+      int parserVersion,
+      String phase,
+      long checkpointId,
+      long rowsScanned,
+      long rowsChanged,
+      long buildingChanges,
+      long floorChanges,
+      long zoneChanges,
+      List<RegionDiff> diff,
+      String message,
+      OffsetDateTime createdAt,
+      OffsetDateTime startedAt,
+      OffsetDateTime finishedAt
+  ) {}
+}
@@ -0,0 +1,27 @@
+package com.flutterai.backend.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.flutterai.backend.dto.AcceptanceDtos.AcceptanceRecordOut;
+import com.flutterai.backend.dto.ActionDtos.RectificationActionOut;
+import com.flutterai.backend.dto.IssueDtos.IssueReportOut;
+
+public final class SyncDtos {
+  private SyncDtos() {}
+
+  public record TombstoneOut(
+      String entityType,
+      long entityId,
+      OffsetDateTime deletedAt
+  ) {}
+
+  public record SyncChangesOut(
+      List<AcceptanceRecordOut> acceptance,
+      List<IssueReportOut> issues,
+      List<RectificationActionOut> actions,
+      List<TombstoneOut> tombstones,
+      String nextCursor,
+      boolean hasMore
+  ) {}
+}
@@ -0,0 +1,41 @@
+package com.flutterai.backend.dto;
+
+import java.time.OffsetDateTime;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+public final class UploadDtos {
+  private UploadDtos() {}
+
+  public record GcReportOut(
+      boolean dryRun,
+      OffsetDateTime startedAt,
+      long durationMs,
+      long referencedNames,
+      long filesScanned,
+      long quarantinedFiles,
+      long quarantinedBytes,
+      long restoredFiles,
+      long deletedFiles,
+      long reclaimedBytes,
+      String message
+  ) {}
+
+  public record UploadSessionIn(
+      @NotBlank String filename,
+      @Positive long size,
+      String sha256
+  ) {}
+
+  public record UploadSessionOut(
+      String id,
+      String fileName,
+      long size,
+      long offset,
+      String status,
+      String path,
+      OffsetDateTime createdAt,
+      OffsetDateTime expiresAt
+  ) {}
+}
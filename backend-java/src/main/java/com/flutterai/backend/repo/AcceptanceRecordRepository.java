@@ -1,5 +1,6 @@
 package com.flutterai.backend.repo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,9 +10,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import com.flutterai.backend.domain.AcceptanceRecordEntity;
 
 public interface AcceptanceRecordRepository extends JpaRepository<AcceptanceRecordEntity, Long> {
-  List<AcceptanceRecordEntity> findByProjectIdOrderByCreatedAtDesc(Long projectId, Pageable pageable);
-
   Optional<AcceptanceRecordEntity> findFirstByProjectIdAndClientRecordId(Long projectId, String clientRecordId);
 
+  List<AcceptanceRecordEntity> findByProjectIdAndClientRecordIdIn(Long projectId, Collection<String> clientRecordIds);
+
   long countByProjectIdAndBuildingNoIsNull(Long projectId);
+
+  List<AcceptanceRecordEntity> findByProjectIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long projectId, Long changeSeq, Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package com.flutterai.backend.repo;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.flutterai.backend.domain.DashboardSnapshotEntity;
+
+public interface DashboardSnapshotRepository extends JpaRepository<DashboardSnapshotEntity, Long> {
+  Optional<DashboardSnapshotEntity> findByProjectIdAndKind(long projectId, String kind);
+
+  List<DashboardSnapshotEntity> findByKind(String kind);
+}
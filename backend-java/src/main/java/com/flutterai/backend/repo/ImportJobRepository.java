@@ -0,0 +1,12 @@
+package com.flutterai.backend.repo;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.flutterai.backend.domain.ImportJobEntity;
+
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, Long> {
+  List<ImportJobEntity> findByStatusInOrderByIdAsc(Collection<String> statuses);
+}
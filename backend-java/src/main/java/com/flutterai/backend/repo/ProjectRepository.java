@@ -2,10 +2,17 @@ package com.flutterai.backend.repo;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.flutterai.backend.domain.ProjectEntity;
 
 public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
   Optional<ProjectEntity> findByName(String name);
+
+  Window<ProjectEntity> findByCreatedAtIsNotNullOrderByCreatedAtDescIdDesc(ScrollPosition position, Limit limit);
+
+  Window<ProjectEntity> findByCreatedAtIsNullOrderByIdDesc(ScrollPosition position, Limit limit);
 }
@@ -0,0 +1,8 @@
+package com.flutterai.backend.repo;
+
+import java.util.List;
+
+/**
+ * One keyset page of projected rows; {@code nextCursor} is null on the last page.
+ */
+public record ReadPage<T>(List<T> items, String nextCursor) {}
@@ -0,0 +1,357 @@
+package com.flutterai.backend.repo;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.flutterai.backend.dto.AcceptanceDtos.AcceptanceRecordOut;
+import com.flutterai.backend.dto.ActionDtos.RectificationActionOut;
+import com.flutterai.backend.dto.IssueDtos.IssueReportOut;
+import com.flutterai.backend.dto.IssueDtos.OverdueIssueOut;
+import com.flutterai.backend.util.CursorCodec;
+import com.flutterai.backend.util.SqliteTimestamps;
+
+/**
+ * Read-only queries that project rows straight from JDBC into the API records, bypassing
+ * entity hydration, the persistence context and dirty checking.
+ */
+@Repository
+public class RecordReadRepository {
+  static final String ACCEPTANCE_COLUMNS = "id, project_id, region_code, region_text, building_no, floor_no, zone, "
+      + "division, subdivision, item, item_code, indicator, indicator_code, result, photo_path, remark, ai_json, "
+      + "client_created_at, created_at, source, client_record_id";
+
+  static final String ISSUE_COLUMNS = "id, project_id, region_code, region_text, building_no, floor_no, zone, "
+      + "division, subdivision, item, indicator, library_id, description, severity, deadline_days, responsible_unit, "
+      + "responsible_person, status, photo_path, ai_json, client_created_at, created_at, source, client_record_id";
+
+  static final String ACTION_COLUMNS = "id, project_id, target_type, target_id, action_type, content, photo_urls, "
+      + "actor_role, actor_name, created_at";
+
+  private final JdbcTemplate jdbc;
+
+  public RecordReadRepository(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  public ReadPage<AcceptanceRecordOut> acceptancePage(long projectId, String cursor, int limit) {
+    List<Object> args = new ArrayList<>();
+    StringBuilder sql = new StringBuilder("SELECT " + ACCEPTANCE_COLUMNS + " FROM acceptance_records WHERE project_id = ?");
+    args.add(projectId);
+    return keysetPage(sql, args, cursor, true, limit, RecordReadRepository::acceptanceRow);
+  }
+
+  public AcceptanceRecordOut acceptanceById(long id) {
+    List<AcceptanceRecordOut> rows = jdbc.query(
+        "SELECT " + ACCEPTANCE_COLUMNS + " FROM acceptance_records WHERE id = ?",
+        RecordReadRepository::acceptanceRow,
+        id);
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  public ReadPage<IssueReportOut> issuePage(long projectId, String status, String responsibleUnit, String cursor, int limit) {
+    List<Object> args = new ArrayList<>();
+    StringBuilder sql = new StringBuilder("SELECT " + ISSUE_COLUMNS + " FROM issue_reports WHERE project_id = ?");
+    args.add(projectId);
+    if (status != null) {
+      sql.append(" AND status = ?");
+      args.add(status);
+    }
+    if (responsibleUnit != null) {
+      sql.append(" AND responsible_unit = ?");
+      args.add(responsibleUnit);
+    }
+    return keysetPage(sql, args, cursor, true, limit, RecordReadRepository::issueRow);
+  }
+
+  public IssueReportOut issueById(long id) {
+    List<IssueReportOut> rows = jdbc.query(
+        "SELECT " + ISSUE_COLUMNS + " FROM issue_reports WHERE id = ?",
+        RecordReadRepository::issueRow,
+        id);
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  /**
+   * Timeline of one target, oldest first.
+   */
+  public ReadPage<RectificationActionOut> actionPage(String targetType, long targetId, String cursor, int limit) {
+    List<Object> args = new ArrayList<>();
+    StringBuilder sql = new StringBuilder("SELECT " + ACTION_COLUMNS + " FROM rectification_actions WHERE target_type = ? AND target_id = ?");
+    args.add(targetType);
+    args.add(targetId);
+    return keysetPage(sql, args, cursor, false, limit, RecordReadRepository::actionRow);
+  }
+
+  /**
+   * Open issues whose deadline_at has passed, most overdue first; keyset on (deadline_at, id),
+   * served by the (project_id, status, deadline_at, id) index.
+   */
+  public ReadPage<OverdueIssueOut> overdueIssuePage(long projectId, String building, long nowMillis, String cursor, int limit) {
+    List<Object> args = new ArrayList<>();
+    StringBuilder sql = new StringBuilder("SELECT " + ISSUE_COLUMNS + ", deadline_at FROM issue_reports "
+        + "WHERE project_id = ? AND status = 'open' AND deadline_at < ?");
+    args.add(projectId);
+    args.add(nowMillis);
+    if (building != null) {
+      sql.append(" AND building_no = ?");
+      args.add(building);
+    }
+    String[] k = CursorCodec.decode(cursor, 2);
+    if (k != null) {
+      try {
+        args.add(Long.parseLong(k[0]));
+        args.add(Long.parseLong(k[1]));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("invalid cursor");
+      }
+      sql.append(" AND (deadline_at, id) > (?, ?)");
+    }
+    sql.append(" ORDER BY deadline_at ASC, id ASC LIMIT ?");
+    args.add(limit + 1);
+
+    List<OverdueIssueOut> items = new ArrayList<>(Math.min(limit, 512));
+    long[] last = new long[2];
+    boolean[] more = new boolean[1];
+    jdbc.query(sql.toString(), rs -> {
+      if (items.size() >= limit) {
+        more[0] = true;
+        return;
+      }
+      long due = rs.getLong("deadline_at");
+      double days = Math.round((nowMillis - due) / 864000.0) / 100.0;
+      items.add(new OverdueIssueOut(
+          issueRow(rs, items.size()),
+          Instant.ofEpochMilli(due).atOffset(ZoneOffset.UTC),
+          days));
+      last[0] = due;
+      last[1] = rs.getLong("id");
+    }, args.toArray());
+    String next = more[0] ? CursorCodec.encode(last[0], last[1]) : null;
+    return new ReadPage<>(items, next);
+  }
+
+  public List<Map<String, Object>> recentAcceptanceMaps(long projectId, String result, int limit) {
+    return jdbc.query(
+        "SELECT " + ACCEPTANCE_COLUMNS + " FROM acceptance_records WHERE project_id = ? AND result = ? "
+            + "ORDER BY created_at DESC, id DESC LIMIT ?",
+        RecordReadRepository::acceptanceMap,
+        projectId, result, limit);
+  }
+
+  public List<Map<String, Object>> recentIssueMaps(long projectId, String status, int limit) {
+    return jdbc.query(
+        "SELECT " + ISSUE_COLUMNS + " FROM issue_reports WHERE project_id = ? AND status = ? "
+            + "ORDER BY created_at DESC, id DESC LIMIT ?",
+        RecordReadRepository::issueMap,
+        projectId, status, limit);
+  }
+
+  /**
+   * One page ordered by (created_at, id), {@code desc} or ascending, after {@code cursor}.
+   *
+   * Rows without created_at come after every dated row descending and before them ascending
+   * (SQLite orders NULL lowest). A row-value comparison can't step past them, so they are read in
+   * their own phase, ordered by id and resumed from a NULL-kind cursor. Each phase is a plain
+   * index seek; the page continues into the next phase when the current one runs out.
+   */
+  private <T> ReadPage<T> keysetPage(
+      StringBuilder sql, List<Object> args, String cursor, boolean desc, int limit, RowMapper<T> mapper) {
+    CursorCodec.Keyset k = CursorCodec.decodeKeyset(cursor);
+    boolean inUndated = k != null && k.createdAt() == null;
+    List<T> items = new ArrayList<>(Math.min(limit, 512));
+    // Cursor of the last row emitted so far; the position to resume from if a phase is cut off before its first row.
+    String[] lastCursor = {cursor};
+
+    for (boolean undated : desc ? new boolean[] {false, true} : new boolean[] {true, false}) {
+      StringBuilder q = new StringBuilder(sql);
+      List<Object> a = new ArrayList<>(args);
+      if (undated) {
+        if (!desc && k != null && !inUndated) {
+          continue;
+        }
+        q.append(" AND created_at IS NULL");
+        if (inUndated) {
+          q.append(desc ? " AND id < ?" : " AND id > ?");
+          a.add(k.id());
+        }
+        q.append(desc ? " ORDER BY id DESC LIMIT ?" : " ORDER BY id ASC LIMIT ?");
+      } else {
+        if (desc && inUndated) {
+          continue;
+        }
+        if (k != null && !inUndated) {
+          // Row-value comparison lets SQLite seek the (…, created_at, id) index directly.
+          q.append(desc ? " AND (created_at, id) < (?, ?)" : " AND (created_at, id) > (?, ?)");
+          a.add(k.createdAt());
+          a.add(k.id());
+        } else {
+          q.append(" AND created_at IS NOT NULL");
+        }
+        q.append(desc ? " ORDER BY created_at DESC, id DESC LIMIT ?" : " ORDER BY created_at ASC, id ASC LIMIT ?");
+      }
+      if (page(q, a, limit, items, mapper, lastCursor)) {
+        return new ReadPage<>(items, lastCursor[0]);
+      }
+    }
+    return new ReadPage<>(items, null);
+  }
+
+  /**
+   * Appends rows until {@code items} holds {@code limit}, fetching one extra row to tell whether
+   * more follow; returns true if they do. {@code lastCursor[0]} tracks the last appended row.
+   */
+  private <T> boolean page(
+      StringBuilder sql, List<Object> args, int limit, List<T> items, RowMapper<T> mapper, String[] lastCursor) {
+    args.add(limit - items.size() + 1);
+    boolean[] more = new boolean[1];
+    jdbc.query(sql.toString(), rs -> {
+      if (items.size() >= limit) {
+        more[0] = true;
+        return;
+      }
+      items.add(mapper.mapRow(rs, items.size()));
+      lastCursor[0] = CursorCodec.encodeKeyset(rs.getObject("created_at"), rs.getLong("id"));
+    }, args.toArray());
+    return more[0];
+  }
+
+  static AcceptanceRecordOut acceptanceRow(ResultSet rs, int rowNum) throws SQLException {
+    return new AcceptanceRecordOut(
+        rs.getLong("id"),
+        rs.getLong("project_id"),
+        rs.getString("region_code"),
+        rs.getString("region_text"),
+        rs.getString("building_no"),
+        intOrNull(rs, "floor_no"),
+        rs.getString("zone"),
+        rs.getString("division"),
+        rs.getString("subdivision"),
+        rs.getString("item"),
+        rs.getString("item_code"),
+        rs.getString("indicator"),
+        rs.getString("indicator_code"),
+        rs.getString("result"),
+        rs.getString("photo_path"),
+        rs.getString("remark"),
+        rs.getString("ai_json"),
+        SqliteTimestamps.toOffsetDateTime(rs.getObject("client_created_at")),
+        SqliteTimestamps.toOffsetDateTime(rs.getObject("created_at")),
+        rs.getString("source"),
+        rs.getString("client_record_id")
+    );
+  }
+
+  static IssueReportOut issueRow(ResultSet rs, int rowNum) throws SQLException {
+    return new IssueReportOut(
+        rs.getLong("id"),
+        rs.getLong("project_id"),
+        rs.getString("region_code"),
+        rs.getString("region_text"),
+        rs.getString("building_no"),
+        intOrNull(rs, "floor_no"),
+        rs.getString("zone"),
+        rs.getString("division"),
+        rs.getString("subdivision"),
+        rs.getString("item"),
+        rs.getString("indicator"),
+        rs.getString("library_id"),
+        rs.getString("description"),
+        rs.getString("severity"),
+        intOrNull(rs, "deadline_days"),
+        rs.getString("responsible_unit"),
+        rs.getString("responsible_person"),
+        rs.getString("status"),
+        rs.getString("photo_path"),
+        rs.getString("ai_json"),
+        SqliteTimestamps.toOffsetDateTime(rs.getObject("client_created_at")),
+        SqliteTimestamps.toOffsetDateTime(rs.getObject("created_at")),
+        rs.getString("source"),
+        rs.getString("client_record_id")
+    );
+  }
+
+  static RectificationActionOut actionRow(ResultSet rs, int rowNum) throws SQLException {
+    return new RectificationActionOut(
+        rs.getLong("id"),
+        rs.getLong("project_id"),
+        rs.getString("target_type"),
+        rs.getLong("target_id"),
+        rs.getString("action_type"),
+        rs.getString("content"),
+        rs.getString("photo_urls"),
+        rs.getString("actor_role"),
+        rs.getString("actor_name"),
+        SqliteTimestamps.toOffsetDateTime(rs.getObject("created_at"))
+    );
+  }
+
+  private static Map<String, Object> acceptanceMap(ResultSet rs, int rowNum) throws SQLException {
+    Map<String, Object> m = new HashMap<>();
+    m.put("id", rs.getLong("id"));
+    m.put("project_id", rs.getLong("project_id"));
+    m.put("region_code", rs.getString("region_code"));
+    m.put("region_text", rs.getString("region_text"));
+    m.put("building_no", rs.getString("building_no"));
+    m.put("floor_no", intOrNull(rs, "floor_no"));
+    m.put("zone", rs.getString("zone"));
+    m.put("division", rs.getString("division"));
+    m.put("subdivision", rs.getString("subdivision"));
+    m.put("item", rs.getString("item"));
+    m.put("item_code", rs.getString("item_code"));
+    m.put("indicator", rs.getString("indicator"));
+    m.put("indicator_code", rs.getString("indicator_code"));
+    m.put("result", rs.getString("result"));
+    m.put("photo_path", rs.getString("photo_path"));
+    m.put("remark", rs.getString("remark"));
+    m.put("ai_json", rs.getString("ai_json"));
+    m.put("client_created_at", SqliteTimestamps.toOffsetDateTime(rs.getObject("client_created_at")));
+    m.put("created_at", SqliteTimestamps.toOffsetDateTime(rs.getObject("created_at")));
+    m.put("source", rs.getString("source"));
+    m.put("client_record_id", rs.getString("client_record_id"));
+    return m;
+  }
+
+  private static Map<String, Object> issueMap(ResultSet rs, int rowNum) throws SQLException {
+    Map<String, Object> m = new HashMap<>();
+    m.put("id", rs.getLong("id"));
+    m.put("project_id", rs.getLong("project_id"));
+    m.put("region_code", rs.getString("region_code"));
+    m.put("region_text", rs.getString("region_text"));
+    m.put("building_no", rs.getString("building_no"));
+    m.put("floor_no", intOrNull(rs, "floor_no"));
+    m.put("zone", rs.getString("zone"));
+    m.put("division", rs.getString("division"));
+    m.put("subdivision", rs.getString("subdivision"));
+    m.put("item", rs.getString("item"));
+    m.put("indicator", rs.getString("indicator"));
+    m.put("library_id", rs.getString("library_id"));
+    m.put("description", rs.getString("description"));
+    m.put("severity", rs.getString("severity"));
+    m.put("deadline_days", intOrNull(rs, "deadline_days"));
+    m.put("responsible_unit", rs.getString("responsible_unit"));
+    m.put("responsible_person", rs.getString("responsible_person"));
+    m.put("status", rs.getString("status"));
+    m.put("photo_path", rs.getString("photo_path"));
+    m.put("ai_json", rs.getString("ai_json"));
+    m.put("client_created_at", SqliteTimestamps.toOffsetDateTime(rs.getObject("client_created_at")));
+    m.put("created_at", SqliteTimestamps.toOffsetDateTime(rs.getObject("created_at")));
+    m.put("source", rs.getString("source"));
+    m.put("client_record_id", rs.getString("client_record_id"));
+    return m;
+  }
+
+  static Integer intOrNull(ResultSet rs, String column) throws SQLException {
+    Object o = rs.getObject(column);
+    return o instanceof Number n ? n.intValue() : null;
+  }
+}
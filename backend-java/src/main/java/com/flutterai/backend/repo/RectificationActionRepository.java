@@ -8,5 +8,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import com.flutterai.backend.domain.RectificationActionEntity;
 
 public interface RectificationActionRepository extends JpaRepository<RectificationActionEntity, Long> {
-  List<RectificationActionEntity> findByTargetTypeAndTargetIdOrderByCreatedAtAsc(String targetType, Long targetId, Pageable pageable);
+  List<RectificationActionEntity> findByProjectIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long projectId, Long changeSeq, Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package com.flutterai.backend.repo;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.flutterai.backend.domain.RegionReparseJobEntity;
+
+public interface RegionReparseJobRepository extends JpaRepository<RegionReparseJobEntity, Long> {
+  List<RegionReparseJobEntity> findByStatusInOrderByIdAsc(Collection<String> statuses);
+
+  boolean existsByProjectIdAndStatusIn(Long projectId, Collection<String> statuses);
+}
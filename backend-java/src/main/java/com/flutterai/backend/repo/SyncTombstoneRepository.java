@@ -0,0 +1,12 @@
+package com.flutterai.backend.repo;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.flutterai.backend.domain.SyncTombstoneEntity;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstoneEntity, Long> {
+  List<SyncTombstoneEntity> findByProjectIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long projectId, Long changeSeq, Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package com.flutterai.backend.repo;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.flutterai.backend.domain.UploadSessionEntity;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSessionEntity, String> {
+  List<UploadSessionEntity> findByUpdatedAtBefore(OffsetDateTime cutoff);
+}
@@ -1,18 +1,24 @@
 package com.flutterai.backend.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.flutterai.backend.domain.AcceptanceRecordEntity;
 import com.flutterai.backend.domain.ProjectEntity;
 import com.flutterai.backend.dto.AcceptanceDtos.AcceptanceRecordIn;
+import com.flutterai.backend.dto.AcceptanceDtos.AcceptanceRecordOut;
 import com.flutterai.backend.dto.AcceptanceDtos.AcceptanceVerifyIn;
 import com.flutterai.backend.dto.ActionDtos.RectificationActionIn;
 import com.flutterai.backend.repo.AcceptanceRecordRepository;
+import com.flutterai.backend.repo.ReadPage;
+import com.flutterai.backend.repo.RecordReadRepository;
 import com.flutterai.backend.util.RegionParser;
 import com.flutterai.backend.util.RegionParser.ParsedRegion;
 import com.flutterai.backend.util.UploadRefNormalizer;
@@ -22,14 +28,17 @@ public class AcceptanceService {
   private static final Set<String> VALID_RESULTS = Set.of("qualified", "unqualified", "pending");
 
   private final AcceptanceRecordRepository acceptanceRepository;
+  private final RecordReadRepository readRepository;
   private final ProjectService projectService;
   private final ActionService actionService;
 
   public AcceptanceService(
       AcceptanceRecordRepository acceptanceRepository,
+      RecordReadRepository readRepository,
       ProjectService projectService,
       ActionService actionService) {
     this.acceptanceRepository = acceptanceRepository;
+    this.readRepository = readRepository;
     this.projectService = projectService;
     this.actionService = actionService;
   }
@@ -57,10 +66,57 @@ public class AcceptanceService {
     return acceptanceRepository.save(row);
   }
 
+  /**
+   * Bulk form of {@link #upsert} used by the importer: regions are parsed by the caller and
+   * existing client ids are resolved with one query for the whole batch.
+   */
+  @Transactional
+  public void upsertBatch(long projectId, List<AcceptanceRecordIn> payloads, List<ParsedRegion> parsed) {
+    Set<String> clientIds = new HashSet<>();
+    for (AcceptanceRecordIn p : payloads) {
+      if (p.clientRecordId() != null && !p.clientRecordId().isBlank()) {
+        clientIds.add(p.clientRecordId().trim());
+      }
+    }
+    Map<String, AcceptanceRecordEntity> byClientId = new HashMap<>();
+    if (!clientIds.isEmpty()) {
+      for (AcceptanceRecordEntity e : acceptanceRepository.findByProjectIdAndClientRecordIdIn(projectId, clientIds)) {
+        byClientId.putIfAbsent(e.getClientRecordId(), e);
+      }
+    }
+
+    List<AcceptanceRecordEntity> created = new ArrayList<>();
+    for (int i = 0; i < payloads.size(); i++) {
+      AcceptanceRecordIn p = payloads.get(i);
+      String clientId = p.clientRecordId() == null || p.clientRecordId().isBlank() ? null : p.clientRecordId().trim();
+      AcceptanceRecordEntity row = clientId == null ? null : byClientId.get(clientId);
+      if (row == null) {
+        row = new AcceptanceRecordEntity();
+        row.setProjectId(projectId);
+        created.add(row);
+        if (clientId != null) {
+          byClientId.put(clientId, row);
+        }
+      }
+      apply(row, p, parsed.get(i), UploadRefNormalizer.normalize(p.photoPath()));
+    }
+    acceptanceRepository.saveAll(created);
+  }
+
   @Transactional(readOnly = true)
-  public List<AcceptanceRecordEntity> list(long projectId, int limit) {
+  public ReadPage<AcceptanceRecordOut> list(long projectId, int limit, String cursor) {
     int safeLimit = Math.max(1, Math.min(limit <= 0 ? 100 : limit, 500));
-    return acceptanceRepository.findByProjectIdOrderByCreatedAtDesc(projectId, PageRequest.of(0, safeLimit));
+    return readRepository.acceptancePage(projectId, cursor, safeLimit);
+  }
+
+  @Transactional(readOnly = true)
+  public AcceptanceRecordOut getOut(long recordId) {
+    return readRepository.acceptanceById(recordId);
+  }
+
+  @Transactional(readOnly = true)
+  public boolean exists(long recordId) {
+    return acceptanceRepository.existsById(recordId);
   }
 
   @Transactional(readOnly = true)
@@ -124,6 +180,7 @@ public class AcceptanceService {
     row.setBuildingNo(parsed.buildingNo());
     row.setFloorNo(parsed.floorNo());
     row.setZone(parsed.zone());
+    row.setRegionParserVersion(RegionParser.VERSION);
 
     row.setDivision(payload.division());
     row.setSubdivision(payload.subdivision());
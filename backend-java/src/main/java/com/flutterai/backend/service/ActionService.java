@@ -2,7 +2,6 @@ package com.flutterai.backend.service;
 
 import java.util.List;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +9,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flutterai.backend.domain.RectificationActionEntity;
 import com.flutterai.backend.dto.ActionDtos.RectificationActionIn;
+import com.flutterai.backend.dto.ActionDtos.RectificationActionOut;
+import com.flutterai.backend.repo.ReadPage;
+import com.flutterai.backend.repo.RecordReadRepository;
 import com.flutterai.backend.repo.RectificationActionRepository;
 import com.flutterai.backend.util.UploadRefNormalizer;
 
@@ -19,10 +21,12 @@ public class ActionService {
   private static final List<String> VALID_ACTION_TYPES = List.of("rectify", "verify", "close", "comment");
 
   private final RectificationActionRepository actionRepository;
+  private final RecordReadRepository readRepository;
   private final ObjectMapper objectMapper;
 
-  public ActionService(RectificationActionRepository actionRepository, ObjectMapper objectMapper) {
+  public ActionService(RectificationActionRepository actionRepository, RecordReadRepository readRepository, ObjectMapper objectMapper) {
     this.actionRepository = actionRepository;
+    this.readRepository = readRepository;
     this.objectMapper = objectMapper;
   }
 
@@ -73,13 +77,9 @@ public class ActionService {
   }
 
   @Transactional(readOnly = true)
-  public List<RectificationActionEntity> listActions(String targetType, long targetId, int limit) {
+  public ReadPage<RectificationActionOut> listActions(String targetType, long targetId, int limit, String cursor) {
     int safeLimit = Math.max(1, Math.min(limit <= 0 ? 200 : limit, 500));
-    return actionRepository.findByTargetTypeAndTargetIdOrderByCreatedAtAsc(
-        targetType,
-        targetId,
-        PageRequest.of(0, safeLimit)
-    );
+    return readRepository.actionPage(targetType, targetId, cursor, safeLimit);
   }
 
   private static String trimOrNull(String s) {
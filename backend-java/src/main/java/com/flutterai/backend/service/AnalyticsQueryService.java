@@ -0,0 +1,340 @@
+package com.flutterai.backend.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.flutterai.backend.dto.AnalyticsDtos.AnalyticsColumn;
+import com.flutterai.backend.dto.AnalyticsDtos.AnalyticsQueryIn;
+import com.flutterai.backend.dto.AnalyticsDtos.AnalyticsQueryOut;
+import com.flutterai.backend.util.SqliteTimestamps;
+
+/**
+ * Declarative aggregations over one project's acceptance records or issues: the caller names
+ * dimensions to group by, measures and filters; the request is validated against a whitelist and
+ * compiled into a single parameterized statement.
+ *
+ * Compiled plans are cached by shape (source, dimensions, measures, sort, filter names and value
+ * counts), so a repeated question only binds new values. Only whitelisted expressions ever reach
+ * the SQL text. Dimensions double as filters and use the same normalization as the dashboards
+ * (blank units and severities become 未填写). Runs on the read-only pool.
+ */
+@Service
+public class AnalyticsQueryService {
+  public static final int DEFAULT_LIMIT = 1000;
+  public static final int MAX_LIMIT = 10000;
+
+  private static final int MAX_FILTER_VALUES = 500;
+  private static final int PLAN_CACHE_MAX_ENTRIES = 512;
+
+  // created_at is epoch millis (Hibernate) or naive UTC text (Python); both compared as millis.
+  private static final String CREATED_MS = SqliteTimestamps.millisSql("created_at");
+
+  private static final String STRING = "string";
+  private static final String INT = "int";
+
+  private static final String SLOT_NOW = "$now";
+  private static final String SLOT_PROJECT = "$project";
+  private static final String SLOT_LIMIT = "$limit";
+
+  private enum Source {
+    ACCEPTANCE("acceptance_records"),
+    ISSUES("issue_reports");
+
+    final String table;
+
+    Source(String table) {
+      this.table = table;
+    }
+  }
+
+  private record Field(String expr, String type, boolean bindsNow) {
+    Field(String expr, String type) {
+      this(expr, type, false);
+    }
+  }
+
+  private static final Field BUILDING = new Field("building_no", STRING);
+  private static final Field FLOOR = new Field("floor_no", INT);
+  private static final Field DAY = new Field("date(" + CREATED_MS + " / 1000, 'unixepoch')", STRING);
+  private static final Field COUNT = new Field("COUNT(*)", INT);
+
+  private static final Map<Source, Map<String, Field>> DIMENSIONS = Map.of(
+      Source.ACCEPTANCE, Map.of(
+          "building", BUILDING,
+          "floor", FLOOR,
+          "item_key", new Field("COALESCE(item_code, item, indicator_code, indicator)", STRING),
+          "result", new Field("result", STRING),
+          "day", DAY),
+      Source.ISSUES, Map.of(
+          "building", BUILDING,
+          "floor", FLOOR,
+          "unit", new Field("COALESCE(NULLIF(TRIM(responsible_unit), ''), '未填写')", STRING),
+          "severity", new Field("COALESCE(NULLIF(TRIM(severity), ''), '未填写')", STRING),
+          "status", new Field("status", STRING),
+          "day", DAY));
+
+  private static final Map<Source, Map<String, Field>> MEASURES = Map.of(
+      Source.ACCEPTANCE, Map.of(
+          "count", COUNT,
+          // Same precedence as the dashboards: unqualified > pending > qualified.
+          "worst_result", new Field("CASE MAX(CASE result WHEN 'unqualified' THEN 2 WHEN 'pending' THEN 1 ELSE 0 END) "
+              + "WHEN 2 THEN 'unqualified' WHEN 1 THEN 'pending' ELSE 'qualified' END", STRING)),
+      Source.ISSUES, Map.of(
+          "count", COUNT,
+          "open", new Field("SUM(CASE WHEN status = 'open' THEN 1 ELSE 0 END)", INT),
+          "overdue", new Field("SUM(CASE WHEN status = 'open' AND deadline_at < ? THEN 1 ELSE 0 END)", INT, true)));
+
+  private record Plan(String sql, List<String> slots, List<AnalyticsColumn> columns) {}
+
+  private final JdbcTemplate readOnlyJdbc;
+  private final ConcurrentHashMap<String, Plan> plans = new ConcurrentHashMap<>();
+
+  public AnalyticsQueryService(@Qualifier("readOnlyJdbcTemplate") JdbcTemplate readOnlyJdbc) {
+    this.readOnlyJdbc = readOnlyJdbc;
+  }
+
+  public AnalyticsQueryOut query(long projectId, AnalyticsQueryIn in) {
+    if (in == null) {
+      throw new IllegalArgumentException("query body is required");
+    }
+    Source source = parseSource(in.source());
+    Map<String, Field> dims = DIMENSIONS.get(source);
+    List<String> dimensions = names(in.dimensions(), dims, "dimension", List.of());
+    List<String> measures = names(in.measures(), MEASURES.get(source), "measure", List.of("count"));
+    TreeMap<String, List<Object>> filters = parseFilters(in.filters(), dims);
+
+    String sort = in.sort() == null || in.sort().isBlank() ? null : in.sort().trim();
+    if (sort != null && !measures.contains(sort)) {
+      throw new IllegalArgumentException("sort must be one of the requested measures: " + measures);
+    }
+    int limit = in.limit() == null ? DEFAULT_LIMIT : Math.max(1, Math.min(in.limit(), MAX_LIMIT));
+
+    StringBuilder key = new StringBuilder(source.name())
+        .append('|').append(dimensions).append('|').append(measures).append('|').append(sort);
+    filters.forEach((name, values) -> key.append('|').append(name).append(':').append(values.size()));
+    Plan plan = plans.get(key.toString());
+    if (plan == null) {
+      plan = compile(source, dimensions, measures, filters, sort);
+      if (plans.size() >= PLAN_CACHE_MAX_ENTRIES) {
+        // Shapes come from a handful of app screens; this only trips on generated variety.
+        plans.clear();
+      }
+      plans.putIfAbsent(key.toString(), plan);
+    }
+
+    long now = Instant.now().toEpochMilli();
+    List<Object> args = new ArrayList<>();
+    for (String slot : plan.slots()) {
+      switch (slot) {
+        case SLOT_NOW -> args.add(now);
+        case SLOT_PROJECT -> args.add(projectId);
+        // One extra row tells whether the result was cut off.
+        case SLOT_LIMIT -> args.add(limit + 1);
+        default -> args.addAll(filters.get(slot));
+      }
+    }
+
+    List<AnalyticsColumn> columns = plan.columns();
+    List<Object[]> rows = readOnlyJdbc.query(plan.sql(), (rs, i) -> row(rs, columns), args.toArray());
+    boolean truncated = rows.size() > limit;
+    if (truncated) {
+      rows = rows.subList(0, limit);
+    }
+    return new AnalyticsQueryOut(columns, rows, truncated);
+  }
+
+  private static Plan compile(
+      Source source,
+      List<String> dimensions,
+      List<String> measures,
+      TreeMap<String, List<Object>> filters,
+      String sort) {
+
+    Map<String, Field> dims = DIMENSIONS.get(source);
+    Map<String, Field> meas = MEASURES.get(source);
+    List<String> slots = new ArrayList<>();
+    List<AnalyticsColumn> columns = new ArrayList<>();
+
+    StringBuilder sql = new StringBuilder("SELECT ");
+    for (String d : dimensions) {
+      Field f = dims.get(d);
+      sql.append(f.expr()).append(", ");
+      columns.add(new AnalyticsColumn(d, f.type()));
+    }
+    for (String m : measures) {
+      Field f = meas.get(m);
+      sql.append(f.expr()).append(", ");
+      columns.add(new AnalyticsColumn(m, f.type()));
+      if (f.bindsNow()) {
+        slots.add(SLOT_NOW);
+      }
+    }
+    sql.setLength(sql.length() - 2);
+
+    sql.append(" FROM ").append(source.table).append(" WHERE project_id = ?");
+    slots.add(SLOT_PROJECT);
+    filters.forEach((name, values) -> {
+      if ("since".equals(name)) {
+        sql.append(" AND ").append(CREATED_MS).append(" >= ?");
+      } else if ("until".equals(name)) {
+        sql.append(" AND ").append(CREATED_MS).append(" < ?");
+      } else if (values.isEmpty()) {
+        sql.append(" AND ").append(dims.get(name).expr()).append(" IS NULL");
+      } else if (values.size() == 1) {
+        sql.append(" AND ").append(dims.get(name).expr()).append(" = ?");
+      } else {
+        sql.append(" AND ").append(dims.get(name).expr()).append(" IN (")
+            .append("?, ".repeat(values.size() - 1)).append("?)");
+      }
+      slots.add(name);
+    });
+
+    // Positions rather than aliases: several aliases would shadow real columns.
+    List<String> order = new ArrayList<>();
+    if (sort != null) {
+      order.add((dimensions.size() + measures.indexOf(sort) + 1) + " DESC");
+    }
+    List<String> groupBy = new ArrayList<>();
+    for (int i = 1; i <= dimensions.size(); i++) {
+      groupBy.add(Integer.toString(i));
+      order.add(Integer.toString(i));
+    }
+    if (!groupBy.isEmpty()) {
+      sql.append(" GROUP BY ").append(String.join(", ", groupBy));
+    }
+    if (!order.isEmpty()) {
+      sql.append(" ORDER BY ").append(String.join(", ", order));
+    }
+    sql.append(" LIMIT ?");
+    slots.add(SLOT_LIMIT);
+
+    return new Plan(sql.toString(), List.copyOf(slots), List.copyOf(columns));
+  }
+
+  private static Object[] row(ResultSet rs, List<AnalyticsColumn> columns) throws SQLException {
+    Object[] out = new Object[columns.size()];
+    for (int i = 0; i < out.length; i++) {
+      if (INT.equals(columns.get(i).type())) {
+        long v = rs.getLong(i + 1);
+        out[i] = rs.wasNull() ? null : v;
+      } else {
+        out[i] = rs.getString(i + 1);
+      }
+    }
+    return out;
+  }
+
+  private static Source parseSource(String raw) {
+    String s = raw == null ? "" : raw.trim().toLowerCase();
+    return switch (s) {
+      case "acceptance" -> Source.ACCEPTANCE;
+      case "issues" -> Source.ISSUES;
+      default -> throw new IllegalArgumentException("source must be acceptance or issues");
+    };
+  }
+
+  private static List<String> names(List<String> raw, Map<String, Field> allowed, String what, List<String> def) {
+    if (raw == null || raw.isEmpty()) {
+      return def;
+    }
+    List<String> out = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    for (String r : raw) {
+      String n = r == null ? "" : r.trim().toLowerCase();
+      if (!allowed.containsKey(n)) {
+        throw new IllegalArgumentException("unknown " + what + " '" + r + "', expected one of " + new TreeMap<>(allowed).keySet());
+      }
+      if (!seen.add(n)) {
+        throw new IllegalArgumentException("duplicate " + what + " '" + n + "'");
+      }
+      out.add(n);
+    }
+    return out;
+  }
+
+  // Sorted by name so equal filter sets share a plan regardless of JSON key order.
+  private static TreeMap<String, List<Object>> parseFilters(Map<String, Object> raw, Map<String, Field> dims) {
+    TreeMap<String, List<Object>> out = new TreeMap<>();
+    if (raw == null) {
+      return out;
+    }
+    for (Map.Entry<String, Object> e : raw.entrySet()) {
+      String name = e.getKey() == null ? "" : e.getKey().trim().toLowerCase();
+      Object v = e.getValue();
+      if ("since".equals(name) || "until".equals(name)) {
+        out.put(name, List.of(epochMillis(name, v)));
+        continue;
+      }
+      Field f = dims.get(name);
+      if (f == null) {
+        throw new IllegalArgumentException("unknown filter '" + e.getKey() + "', expected since, until or one of "
+            + new TreeMap<>(dims).keySet());
+      }
+      List<Object> values = new ArrayList<>();
+      if (v instanceof Collection<?> c) {
+        if (c.isEmpty() || c.size() > MAX_FILTER_VALUES) {
+          throw new IllegalArgumentException("filter '" + name + "' needs 1.." + MAX_FILTER_VALUES + " values");
+        }
+        for (Object x : c) {
+          if (x == null) {
+            throw new IllegalArgumentException("filter '" + name + "' list cannot contain null");
+          }
+          values.add(coerce(name, f, x));
+        }
+      } else if (v != null) {
+        values.add(coerce(name, f, v));
+      }
+      // An empty list stands for IS NULL.
+      out.put(name, values);
+    }
+    return out;
+  }
+
+  private static Object coerce(String name, Field f, Object v) {
+    if (!INT.equals(f.type())) {
+      return v.toString().trim();
+    }
+    if (v instanceof Number n) {
+      return n.longValue();
+    }
+    try {
+      return Long.parseLong(v.toString().trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("filter '" + name + "' must be an integer");
+    }
+  }
+
+  private static long epochMillis(String name, Object v) {
+    if (v instanceof Number n) {
+      return n.longValue();
+    }
+    String s = v == null ? "" : v.toString().trim();
+    if (s.length() == 10) {
+      try {
+        return LocalDate.parse(s).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+      } catch (RuntimeException ignored) {
+        // fall through
+      }
+    }
+    Instant i = SqliteTimestamps.toInstant(s);
+    if (i == null) {
+      throw new IllegalArgumentException("filter '" + name + "' must be a date, timestamp or epoch millis");
+    }
+    return i.toEpochMilli();
+  }
+}
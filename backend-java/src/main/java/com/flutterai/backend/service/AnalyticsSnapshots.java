@@ -0,0 +1,470 @@
+package com.flutterai.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Optional columnar copy of each active project's acceptance records and issues for analytics.
+ *
+ * Every column is a primitive array: ids and floors as-is; building, item key, status, severity
+ * and responsible unit as dictionary codes (0 = NULL). Only columns some aggregation reads are
+ * kept. Aggregations are loops over those arrays and are split across cores once a table passes
+ * {@code parallel-threshold} rows. A snapshot is loaded on first use and caught up from
+ * change_seq before each query, the same way {@link LocationIndex} is. Updated rows are rewritten
+ * in place, deleted rows are masked and compacted away later. Snapshots are least-recently-used
+ * evicted once their estimated footprint passes {@code max-bytes}.
+ *
+ * Disabled by default; callers fall back to SQL when {@link #query} returns null.
+ */
+@Service
+public class AnalyticsSnapshots {
+  public static final int QUALIFIED = 0;
+  public static final int PENDING = 1;
+  public static final int UNQUALIFIED = 2;
+
+  public static final int NO_INT = Integer.MIN_VALUE;
+
+  // Acceptance int columns
+  static final int A_BUILDING = 0;
+  static final int A_FLOOR = 1;
+  static final int A_ITEM = 2;
+  static final int A_RESULT = 3;
+  // Issue int columns
+  static final int I_BUILDING = 0;
+  static final int I_FLOOR = 1;
+  static final int I_STATUS = 2;
+  static final int I_SEVERITY = 3;
+  static final int I_UNIT = 4;
+
+  private static final String ACCEPTANCE_SELECT = "SELECT id, building_no, floor_no, "
+      + "COALESCE(item_code, item, indicator_code, indicator), result FROM acceptance_records ";
+  private static final String ISSUE_SELECT = "SELECT id, building_no, floor_no, status, severity, "
+      + "responsible_unit FROM issue_reports ";
+
+  private static final int CHUNK_ROWS = 1 << 16;
+
+  private final JdbcTemplate readOnlyJdbc;
+  // Access-ordered: iteration starts at the least recently queried project.
+  private final LinkedHashMap<Long, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+
+  @Value("${app.analytics.columnar.enabled:false}")
+  private boolean enabled;
+
+  @Value("${app.analytics.columnar.max-bytes:268435456}")
+  private long maxBytes;
+
+  @Value("${app.analytics.columnar.parallel-threshold:200000}")
+  private int parallelThreshold;
+
+  public AnalyticsSnapshots(@Qualifier("readOnlyJdbcTemplate") JdbcTemplate readOnlyJdbc) {
+    this.readOnlyJdbc = readOnlyJdbc;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Runs {@code fn} against the project's up-to-date snapshot; null when the engine is disabled.
+   */
+  public <T> T query(long projectId, Function<Snapshot, T> fn) {
+    if (!enabled) {
+      return null;
+    }
+    Snapshot s;
+    synchronized (snapshots) {
+      s = snapshots.computeIfAbsent(projectId, Snapshot::new);
+    }
+    s.refresh();
+    s.lock.readLock().lock();
+    try {
+      return fn.apply(s);
+    } finally {
+      s.lock.readLock().unlock();
+      evictOverBudget(s);
+    }
+  }
+
+  /**
+   * Loaded snapshots with row counts and estimated heap use, most recently used last.
+   */
+  public Map<String, Object> stats() {
+    List<Map<String, Object>> projects = new ArrayList<>();
+    long total = 0;
+    synchronized (snapshots) {
+      for (Snapshot s : snapshots.values()) {
+        long bytes = s.bytes;
+        total += bytes;
+        Map<String, Object> p = new LinkedHashMap<>();
+        p.put("project_id", s.projectId);
+        p.put("acceptance_rows", s.acceptanceRows);
+        p.put("issue_rows", s.issueRows);
+        p.put("bytes", bytes);
+        p.put("change_seq", s.seq);
+        projects.add(p);
+      }
+    }
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("enabled", enabled);
+    out.put("max_bytes", maxBytes);
+    out.put("total_bytes", total);
+    out.put("projects", projects);
+    return out;
+  }
+
+  private void evictOverBudget(Snapshot current) {
+    synchronized (snapshots) {
+      long total = 0;
+      for (Snapshot s : snapshots.values()) {
+        total += s.bytes;
+      }
+      Iterator<Snapshot> it = snapshots.values().iterator();
+      while (total > maxBytes && it.hasNext()) {
+        Snapshot s = it.next();
+        if (s == current) {
+          continue;
+        }
+        total -= s.bytes;
+        it.remove();
+      }
+    }
+  }
+
+  // ---- snapshot ----
+
+  public final class Snapshot {
+    final long projectId;
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    final Dict buildings = new Dict();
+    final Dict items = new Dict();
+    final Dict statuses = new Dict();
+    final Dict severities = new Dict();
+    final Dict units = new Dict();
+    final Table acceptance = new Table(4);
+    final Table issues = new Table(5);
+    volatile long seq = -1;
+    volatile long bytes;
+    volatile int acceptanceRows;
+    volatile int issueRows;
+
+    Snapshot(long projectId) {
+      this.projectId = projectId;
+    }
+
+    /**
+     * Distinct items (dashboard item key) under their worst result: {qualified, pending, unqualified}.
+     * Null building / floor mean no filter; an unknown building matches nothing.
+     */
+    public int[] itemsByWorstResult(String building, Integer floor) {
+      int b = building == null ? -1 : buildings.find(building);
+      int[] out = new int[3];
+      if (b == 0) {
+        return out;
+      }
+      int[] bCol = acceptance.cols[A_BUILDING];
+      int[] fCol = acceptance.cols[A_FLOOR];
+      int[] iCol = acceptance.cols[A_ITEM];
+      int[] rCol = acceptance.cols[A_RESULT];
+      BitSet dead = acceptance.dead;
+      int f = floor == null ? 0 : floor;
+      boolean byFloor = floor != null;
+      // worst[item code] = 1 + worst result seen in scope, 0 = not seen
+      int width = items.size();
+      byte[] worst = reduce(acceptance.size, () -> new byte[width], (from, to, w) -> {
+        for (int r = from; r < to; r++) {
+          if ((b > 0 && bCol[r] != b) || (byFloor && fCol[r] != f) || dead.get(r)) {
+            continue;
+          }
+          int v = rCol[r] + 1;
+          if (v > w[iCol[r]]) {
+            w[iCol[r]] = (byte) v;
+          }
+        }
+      }, (p, q) -> {
+        for (int i = 0; i < p.length; i++) {
+          p[i] = (byte) Math.max(p[i], q[i]);
+        }
+        return p;
+      });
+      for (byte w : worst) {
+        if (w > 0) {
+          out[w - 1]++;
+        }
+      }
+      return out;
+    }
+
+    /**
+     * Issue counts grouped by the raw value of {@code dimension} (NULL as a null key). Filters
+     * compare raw column values like SQL {@code =}; null means no filter.
+     */
+    public Map<String, Integer> issuesBy(IssueDimension dimension, String building, Integer floor, String unit,
+        String status) {
+      int b = building == null ? -1 : buildings.find(building);
+      int u = unit == null ? -1 : units.find(unit);
+      int s = status == null ? -1 : statuses.find(status);
+      if (b == 0 || u == 0 || s == 0) {
+        return new HashMap<>();
+      }
+      int[] bCol = issues.cols[I_BUILDING];
+      int[] fCol = issues.cols[I_FLOOR];
+      int[] uCol = issues.cols[I_UNIT];
+      int[] sCol = issues.cols[I_STATUS];
+      Dict dict = switch (dimension) {
+        case STATUS -> statuses;
+        case SEVERITY -> severities;
+        case UNIT -> units;
+      };
+      int[] gCol = issues.cols[switch (dimension) {
+        case STATUS -> I_STATUS;
+        case SEVERITY -> I_SEVERITY;
+        case UNIT -> I_UNIT;
+      }];
+      BitSet dead = issues.dead;
+      int f = floor == null ? 0 : floor;
+      boolean byFloor = floor != null;
+      int width = dict.size();
+      int[] counts = reduce(issues.size, () -> new int[width], (from, to, c) -> {
+        for (int r = from; r < to; r++) {
+          if ((b > 0 && bCol[r] != b) || (byFloor && fCol[r] != f) || (u > 0 && uCol[r] != u)
+              || (s > 0 && sCol[r] != s) || dead.get(r)) {
+            continue;
+          }
+          c[gCol[r]]++;
+        }
+      }, (p, q) -> {
+        for (int i = 0; i < p.length; i++) {
+          p[i] += q[i];
+        }
+        return p;
+      });
+      Map<String, Integer> out = new HashMap<>();
+      for (int code = 0; code < counts.length; code++) {
+        if (counts[code] > 0) {
+          out.put(dict.value(code), counts[code]);
+        }
+      }
+      return out;
+    }
+
+    // ---- maintenance ----
+
+    void refresh() {
+      long clock = currentSeq();
+      if (clock == seq) {
+        return;
+      }
+      lock.writeLock().lock();
+      try {
+        if (clock == seq) {
+          return;
+        }
+        // Tombstones before rows: a row that exists now was (re)inserted after any tombstone for its id.
+        if (seq >= 0) {
+          readOnlyJdbc.query(
+              "SELECT entity_type, entity_id FROM sync_tombstones "
+                  + "WHERE project_id = ? AND change_seq > ? AND entity_type IN ('acceptance', 'issue')",
+              rs -> {
+                ("acceptance".equals(rs.getString(1)) ? acceptance : issues).delete(rs.getLong(2));
+              },
+              projectId, seq);
+        }
+        String filter = seq < 0 ? "WHERE project_id = ?" : "WHERE project_id = ? AND change_seq > ?";
+        Object[] args = seq < 0 ? new Object[] {projectId} : new Object[] {projectId, seq};
+        readOnlyJdbc.query(ACCEPTANCE_SELECT + filter, rs -> {
+          int r = acceptance.upsert(rs.getLong(1));
+          acceptance.cols[A_BUILDING][r] = buildings.code(rs.getString(2));
+          acceptance.cols[A_FLOOR][r] = floorOf(rs.getObject(3));
+          acceptance.cols[A_ITEM][r] = items.code(rs.getString(4));
+          String result = rs.getString(5);
+          acceptance.cols[A_RESULT][r] =
+              "unqualified".equals(result) ? UNQUALIFIED : "pending".equals(result) ? PENDING : QUALIFIED;
+        }, args);
+        readOnlyJdbc.query(ISSUE_SELECT + filter, rs -> {
+          int r = issues.upsert(rs.getLong(1));
+          issues.cols[I_BUILDING][r] = buildings.code(rs.getString(2));
+          issues.cols[I_FLOOR][r] = floorOf(rs.getObject(3));
+          issues.cols[I_STATUS][r] = statuses.code(rs.getString(4));
+          issues.cols[I_SEVERITY][r] = severities.code(rs.getString(5));
+          issues.cols[I_UNIT][r] = units.code(rs.getString(6));
+        }, args);
+        acceptance.compactIfSparse();
+        issues.compactIfSparse();
+        bytes = acceptance.bytes() + issues.bytes() + buildings.bytes() + items.bytes() + statuses.bytes()
+            + severities.bytes() + units.bytes();
+        acceptanceRows = acceptance.live();
+        issueRows = issues.live();
+        seq = clock;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  public enum IssueDimension { STATUS, SEVERITY, UNIT }
+
+  private interface RangeScan<A> {
+    void scan(int from, int to, A acc);
+  }
+
+  /**
+   * Runs {@code scan} over [0, rows) into a fresh accumulator, in 64k-row chunks across the
+   * common fork-join pool when the table is large enough to pay for it.
+   */
+  private <A> A reduce(int rows, Supplier<A> fresh, RangeScan<A> scan, BinaryOperator<A> merge) {
+    if (rows < parallelThreshold) {
+      A acc = fresh.get();
+      scan.scan(0, rows, acc);
+      return acc;
+    }
+    int chunks = (rows + CHUNK_ROWS - 1) / CHUNK_ROWS;
+    return IntStream.range(0, chunks).parallel()
+        .mapToObj(c -> {
+          A acc = fresh.get();
+          scan.scan(c * CHUNK_ROWS, Math.min(rows, (c + 1) * CHUNK_ROWS), acc);
+          return acc;
+        })
+        .reduce(merge)
+        .orElseGet(fresh);
+  }
+
+  private long currentSeq() {
+    Long seq = readOnlyJdbc.queryForObject("SELECT seq FROM sync_clock WHERE id = 1", Long.class);
+    return seq == null ? 0 : seq;
+  }
+
+  private static int floorOf(Object raw) {
+    return raw instanceof Number n ? n.intValue() : NO_INT;
+  }
+
+  // ---- storage ----
+
+  /**
+   * Append-only string dictionary; code 0 is NULL.
+   */
+  static final class Dict {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>(List.of(""));
+    private long chars;
+
+    int code(String v) {
+      if (v == null) {
+        return 0;
+      }
+      Integer c = codes.get(v);
+      if (c == null) {
+        c = values.size();
+        codes.put(v, c);
+        values.add(v);
+        chars += v.length();
+      }
+      return c;
+    }
+
+    // 0 if the value never occurs (so it matches nothing).
+    int find(String v) {
+      Integer c = codes.get(v);
+      return c == null ? 0 : c;
+    }
+
+    String value(int code) {
+      return code == 0 ? null : values.get(code);
+    }
+
+    int size() {
+      return values.size();
+    }
+
+    long bytes() {
+      // String header + array + map entry, roughly.
+      return values.size() * 96L + chars * 2;
+    }
+  }
+
+  /**
+   * Rows of one entity type in id-addressable slots; deletes only mark the slot until compaction.
+   */
+  static final class Table {
+    long[] ids = new long[64];
+    final int[][] cols;
+    BitSet dead = new BitSet();
+    int size;
+    private final Map<Long, Integer> rowOf = new HashMap<>();
+
+    Table(int intColumns) {
+      cols = new int[intColumns][64];
+    }
+
+    int live() {
+      return rowOf.size();
+    }
+
+    int upsert(long id) {
+      Integer r = rowOf.get(id);
+      if (r != null) {
+        return r;
+      }
+      if (size == ids.length) {
+        int cap = size * 2;
+        ids = Arrays.copyOf(ids, cap);
+        for (int c = 0; c < cols.length; c++) {
+          cols[c] = Arrays.copyOf(cols[c], cap);
+        }
+      }
+      ids[size] = id;
+      rowOf.put(id, size);
+      return size++;
+    }
+
+    void delete(long id) {
+      Integer r = rowOf.remove(id);
+      if (r != null) {
+        dead.set(r);
+      }
+    }
+
+    void compactIfSparse() {
+      int deadRows = size - rowOf.size();
+      if (deadRows == 0 || deadRows < size / 4) {
+        return;
+      }
+      int w = 0;
+      for (int r = 0; r < size; r++) {
+        if (dead.get(r)) {
+          continue;
+        }
+        if (w != r) {
+          ids[w] = ids[r];
+          for (int[] col : cols) {
+            col[w] = col[r];
+          }
+          rowOf.put(ids[w], w);
+        }
+        w++;
+      }
+      size = w;
+      dead = new BitSet();
+    }
+
+    long bytes() {
+      // arrays at capacity + boxed id map entries (~64 bytes each)
+      return (long) ids.length * (8 + 4L * cols.length) + rowOf.size() * 64L + dead.size() / 8;
+    }
+  }
+}
@@ -4,8 +4,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,16 +23,22 @@ public class ChatService {
   private final ProjectService projectService;
   private final DashboardService dashboardService;
   private final DoubaoChatClient doubaoChatClient;
+  private final LocationIndex locationIndex;
+  private final AnalyticsSnapshots analytics;
 
   public ChatService(
       EntityManager entityManager,
       ProjectService projectService,
       DashboardService dashboardService,
-      DoubaoChatClient doubaoChatClient) {
+      DoubaoChatClient doubaoChatClient,
+      LocationIndex locationIndex,
+      AnalyticsSnapshots analytics) {
     this.entityManager = entityManager;
     this.projectService = projectService;
     this.dashboardService = dashboardService;
     this.doubaoChatClient = doubaoChatClient;
+    this.locationIndex = locationIndex;
+    this.analytics = analytics;
   }
 
   @Transactional
@@ -658,14 +666,17 @@ public class ChatService {
     int t = topN <= 0 ? 5 : topN;
     int s = samplePerCat <= 0 ? 1 : samplePerCat;
 
-    String sql = "SELECT id, region_text, building_no, division, subdivision, item, indicator, description, status, severity, responsible_unit, floor_no "
+    // Streamed over a forward-only cursor: exact totals at any size, memory bounded by the
+    // number of categories. Samples are a fixed-size reservoir per category, seeded by project
+    // so repeated questions show the same examples.
+    String sql = "SELECT region_text, building_no, division, subdivision, item, indicator, description, status, severity "
         + "FROM issue_reports WHERE project_id=:pid "
         + (building != null ? "AND building_no=:b " : "")
         + (floor != null ? "AND floor_no=:f " : "")
-        + (responsibleUnit != null ? "AND responsible_unit=:ru " : "")
-        + "ORDER BY created_at DESC LIMIT 5000";
+        + (responsibleUnit != null ? "AND responsible_unit=:ru " : "");
 
     Query q = entityManager.createNativeQuery(sql);
+    q.setHint("org.hibernate.fetchSize", 500);
     q.setParameter("pid", projectId);
     if (building != null) {
       q.setParameter("b", building);
@@ -677,52 +688,59 @@ public class ChatService {
       q.setParameter("ru", responsibleUnit);
     }
 
-    List<?> rows = q.getResultList();
     Map<String, Map<String, Object>> buckets = new HashMap<>();
-    for (Object r : rows) {
-      Object[] row = (Object[]) r;
-      String regionText = asStr(row[1], "");
-      String buildingNo = asStr(row[2], "");
-      String division = asStr(row[3], "");
-      String subdivision = asStr(row[4], "");
-      String item = asStr(row[5], "");
-      String indicator = asStr(row[6], "");
-      String desc = asStr(row[7], "");
-      String status = asStr(row[8], "open");
-      String severity = asStr(row[9], "-");
-
-      String key = categoryKeyForIssue(indicator, item, subdivision, division);
-      Map<String, Object> b = buckets.computeIfAbsent(key, k -> {
-        Map<String, Object> m = new HashMap<>();
-        m.put("category", k);
-        m.put("total", 0);
-        m.put("open", 0);
-        m.put("severe", 0);
-        m.put("samples", new ArrayList<Map<String, Object>>());
-        return m;
-      });
-
-      b.put("total", toInt(b.get("total")) + 1);
-      if ("open".equals(status.trim().toLowerCase())) {
-        b.put("open", toInt(b.get("open")) + 1);
-      }
-      if ("severe".equals(DashboardService.normalizeSeverityKey(severity))) {
-        b.put("severe", toInt(b.get("severe")) + 1);
-      }
+    Random random = new Random(projectId);
+    try (Stream<?> rows = q.getResultStream()) {
+      rows.forEach(r -> {
+        Object[] row = (Object[]) r;
+        String regionText = asStr(row[0], "");
+        String buildingNo = asStr(row[1], "");
+        String division = asStr(row[2], "");
+        String subdivision = asStr(row[3], "");
+        String item = asStr(row[4], "");
+        String indicator = asStr(row[5], "");
+        String desc = asStr(row[6], "");
+        String status = asStr(row[7], "open");
+        String severity = asStr(row[8], "-");
+
+        String key = categoryKeyForIssue(indicator, item, subdivision, division);
+        Map<String, Object> b = buckets.computeIfAbsent(key, k -> {
+          Map<String, Object> m = new HashMap<>();
+          m.put("category", k);
+          m.put("total", 0);
+          m.put("open", 0);
+          m.put("severe", 0);
+          m.put("samples", new ArrayList<Map<String, Object>>());
+          return m;
+        });
+
+        int total = toInt(b.get("total")) + 1;
+        b.put("total", total);
+        if ("open".equals(status.trim().toLowerCase())) {
+          b.put("open", toInt(b.get("open")) + 1);
+        }
+        if ("severe".equals(DashboardService.normalizeSeverityKey(severity))) {
+          b.put("severe", toInt(b.get("severe")) + 1);
+        }
 
-      @SuppressWarnings("unchecked")
-      List<Map<String, Object>> samples = (List<Map<String, Object>>) b.get("samples");
-      if (samples.size() < s) {
-        String where = !regionText.trim().isEmpty() ? regionText.trim() : (!buildingNo.trim().isEmpty() ? buildingNo.trim() : "-");
-        samples.add(
-            Map.of(
-                "where", where,
-                "desc", shortText(desc, 26),
-                "status", status.trim().isEmpty() ? "open" : status.trim(),
-                "severity", severity.trim().isEmpty() ? "-" : severity.trim()
-            )
-        );
-      }
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> samples = (List<Map<String, Object>>) b.get("samples");
+        int slot = samples.size() < s ? samples.size() : random.nextInt(total);
+        if (slot < s) {
+          String where = !regionText.trim().isEmpty() ? regionText.trim() : (!buildingNo.trim().isEmpty() ? buildingNo.trim() : "-");
+          Map<String, Object> sample = Map.of(
+              "where", where,
+              "desc", shortText(desc, 26),
+              "status", status.trim().isEmpty() ? "open" : status.trim(),
+              "severity", severity.trim().isEmpty() ? "-" : severity.trim()
+          );
+          if (slot == samples.size()) {
+            samples.add(sample);
+          } else {
+            samples.set(slot, sample);
+          }
+        }
+      });
     }
 
     List<Map<String, Object>> cats = new ArrayList<>(buckets.values());
@@ -744,6 +762,15 @@ public class ChatService {
   }
 
   private Map<String, Integer> acceptanceItemCounts(long projectId, String building, Integer floor) {
+    int[] worst = analytics.query(projectId, s -> s.itemsByWorstResult(building, floor));
+    if (worst != null) {
+      Map<String, Integer> out = new HashMap<>();
+      out.put("qualified", worst[AnalyticsSnapshots.QUALIFIED]);
+      out.put("unqualified", worst[AnalyticsSnapshots.UNQUALIFIED]);
+      out.put("pending", worst[AnalyticsSnapshots.PENDING]);
+      return out;
+    }
+
     String itemExpr = "COALESCE(item_code, item, indicator_code, indicator)";
     String sql = "SELECT " + itemExpr + " AS item_key, "
         + "MAX(CASE WHEN result='unqualified' THEN 1 ELSE 0 END) AS has_unq, "
@@ -784,28 +811,34 @@ public class ChatService {
   }
 
   private Map<String, Integer> issueCounts(long projectId, String building, Integer floor, String responsibleUnit) {
-    String sql = "SELECT status, COUNT(id) FROM issue_reports WHERE project_id=:pid "
-        + (building != null ? "AND building_no=:b " : "")
-        + (floor != null ? "AND floor_no=:f " : "")
-        + (responsibleUnit != null ? "AND responsible_unit=:ru " : "")
-        + "GROUP BY status";
-    Query q = entityManager.createNativeQuery(sql);
-    q.setParameter("pid", projectId);
-    if (building != null) {
-      q.setParameter("b", building);
-    }
-    if (floor != null) {
-      q.setParameter("f", floor);
-    }
-    if (responsibleUnit != null) {
-      q.setParameter("ru", responsibleUnit);
-    }
-    List<?> rows = q.getResultList();
+    Map<String, Integer> byStatus = analytics.query(projectId,
+        s -> s.issuesBy(AnalyticsSnapshots.IssueDimension.STATUS, building, floor, responsibleUnit, null));
     Map<String, Integer> m = new HashMap<>();
-    for (Object r : rows) {
-      Object[] row = (Object[]) r;
-      String s = asStr(row[0], "").trim().toLowerCase();
-      m.put(s, toInt(row[1]));
+    if (byStatus != null) {
+      byStatus.forEach((status, n) -> m.merge(asStr(status, "").trim().toLowerCase(), n, Integer::sum));
+    } else {
+      String sql = "SELECT status, COUNT(id) FROM issue_reports WHERE project_id=:pid "
+          + (building != null ? "AND building_no=:b " : "")
+          + (floor != null ? "AND floor_no=:f " : "")
+          + (responsibleUnit != null ? "AND responsible_unit=:ru " : "")
+          + "GROUP BY status";
+      Query q = entityManager.createNativeQuery(sql);
+      q.setParameter("pid", projectId);
+      if (building != null) {
+        q.setParameter("b", building);
+      }
+      if (floor != null) {
+        q.setParameter("f", floor);
+      }
+      if (responsibleUnit != null) {
+        q.setParameter("ru", responsibleUnit);
+      }
+      List<?> rows = q.getResultList();
+      for (Object r : rows) {
+        Object[] row = (Object[]) r;
+        String s = asStr(row[0], "").trim().toLowerCase();
+        m.merge(s, toInt(row[1]), Integer::sum);
+      }
     }
     int open = m.getOrDefault("open", 0);
     int closed = m.getOrDefault("closed", 0);
@@ -816,146 +849,39 @@ public class ChatService {
     return out;
   }
 
-  private List<Map<String, Object>> byFloorFacts(long projectId, String building) {
-    String itemExpr = "COALESCE(item_code, item, indicator_code, indicator)";
-    String aSql = "SELECT floor_no, " + itemExpr + " AS item_key, "
-        + "MAX(CASE WHEN result='unqualified' THEN 1 ELSE 0 END) AS has_unq, "
-        + "MAX(CASE WHEN result='pending' THEN 1 ELSE 0 END) AS has_pen "
-        + "FROM acceptance_records WHERE project_id=:pid AND building_no=:b "
-        + "GROUP BY floor_no, item_key";
-
-    Query aq = entityManager.createNativeQuery(aSql);
-    aq.setParameter("pid", projectId);
-    aq.setParameter("b", building);
-    List<?> aRows = aq.getResultList();
+  private static final List<String> LOCATION_FACT_KEYS = List.of(
+      "acceptance_total", "acceptance_qualified", "acceptance_unqualified", "acceptance_pending",
+      "issues_total", "issues_open", "issues_closed");
 
-    Map<Integer, Map<String, Object>> byF = new HashMap<>();
-    for (Object r : aRows) {
-      Object[] row = (Object[]) r;
-      int fkey = toInt(row[0]);
-      if (fkey == 0) {
-        continue;
-      }
-      Map<String, Object> d = byF.computeIfAbsent(fkey, k -> baseFloor(k));
-      d.put("acceptance_total", toInt(d.get("acceptance_total")) + 1);
-      int hasUnq = toInt(row[2]);
-      int hasPen = toInt(row[3]);
-      if (hasUnq > 0) {
-        d.put("acceptance_unqualified", toInt(d.get("acceptance_unqualified")) + 1);
-      } else if (hasPen > 0) {
-        d.put("acceptance_pending", toInt(d.get("acceptance_pending")) + 1);
-      } else {
-        d.put("acceptance_qualified", toInt(d.get("acceptance_qualified")) + 1);
-      }
-    }
-
-    String iSql = "SELECT floor_no, status, COUNT(id) FROM issue_reports WHERE project_id=:pid AND building_no=:b GROUP BY floor_no, status";
-    Query iq = entityManager.createNativeQuery(iSql);
-    iq.setParameter("pid", projectId);
-    iq.setParameter("b", building);
-    List<?> iRows = iq.getResultList();
-    for (Object r : iRows) {
-      Object[] row = (Object[]) r;
-      int fkey = toInt(row[0]);
-      if (fkey == 0) {
-        continue;
-      }
-      String st = asStr(row[1], "").trim().toLowerCase();
-      int cnt = toInt(row[2]);
-      Map<String, Object> d = byF.computeIfAbsent(fkey, k -> baseFloor(k));
-      d.put("issues_total", toInt(d.get("issues_total")) + cnt);
-      if ("open".equals(st)) {
-        d.put("issues_open", toInt(d.get("issues_open")) + cnt);
-      } else if ("closed".equals(st)) {
-        d.put("issues_closed", toInt(d.get("issues_closed")) + cnt);
-      }
-    }
-
-    List<Integer> floors = new ArrayList<>(byF.keySet());
-    floors.sort(Integer::compareTo);
-    List<Map<String, Object>> out = new ArrayList<>();
-    for (Integer f : floors) {
-      out.add(byF.get(f));
-    }
-    return out;
+  private List<Map<String, Object>> byFloorFacts(long projectId, String building) {
+    return locationFacts(locationIndex.tree(projectId, building, null, null, 1), "floor");
   }
 
   private List<Map<String, Object>> buildingProgressFacts(long projectId) {
-    String itemExpr = "COALESCE(item_code, item, indicator_code, indicator)";
-    String aSql = "SELECT building_no, " + itemExpr + " AS item_key, "
-        + "MAX(CASE WHEN result='unqualified' THEN 1 ELSE 0 END) AS has_unq, "
-        + "MAX(CASE WHEN result='pending' THEN 1 ELSE 0 END) AS has_pen "
-        + "FROM acceptance_records WHERE project_id=:pid GROUP BY building_no, item_key";
-    Query aq = entityManager.createNativeQuery(aSql);
-    aq.setParameter("pid", projectId);
-    List<?> aRows = aq.getResultList();
+    return locationFacts(locationIndex.tree(projectId, null, null, null, 1), "building");
+  }
 
-    Map<String, Map<String, Object>> byB = new HashMap<>();
-    for (Object r : aRows) {
-      Object[] row = (Object[]) r;
-      String bkey = normalizeBuilding(row[0]);
-      Map<String, Object> d = byB.computeIfAbsent(bkey, k -> baseBuilding(k));
-      d.put("acceptance_total", toInt(d.get("acceptance_total")) + 1);
-      int hasUnq = toInt(row[2]);
-      int hasPen = toInt(row[3]);
-      if (hasUnq > 0) {
-        d.put("acceptance_unqualified", toInt(d.get("acceptance_unqualified")) + 1);
-      } else if (hasPen > 0) {
-        d.put("acceptance_pending", toInt(d.get("acceptance_pending")) + 1);
-      } else {
-        d.put("acceptance_qualified", toInt(d.get("acceptance_qualified")) + 1);
-      }
+  // Children of a location node (already sorted by the index), minus unparsed floors.
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> locationFacts(Map<String, Object> node, String level) {
+    List<Map<String, Object>> out = new ArrayList<>();
+    if (node == null) {
+      return out;
     }
-
-    String iSql = "SELECT building_no, status, COUNT(id) FROM issue_reports WHERE project_id=:pid GROUP BY building_no, status";
-    Query iq = entityManager.createNativeQuery(iSql);
-    iq.setParameter("pid", projectId);
-    List<?> iRows = iq.getResultList();
-    for (Object r : iRows) {
-      Object[] row = (Object[]) r;
-      String bkey = normalizeBuilding(row[0]);
-      Map<String, Object> d = byB.computeIfAbsent(bkey, k -> baseBuilding(k));
-      int cnt = toInt(row[2]);
-      d.put("issues_total", toInt(d.get("issues_total")) + cnt);
-      String st = asStr(row[1], "").trim().toLowerCase();
-      if ("open".equals(st)) {
-        d.put("issues_open", toInt(d.get("issues_open")) + cnt);
-      } else if ("closed".equals(st)) {
-        d.put("issues_closed", toInt(d.get("issues_closed")) + cnt);
+    for (Map<String, Object> child : (List<Map<String, Object>>) node.get("children")) {
+      if ("floor".equals(level) && toInt(child.get("floor")) == 0) {
+        continue;
+      }
+      Map<String, Object> d = new HashMap<>();
+      d.put(level, child.get(level));
+      for (String k : LOCATION_FACT_KEYS) {
+        d.put(k, child.get(k));
       }
+      out.add(d);
     }
-
-    List<Map<String, Object>> out = new ArrayList<>(byB.values());
-    out.sort((x, y) -> buildingSortKey(asStr(x.get("building"), "")).compareTo(buildingSortKey(asStr(y.get("building"), ""))));
     return out;
   }
 
-  private static Map<String, Object> baseFloor(int floor) {
-    Map<String, Object> d = new HashMap<>();
-    d.put("floor", floor);
-    d.put("acceptance_total", 0);
-    d.put("acceptance_qualified", 0);
-    d.put("acceptance_unqualified", 0);
-    d.put("acceptance_pending", 0);
-    d.put("issues_total", 0);
-    d.put("issues_open", 0);
-    d.put("issues_closed", 0);
-    return d;
-  }
-
-  private static Map<String, Object> baseBuilding(String building) {
-    Map<String, Object> d = new HashMap<>();
-    d.put("building", building);
-    d.put("acceptance_total", 0);
-    d.put("acceptance_qualified", 0);
-    d.put("acceptance_unqualified", 0);
-    d.put("acceptance_pending", 0);
-    d.put("issues_total", 0);
-    d.put("issues_open", 0);
-    d.put("issues_closed", 0);
-    return d;
-  }
-
   private static String focusAnswerFromPack(Map<String, Object> focusPack) {
     Map<String, Object> metrics = asMap(focusPack.get("metrics"));
     int issuesOpen = toInt(metrics.get("issues_open"));
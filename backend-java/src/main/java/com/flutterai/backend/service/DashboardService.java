@@ -1,6 +1,5 @@
 package com.flutterai.backend.service;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -18,22 +17,26 @@ import java.util.regex.Pattern;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.flutterai.backend.domain.AcceptanceRecordEntity;
-import com.flutterai.backend.domain.IssueReportEntity;
 import com.flutterai.backend.dto.DashboardDtos.DashboardSummaryOut;
+import com.flutterai.backend.repo.RecordReadRepository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 
 import com.flutterai.backend.util.RegionParser;
 import com.flutterai.backend.util.RegionParser.ParsedRegion;
+import com.flutterai.backend.util.SqliteTimestamps;
 
 @Service
 public class DashboardService {
   private final EntityManager entityManager;
+  private final RecordReadRepository readRepository;
+  private final AnalyticsSnapshots analytics;
 
-  public DashboardService(EntityManager entityManager) {
+  public DashboardService(EntityManager entityManager, RecordReadRepository readRepository, AnalyticsSnapshots analytics) {
     this.entityManager = entityManager;
+    this.readRepository = readRepository;
+    this.analytics = analytics;
   }
 
   @Transactional
@@ -54,44 +57,26 @@ public class DashboardService {
     Map<String, Object> backfill = doBackfill ? backfillRegionFields(projectId, backfillLimit) : null;
 
     // Acceptance items within window: building + item_key classified by worst result.
-    String itemExpr = "COALESCE(item_code, item, indicator_code, indicator)";
-    String sqlA = "SELECT building_no, " + itemExpr + " AS item_key, "
-        + "MAX(CASE WHEN result = 'unqualified' THEN 1 ELSE 0 END) AS has_unq, "
-        + "MAX(CASE WHEN result = 'pending' THEN 1 ELSE 0 END) AS has_pen "
-        + "FROM acceptance_records WHERE project_id = :pid AND created_at >= :start "
-        + (building != null ? "AND building_no = :b " : "")
-        + "GROUP BY building_no, item_key";
-
-    Query aQ = entityManager.createNativeQuery(sqlA);
-    aQ.setParameter("pid", projectId);
-    aQ.setParameter("start", startStr);
-    if (building != null) {
-      aQ.setParameter("b", building);
-    }
-
-    List<?> aRows = aQ.getResultList();
+    long startMs = start.toEpochMilli();
     int aItemsUnq = 0;
     int aItemsPen = 0;
     Map<String, Map<String, Object>> byBuilding = new HashMap<>();
-    for (Object r : aRows) {
-      Object[] row = (Object[]) r;
-      String b = normalizeBuilding(row[0]);
-      int hasUnq = toInt(row[2]);
-      int hasPen = toInt(row[3]);
-      Map<String, Object> d = byBuilding.computeIfAbsent(b, k -> baseFocusBucket(k));
-      if (hasUnq > 0) {
-        aItemsUnq += 1;
-        d.put("acceptance_unqualified_items", toInt(d.get("acceptance_unqualified_items")) + 1);
-      } else if (hasPen > 0) {
-        aItemsPen += 1;
-        d.put("acceptance_pending_items", toInt(d.get("acceptance_pending_items")) + 1);
+    for (Map.Entry<String, int[]> e : acceptanceItemsByWindow(projectId, building, startMs, startMs).entrySet()) {
+      int[] c = e.getValue();
+      if (c[0] == 0 && c[1] == 0) {
+        continue;
       }
+      Map<String, Object> d = byBuilding.computeIfAbsent(e.getKey(), k -> baseFocusBucket(k));
+      aItemsUnq += c[0];
+      aItemsPen += c[1];
+      d.put("acceptance_unqualified_items", toInt(d.get("acceptance_unqualified_items")) + c[0]);
+      d.put("acceptance_pending_items", toInt(d.get("acceptance_pending_items")) + c[1]);
     }
 
-    // Current open issues (snapshot) grouped by building
-    String sqlOpen = "SELECT id, building_no, created_at, deadline_days, severity "
+    // Current open issues (snapshot), aggregated per building and raw severity in SQL.
+    String sqlOpen = "SELECT building_no, severity, COUNT(id) "
         + "FROM issue_reports WHERE project_id = :pid AND status = 'open' "
-        + "ORDER BY created_at DESC LIMIT 5000";
+        + "GROUP BY building_no, severity";
     Query openQ = entityManager.createNativeQuery(sqlOpen);
     openQ.setParameter("pid", projectId);
 
@@ -101,43 +86,37 @@ public class DashboardService {
     int issuesOpenOverdue = 0;
     for (Object r : openRows) {
       Object[] row = (Object[]) r;
-      String b = normalizeBuilding(row[1]);
+      String b = normalizeBuilding(row[0]);
       if (building != null && !b.equals(building)) {
         continue;
       }
-      Instant createdAt = parseSqliteTimestamp(row[2]);
-      Integer deadlineDays = row[3] == null ? null : toInt(row[3]);
-      String severity = row[4] == null ? null : row[4].toString();
+      String severity = row[1] == null ? null : row[1].toString();
+      int n = toInt(row[2]);
 
       Map<String, Object> d = byBuilding.computeIfAbsent(b, k -> baseFocusBucket(k));
-      issuesOpen += 1;
-      d.put("issues_open", toInt(d.get("issues_open")) + 1);
+      issuesOpen += n;
+      d.put("issues_open", toInt(d.get("issues_open")) + n);
 
       if ("severe".equals(normalizeSeverityKey(severity))) {
-        issuesOpenSevere += 1;
-        d.put("issues_open_severe", toInt(d.get("issues_open_severe")) + 1);
+        issuesOpenSevere += n;
+        d.put("issues_open_severe", toInt(d.get("issues_open_severe")) + n);
       }
+    }
 
-      if (deadlineDays != null && createdAt != null) {
-        double ageDays = Duration.between(createdAt, now).toSeconds() / 86400.0;
-        if (ageDays > deadlineDays.doubleValue()) {
-          issuesOpenOverdue += 1;
-          d.put("issues_open_overdue", toInt(d.get("issues_open_overdue")) + 1);
-        }
+    // Overdue: one range scan over (project_id, status, deadline_at).
+    for (Map.Entry<String, Integer> e : overdueByBuilding(projectId, now).entrySet()) {
+      String b = e.getKey();
+      if (building != null && !b.equals(building)) {
+        continue;
       }
+      Map<String, Object> d = byBuilding.computeIfAbsent(b, k -> baseFocusBucket(k));
+      issuesOpenOverdue += e.getValue();
+      d.put("issues_open_overdue", toInt(d.get("issues_open_overdue")) + e.getValue());
     }
 
     // Closure metrics within window
-    List<Double> closeDays = closureDays(projectId, startStr, building, "issue", "close", "issue_reports");
-    List<Double> verifyDays = closureDays(projectId, startStr, building, "acceptance", "verify", "acceptance_records");
-
-    Map<String, Object> closure = new HashMap<>();
-    closure.put("issue_close_count", closeDays.size());
-    closure.put("issue_close_days_avg", closeDays.isEmpty() ? null : round2(avg(closeDays)));
-    closure.put("issue_close_days_median", closeDays.isEmpty() ? null : round2(median(closeDays)));
-    closure.put("acceptance_verify_count", verifyDays.size());
-    closure.put("acceptance_verify_days_avg", verifyDays.isEmpty() ? null : round2(avg(verifyDays)));
-    closure.put("acceptance_verify_days_median", verifyDays.isEmpty() ? null : round2(median(verifyDays)));
+    ClosureDays cd = closureDaysByWindow(projectId, building, startMs, startMs);
+    Map<String, Object> closure = closureMetrics(cd.closeCurrent(), cd.verifyCurrent());
 
     // Data quality indicators
     int accMissingBuilding = countScalar("SELECT COUNT(id) FROM acceptance_records WHERE project_id = :pid AND building_no IS NULL", projectId);
@@ -235,7 +214,8 @@ public class DashboardService {
         severityCounts,
         topUnits,
         recentUnqualified,
-        recentOpenIssues
+        recentOpenIssues,
+        Map.of("generated_at", OffsetDateTime.now(ZoneOffset.UTC).toString())
     );
   }
 
@@ -296,124 +276,321 @@ public class DashboardService {
     return updated;
   }
 
-  private List<Double> closureDays(
+  private Map<String, Integer> overdueByBuilding(long projectId, Instant now) {
+    String sql = "SELECT building_no, COUNT(id) FROM issue_reports "
+        + "WHERE project_id = :pid AND status = 'open' AND deadline_at < :now GROUP BY building_no";
+    Query q = entityManager.createNativeQuery(sql);
+    q.setParameter("pid", projectId);
+    q.setParameter("now", now.toEpochMilli());
+    Map<String, Integer> out = new HashMap<>();
+    for (Object r : q.getResultList()) {
+      Object[] row = (Object[]) r;
+      out.merge(normalizeBuilding(row[0]), toInt(row[1]), Integer::sum);
+    }
+    return out;
+  }
+
+  /**
+   * Focus-pack metrics for the last {@code timeRangeDays} and the window before it, each as
+   * {current, previous, delta}, overall and per building.
+   *
+   * Both windows come from the same scans: conditional aggregation over the union range for
+   * acceptance items and closure durations, and one pass over the project's issues (joined to
+   * their first close action) for open / severe / overdue. Those three are point-in-time counts,
+   * so "previous" means as of the end of the previous window: created before it, and not yet
+   * closed then (still open, or closed later).
+   */
+  @Transactional
+  public Map<String, Object> focusComparison(
       long projectId,
-      String startStr,
+      int timeRangeDays,
       String building,
-      String targetType,
-      String actionType,
-      String targetTable) {
+      boolean doBackfill,
+      int backfillLimit) {
+
+    int days = timeRangeDays <= 0 ? 14 : timeRangeDays;
+    Instant now = Instant.now();
+    Instant curStart = now.minus(days, ChronoUnit.DAYS);
+    Instant prevStart = curStart.minus(days, ChronoUnit.DAYS);
 
-    String sql = "SELECT target_id, MIN(created_at) FROM rectification_actions "
-        + "WHERE project_id = :pid AND target_type = :tt AND action_type = :at AND created_at >= :start "
+    Map<String, Object> backfill = doBackfill ? backfillRegionFields(projectId, backfillLimit) : null;
+
+    Map<String, Map<String, Object>> cur = new HashMap<>();
+    Map<String, Map<String, Object>> prev = new HashMap<>();
+
+    for (Map.Entry<String, int[]> e : acceptanceItemsByWindow(projectId, building, prevStart.toEpochMilli(), curStart.toEpochMilli()).entrySet()) {
+      int[] c = e.getValue();
+      addTo(cur, e.getKey(), "acceptance_unqualified_items", c[0]);
+      addTo(cur, e.getKey(), "acceptance_pending_items", c[1]);
+      addTo(prev, e.getKey(), "acceptance_unqualified_items", c[2]);
+      addTo(prev, e.getKey(), "acceptance_pending_items", c[3]);
+    }
+    for (Map.Entry<String, int[]> e : openIssuesByWindow(projectId, building, curStart.toEpochMilli(), now.toEpochMilli()).entrySet()) {
+      int[] c = e.getValue();
+      addTo(cur, e.getKey(), "issues_open", c[0]);
+      addTo(cur, e.getKey(), "issues_open_severe", c[1]);
+      addTo(cur, e.getKey(), "issues_open_overdue", c[2]);
+      addTo(prev, e.getKey(), "issues_open", c[3]);
+      addTo(prev, e.getKey(), "issues_open_severe", c[4]);
+      addTo(prev, e.getKey(), "issues_open_overdue", c[5]);
+    }
+
+    Map<String, Object> curTotals = new HashMap<>();
+    Map<String, Object> prevTotals = new HashMap<>();
+    for (String k : FOCUS_METRICS) {
+      curTotals.put(k, cur.values().stream().mapToInt(d -> toInt(d.get(k))).sum());
+      prevTotals.put(k, prev.values().stream().mapToInt(d -> toInt(d.get(k))).sum());
+    }
+
+    Set<String> buildings = new java.util.TreeSet<>(cur.keySet());
+    buildings.addAll(prev.keySet());
+    List<Map<String, Object>> byBuildingList = new ArrayList<>();
+    for (String b : buildings) {
+      Map<String, Object> c = cur.computeIfAbsent(b, k -> baseFocusBucket(k));
+      Map<String, Object> p = prev.computeIfAbsent(b, k -> baseFocusBucket(k));
+      c.put("risk_score", riskScore(c));
+      p.put("risk_score", riskScore(p));
+      Map<String, Object> d = compareMaps(c, p, FOCUS_METRICS);
+      d.put("risk_score", compare(c.get("risk_score"), p.get("risk_score")));
+      d.put("building", b);
+      byBuildingList.add(d);
+    }
+    byBuildingList.sort((a, b) -> Integer.compare(
+        toInt(((Map<?, ?>) b.get("risk_score")).get("current")),
+        toInt(((Map<?, ?>) a.get("risk_score")).get("current"))));
+
+    ClosureDays cd = closureDaysByWindow(projectId, building, prevStart.toEpochMilli(), curStart.toEpochMilli());
+    Map<String, Object> curClosure = closureMetrics(cd.closeCurrent(), cd.verifyCurrent());
+    Map<String, Object> prevClosure = closureMetrics(cd.closePrevious(), cd.verifyPrevious());
+
+    Map<String, Object> window = new HashMap<>();
+    window.put("time_range_days", days);
+    window.put("current", Map.of("start", formatSqliteTimestamp(curStart), "end", formatSqliteTimestamp(now)));
+    window.put("previous", Map.of("start", formatSqliteTimestamp(prevStart), "end", formatSqliteTimestamp(curStart)));
+
+    Map<String, Object> meta = new HashMap<>();
+    meta.put("project_id", projectId);
+    meta.put("generated_at", OffsetDateTime.now(ZoneOffset.UTC).toString());
+    meta.put("window", window);
+    meta.put("backfill", backfill);
+    meta.put("scope", building == null ? Map.of() : Map.of("building", building));
+
+    return Map.of(
+        "meta", meta,
+        "metrics", compareMaps(curTotals, prevTotals, FOCUS_METRICS),
+        "closure", compareMaps(curClosure, prevClosure, curClosure.keySet()),
+        "by_building", byBuildingList
+    );
+  }
+
+  private static final List<String> FOCUS_METRICS = List.of(
+      "acceptance_unqualified_items", "acceptance_pending_items",
+      "issues_open", "issues_open_severe", "issues_open_overdue");
+
+  /**
+   * Items (building + item_key) per building classified by their worst result inside each window,
+   * as [current unqualified, current pending, previous unqualified, previous pending]. The
+   * previous window is [prevStart, curStart); pass prevStart == curStart for the current one only.
+   */
+  private Map<String, int[]> acceptanceItemsByWindow(long projectId, String building, long prevStart, long curStart) {
+    String ms = SqliteTimestamps.millisSql("created_at");
+    String sql = "SELECT building_no, COALESCE(item_code, item, indicator_code, indicator) AS item_key, "
+        + "MAX(CASE WHEN " + ms + " >= :cur AND result = 'unqualified' THEN 1 ELSE 0 END), "
+        + "MAX(CASE WHEN " + ms + " >= :cur AND result = 'pending' THEN 1 ELSE 0 END), "
+        + "MAX(CASE WHEN " + ms + " < :cur AND result = 'unqualified' THEN 1 ELSE 0 END), "
+        + "MAX(CASE WHEN " + ms + " < :cur AND result = 'pending' THEN 1 ELSE 0 END) "
+        + "FROM acceptance_records WHERE project_id = :pid AND " + ms + " >= :prev "
+        + (building != null ? "AND building_no = :b " : "")
+        + "GROUP BY building_no, item_key";
+    Query q = entityManager.createNativeQuery(sql);
+    q.setParameter("pid", projectId);
+    q.setParameter("prev", prevStart);
+    q.setParameter("cur", curStart);
+    if (building != null) {
+      q.setParameter("b", building);
+    }
+
+    Map<String, int[]> out = new HashMap<>();
+    for (Object r : q.getResultList()) {
+      Object[] row = (Object[]) r;
+      int[] c = out.computeIfAbsent(normalizeBuilding(row[0]), k -> new int[4]);
+      if (toInt(row[2]) > 0) {
+        c[0]++;
+      } else if (toInt(row[3]) > 0) {
+        c[1]++;
+      }
+      if (toInt(row[4]) > 0) {
+        c[2]++;
+      } else if (toInt(row[5]) > 0) {
+        c[3]++;
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Open, severe and overdue issues per building now and as of {@code asOf}, as
+   * [open, severe, overdue, open then, severe then, overdue then], from one pass over the
+   * project's issues.
+   */
+  private Map<String, int[]> openIssuesByWindow(long projectId, String building, long asOf, long now) {
+    String closes = "SELECT target_id, MIN(" + SqliteTimestamps.millisSql("created_at") + ") AS closed_ms "
+        + "FROM rectification_actions WHERE project_id = :pid AND target_type = 'issue' AND action_type = 'close' "
         + "GROUP BY target_id";
+    String openThen = "(" + SqliteTimestamps.millisSql("i.created_at") + " < :t AND (i.status = 'open' OR c.closed_ms >= :t))";
+    String sql = "SELECT i.building_no, i.severity, "
+        + "SUM(CASE WHEN i.status = 'open' THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN i.status = 'open' AND i.deadline_at < :now THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN " + openThen + " THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN " + openThen + " AND i.deadline_at < :t THEN 1 ELSE 0 END) "
+        + "FROM issue_reports i LEFT JOIN (" + closes + ") c ON c.target_id = i.id "
+        + "WHERE i.project_id = :pid GROUP BY i.building_no, i.severity";
     Query q = entityManager.createNativeQuery(sql);
     q.setParameter("pid", projectId);
-    q.setParameter("tt", targetType);
-    q.setParameter("at", actionType);
-    q.setParameter("start", startStr);
+    q.setParameter("now", now);
+    q.setParameter("t", asOf);
 
-    List<?> rows = q.getResultList();
-    List<Double> out = new ArrayList<>();
-    for (Object r : rows) {
+    Map<String, int[]> out = new HashMap<>();
+    for (Object r : q.getResultList()) {
       Object[] row = (Object[]) r;
-      long targetId = ((Number) row[0]).longValue();
-      Instant actionAt = parseSqliteTimestamp(row[1]);
-      if (actionAt == null) {
+      String b = normalizeBuilding(row[0]);
+      if (building != null && !b.equals(building)) {
         continue;
       }
+      boolean severe = "severe".equals(normalizeSeverityKey(row[1] == null ? null : row[1].toString()));
+      int[] c = out.computeIfAbsent(b, k -> new int[6]);
+      c[0] += toInt(row[2]);
+      c[1] += severe ? toInt(row[2]) : 0;
+      c[2] += toInt(row[3]);
+      c[3] += toInt(row[4]);
+      c[4] += severe ? toInt(row[4]) : 0;
+      c[5] += toInt(row[5]);
+    }
+    return out;
+  }
+
+  private record ClosureDays(
+      List<Double> closeCurrent,
+      List<Double> closePrevious,
+      List<Double> verifyCurrent,
+      List<Double> verifyPrevious) {}
+
+  /**
+   * Days from creation to the first issue close / acceptance verify action inside each window,
+   * in one scan of rectification_actions joined to its targets.
+   */
+  private ClosureDays closureDaysByWindow(long projectId, String building, long prevStart, long curStart) {
+    String ms = SqliteTimestamps.millisSql("created_at");
+    String firsts = "SELECT target_type, target_id, "
+        + "MIN(CASE WHEN " + ms + " >= :cur THEN " + ms + " END) AS cur_at, "
+        + "MIN(CASE WHEN " + ms + " < :cur THEN " + ms + " END) AS prev_at "
+        + "FROM rectification_actions WHERE project_id = :pid AND " + ms + " >= :prev "
+        + "AND ((target_type = 'issue' AND action_type = 'close') OR (target_type = 'acceptance' AND action_type = 'verify')) "
+        + "GROUP BY target_type, target_id";
+    String sql = "SELECT x.target_type, x.cur_at, x.prev_at, "
+        + "COALESCE(i.created_at, a.created_at), COALESCE(i.building_no, a.building_no), "
+        + "COALESCE(i.id, a.id) "
+        + "FROM (" + firsts + ") x "
+        + "LEFT JOIN issue_reports i ON x.target_type = 'issue' AND i.id = x.target_id "
+        + "LEFT JOIN acceptance_records a ON x.target_type = 'acceptance' AND a.id = x.target_id";
+    Query q = entityManager.createNativeQuery(sql);
+    q.setParameter("pid", projectId);
+    q.setParameter("prev", prevStart);
+    q.setParameter("cur", curStart);
 
-      String createdSql = "SELECT created_at, building_no FROM " + targetTable + " WHERE id = :id";
-      Query t = entityManager.createNativeQuery(createdSql);
-      t.setParameter("id", targetId);
-      List<?> ts = t.getResultList();
-      if (ts.isEmpty()) {
+    ClosureDays out = new ClosureDays(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    for (Object r : q.getResultList()) {
+      Object[] row = (Object[]) r;
+      if (row[5] == null) {
         continue;
       }
-      Object[] tr = (Object[]) ts.get(0);
-      String b = normalizeBuilding(tr[1]);
+      String b = normalizeBuilding(row[4]);
       if (building != null && !b.equals(building)) {
         continue;
       }
-      Instant createdAt = parseSqliteTimestamp(tr[0]);
+      Instant createdAt = parseSqliteTimestamp(row[3]);
       if (createdAt == null) {
         continue;
       }
+      boolean issue = "issue".equals(row[0]);
+      addClosureDays(issue ? out.closeCurrent() : out.verifyCurrent(), createdAt, row[1]);
+      addClosureDays(issue ? out.closePrevious() : out.verifyPrevious(), createdAt, row[2]);
+    }
+    return out;
+  }
 
-      double days = Duration.between(createdAt, actionAt).toSeconds() / 86400.0;
+  private static void addClosureDays(List<Double> out, Instant createdAt, Object actionMillis) {
+    if (actionMillis instanceof Number n) {
+      double days = (n.longValue() - createdAt.toEpochMilli()) / 86400000.0;
       if (days >= 0) {
         out.add(days);
       }
     }
-    return out;
   }
 
-  private int countClosedMissingAction(long projectId, String targetType, String actionType) {
-    String sqlClosed = "SELECT id FROM issue_reports WHERE project_id = :pid AND status = 'closed' ORDER BY created_at DESC LIMIT 5000";
-    Query q = entityManager.createNativeQuery(sqlClosed);
-    q.setParameter("pid", projectId);
-    List<?> rows = q.getResultList();
-    List<Long> ids = new ArrayList<>();
-    for (Object r : rows) {
-      ids.add(((Number) r).longValue());
-    }
-    if (ids.isEmpty()) {
-      return 0;
+  private static Map<String, Object> closureMetrics(List<Double> closeDays, List<Double> verifyDays) {
+    Map<String, Object> closure = new HashMap<>();
+    closure.put("issue_close_count", closeDays.size());
+    closure.put("issue_close_days_avg", closeDays.isEmpty() ? null : round2(avg(closeDays)));
+    closure.put("issue_close_days_median", closeDays.isEmpty() ? null : round2(median(closeDays)));
+    closure.put("acceptance_verify_count", verifyDays.size());
+    closure.put("acceptance_verify_days_avg", verifyDays.isEmpty() ? null : round2(avg(verifyDays)));
+    closure.put("acceptance_verify_days_median", verifyDays.isEmpty() ? null : round2(median(verifyDays)));
+    return closure;
+  }
+
+  private static void addTo(Map<String, Map<String, Object>> byBuilding, String building, String key, int n) {
+    if (n == 0) {
+      return;
     }
+    Map<String, Object> d = byBuilding.computeIfAbsent(building, k -> baseFocusBucket(k));
+    d.put(key, toInt(d.get(key)) + n);
+  }
 
-    Set<Long> has = fetchActionTargets(projectId, targetType, actionType, ids);
-    int missing = 0;
-    for (Long id : ids) {
-      if (!has.contains(id)) {
-        missing += 1;
-      }
+  private static Map<String, Object> compareMaps(Map<String, Object> cur, Map<String, Object> prev, java.util.Collection<String> keys) {
+    Map<String, Object> out = new HashMap<>();
+    for (String k : keys) {
+      out.put(k, compare(cur.get(k), prev.get(k)));
     }
-    return missing;
+    return out;
+  }
+
+  // {current, previous, delta}; delta is null when either side is (e.g. no closures in a window).
+  private static Map<String, Object> compare(Object current, Object previous) {
+    Map<String, Object> m = new HashMap<>();
+    m.put("current", current);
+    m.put("previous", previous);
+    Object delta = null;
+    if (current instanceof Integer c && previous instanceof Integer p) {
+      delta = c - p;
+    } else if (current instanceof Number c && previous instanceof Number p) {
+      delta = round2(c.doubleValue() - p.doubleValue());
+    }
+    m.put("delta", delta);
+    return m;
+  }
+
+  // Anti-joins on idx_action_target: exact at any size, nothing materialized in Java.
+  private int countClosedMissingAction(long projectId, String targetType, String actionType) {
+    String sql = "SELECT COUNT(i.id) FROM issue_reports i "
+        + "WHERE i.project_id = :pid AND i.status = 'closed' AND NOT EXISTS ("
+        + "SELECT 1 FROM rectification_actions a WHERE a.target_type = :tt AND a.target_id = i.id "
+        + "AND a.project_id = :pid AND a.action_type = :at)";
+    Query q = entityManager.createNativeQuery(sql);
+    q.setParameter("pid", projectId);
+    q.setParameter("tt", targetType);
+    q.setParameter("at", actionType);
+    return toInt(q.getSingleResult());
   }
 
   private int countAcceptanceMissingVerify(long projectId) {
-    String sqlAcc = "SELECT id FROM acceptance_records WHERE project_id = :pid AND result IN ('qualified','unqualified') ORDER BY created_at DESC LIMIT 5000";
-    Query q = entityManager.createNativeQuery(sqlAcc);
+    String sql = "SELECT COUNT(r.id) FROM acceptance_records r "
+        + "WHERE r.project_id = :pid AND r.result IN ('qualified','unqualified') AND NOT EXISTS ("
+        + "SELECT 1 FROM rectification_actions a WHERE a.target_type = 'acceptance' AND a.target_id = r.id "
+        + "AND a.project_id = :pid AND a.action_type = 'verify')";
+    Query q = entityManager.createNativeQuery(sql);
     q.setParameter("pid", projectId);
-    List<?> rows = q.getResultList();
-    List<Long> ids = new ArrayList<>();
-    for (Object r : rows) {
-      ids.add(((Number) r).longValue());
-    }
-    if (ids.isEmpty()) {
-      return 0;
-    }
-    Set<Long> has = fetchActionTargets(projectId, "acceptance", "verify", ids);
-    int missing = 0;
-    for (Long id : ids) {
-      if (!has.contains(id)) {
-        missing += 1;
-      }
-    }
-    return missing;
-  }
-
-  private Set<Long> fetchActionTargets(long projectId, String targetType, String actionType, List<Long> ids) {
-    Set<Long> out = new java.util.HashSet<>();
-    int chunk = 900;
-    for (int i = 0; i < ids.size(); i += chunk) {
-      List<Long> sub = ids.subList(i, Math.min(ids.size(), i + chunk));
-      String in = sub.stream().map(x -> "?").reduce((a, b) -> a + "," + b).orElse("?");
-      String sql = "SELECT DISTINCT target_id FROM rectification_actions WHERE project_id = ? AND target_type = ? AND action_type = ? AND target_id IN (" + in + ")";
-      Query q = entityManager.createNativeQuery(sql);
-      int p = 1;
-      q.setParameter(p++, projectId);
-      q.setParameter(p++, targetType);
-      q.setParameter(p++, actionType);
-      for (Long id : sub) {
-        q.setParameter(p++, id);
-      }
-      List<?> rows = q.getResultList();
-      for (Object r : rows) {
-        out.add(((Number) r).longValue());
-      }
-    }
-    return out;
+    return toInt(q.getSingleResult());
   }
 
   private static Map<String, Object> baseFocusBucket(String building) {
@@ -516,35 +693,19 @@ public class DashboardService {
   }
 
   private static Instant parseSqliteTimestamp(Object o) {
-    if (o == null) {
-      return null;
-    }
-    if (o instanceof OffsetDateTime odt) {
-      return odt.toInstant();
-    }
-    String s = o.toString().trim();
-    if (s.isEmpty()) {
-      return null;
-    }
-    try {
-      return OffsetDateTime.parse(s).toInstant();
-    } catch (Exception ignored) {
-      // fall through
-    }
-    try {
-      LocalDateTime ldt = LocalDateTime.parse(s, SQLITE_FMT);
-      return ldt.toInstant(ZoneOffset.UTC);
-    } catch (Exception ignored) {
-      // fall through
-    }
-    try {
-      return Instant.parse(s);
-    } catch (Exception ignored) {
-      return null;
-    }
+    return SqliteTimestamps.toInstant(o);
   }
 
   private Map<String, Integer> acceptanceItemCountsWorst(long projectId) {
+    int[] worst = analytics.query(projectId, s -> s.itemsByWorstResult(null, null));
+    if (worst != null) {
+      Map<String, Integer> out = new HashMap<>();
+      out.put("qualified", worst[AnalyticsSnapshots.QUALIFIED]);
+      out.put("unqualified", worst[AnalyticsSnapshots.UNQUALIFIED]);
+      out.put("pending", worst[AnalyticsSnapshots.PENDING]);
+      return out;
+    }
+
     String sql = "\n" +
         "SELECT\n" +
         "  COALESCE(item_code, item, indicator_code, indicator) AS item_key,\n" +
@@ -581,6 +742,14 @@ public class DashboardService {
   }
 
   private Map<String, Integer> issueCountsByStatus(long projectId) {
+    Map<String, Integer> byStatus = analytics.query(projectId,
+        s -> s.issuesBy(AnalyticsSnapshots.IssueDimension.STATUS, null, null, null, null));
+    if (byStatus != null) {
+      Map<String, Integer> out = new HashMap<>();
+      byStatus.forEach((status, n) -> out.merge(status == null ? "" : status, n, Integer::sum));
+      return out;
+    }
+
     String sql = "SELECT status, COUNT(id) FROM issue_reports WHERE project_id = :pid GROUP BY status";
     Query q = entityManager.createNativeQuery(sql);
     q.setParameter("pid", projectId);
@@ -590,12 +759,23 @@ public class DashboardService {
     for (Object r : rows) {
       Object[] row = (Object[]) r;
       String status = row[0] == null ? "" : row[0].toString();
-      out.put(status, toInt(row[1]));
+      out.merge(status, toInt(row[1]), Integer::sum);
     }
     return out;
   }
 
   private Map<String, Integer> issueCountsBySeverity(long projectId) {
+    Map<String, Integer> bySeverity = analytics.query(projectId,
+        s -> s.issuesBy(AnalyticsSnapshots.IssueDimension.SEVERITY, null, null, null, null));
+    if (bySeverity != null) {
+      Map<String, Integer> out = new HashMap<>();
+      bySeverity.forEach((severity, n) -> {
+        String key = severity == null || severity.trim().isEmpty() ? "未填写" : severity.trim();
+        out.merge(key, n, Integer::sum);
+      });
+      return out;
+    }
+
     String sql = "SELECT severity, COUNT(id) FROM issue_reports WHERE project_id = :pid GROUP BY severity";
     Query q = entityManager.createNativeQuery(sql);
     q.setParameter("pid", projectId);
@@ -608,12 +788,28 @@ public class DashboardService {
       if (key.isEmpty()) {
         key = "未填写";
       }
-      out.put(key, toInt(row[1]));
+      out.merge(key, toInt(row[1]), Integer::sum);
     }
     return out;
   }
 
   private List<Map<String, Object>> topResponsibleUnits(long projectId) {
+    Map<String, Integer> byUnit = analytics.query(projectId,
+        s -> s.issuesBy(AnalyticsSnapshots.IssueDimension.UNIT, null, null, null, "open"));
+    if (byUnit != null) {
+      Map<String, Integer> merged = new HashMap<>();
+      byUnit.forEach((unit, n) -> {
+        String key = unit == null || unit.trim().isEmpty() ? "未填写" : unit.trim();
+        merged.merge(key, n, Integer::sum);
+      });
+      List<Map<String, Object>> out = new ArrayList<>();
+      merged.entrySet().stream()
+          .sorted((x, y) -> Integer.compare(y.getValue(), x.getValue()))
+          .limit(10)
+          .forEach(e -> out.add(Map.of("responsible_unit", e.getKey(), "count", e.getValue())));
+      return out;
+    }
+
     String expr = "COALESCE(NULLIF(TRIM(responsible_unit),''),'未填写')";
     String sql = "SELECT " + expr + " AS unit, COUNT(id) AS cnt " +
         "FROM issue_reports WHERE project_id = :pid AND status = 'open' " +
@@ -636,144 +832,12 @@ public class DashboardService {
 
   private List<Map<String, Object>> recentAcceptance(long projectId, String result, int limit) {
     int safeLimit = Math.max(1, Math.min(limit <= 0 ? 10 : limit, 200));
-    String sql = "SELECT id, project_id, region_code, region_text, building_no, floor_no, zone, division, subdivision, item, item_code, indicator, indicator_code, result, photo_path, remark, ai_json, client_created_at, created_at, source, client_record_id " +
-        "FROM acceptance_records WHERE project_id = :pid AND result = :res ORDER BY created_at DESC LIMIT :lim";
-
-    Query q = entityManager.createNativeQuery(sql);
-    q.setParameter("pid", projectId);
-    q.setParameter("res", result);
-    q.setParameter("lim", safeLimit);
-
-    List<?> rows = q.getResultList();
-    List<Map<String, Object>> out = new ArrayList<>();
-    for (Object r : rows) {
-      Object[] row = (Object[]) r;
-      AcceptanceRecordEntity e = new AcceptanceRecordEntity();
-      e.setId(((Number) row[0]).longValue());
-      e.setProjectId(((Number) row[1]).longValue());
-      e.setRegionCode(asString(row[2]));
-      e.setRegionText(asString(row[3]));
-      e.setBuildingNo(asString(row[4]));
-      e.setFloorNo(row[5] == null ? null : ((Number) row[5]).intValue());
-      e.setZone(asString(row[6]));
-      e.setDivision(asString(row[7]));
-      e.setSubdivision(asString(row[8]));
-      e.setItem(asString(row[9]));
-      e.setItemCode(asString(row[10]));
-      e.setIndicator(asString(row[11]));
-      e.setIndicatorCode(asString(row[12]));
-      e.setResult(asString(row[13]));
-      e.setPhotoPath(asString(row[14]));
-      e.setRemark(asString(row[15]));
-      e.setAiJson(asString(row[16]));
-      e.setClientCreatedAt(asOffsetDateTime(row[17]));
-      e.setCreatedAt(asOffsetDateTime(row[18]));
-      e.setSource(asString(row[19]));
-      e.setClientRecordId(asString(row[20]));
-
-      out.add(acceptanceToMap(e));
-    }
-    return out;
+    return readRepository.recentAcceptanceMaps(projectId, result, safeLimit);
   }
 
   private List<Map<String, Object>> recentIssues(long projectId, String status, int limit) {
     int safeLimit = Math.max(1, Math.min(limit <= 0 ? 10 : limit, 200));
-    String sql = "SELECT id, project_id, region_code, region_text, building_no, floor_no, zone, division, subdivision, item, indicator, library_id, description, severity, deadline_days, responsible_unit, responsible_person, status, photo_path, ai_json, client_created_at, created_at, source, client_record_id " +
-        "FROM issue_reports WHERE project_id = :pid AND status = :st ORDER BY created_at DESC LIMIT :lim";
-
-    Query q = entityManager.createNativeQuery(sql);
-    q.setParameter("pid", projectId);
-    q.setParameter("st", status);
-    q.setParameter("lim", safeLimit);
-
-    List<?> rows = q.getResultList();
-    List<Map<String, Object>> out = new ArrayList<>();
-    for (Object r : rows) {
-      Object[] row = (Object[]) r;
-      IssueReportEntity e = new IssueReportEntity();
-      e.setId(((Number) row[0]).longValue());
-      e.setProjectId(((Number) row[1]).longValue());
-      e.setRegionCode(asString(row[2]));
-      e.setRegionText(asString(row[3]));
-      e.setBuildingNo(asString(row[4]));
-      e.setFloorNo(row[5] == null ? null : ((Number) row[5]).intValue());
-      e.setZone(asString(row[6]));
-      e.setDivision(asString(row[7]));
-      e.setSubdivision(asString(row[8]));
-      e.setItem(asString(row[9]));
-      e.setIndicator(asString(row[10]));
-      e.setLibraryId(asString(row[11]));
-      e.setDescription(asString(row[12]));
-      e.setSeverity(asString(row[13]));
-      e.setDeadlineDays(row[14] == null ? null : ((Number) row[14]).intValue());
-      e.setResponsibleUnit(asString(row[15]));
-      e.setResponsiblePerson(asString(row[16]));
-      e.setStatus(asString(row[17]));
-      e.setPhotoPath(asString(row[18]));
-      e.setAiJson(asString(row[19]));
-      e.setClientCreatedAt(asOffsetDateTime(row[20]));
-      e.setCreatedAt(asOffsetDateTime(row[21]));
-      e.setSource(asString(row[22]));
-      e.setClientRecordId(asString(row[23]));
-
-      out.add(issueToMap(e));
-    }
-    return out;
-  }
-
-  private static Map<String, Object> acceptanceToMap(AcceptanceRecordEntity r) {
-    Map<String, Object> m = new HashMap<>();
-    m.put("id", r.getId());
-    m.put("project_id", r.getProjectId());
-    m.put("region_code", r.getRegionCode());
-    m.put("region_text", r.getRegionText());
-    m.put("building_no", r.getBuildingNo());
-    m.put("floor_no", r.getFloorNo());
-    m.put("zone", r.getZone());
-    m.put("division", r.getDivision());
-    m.put("subdivision", r.getSubdivision());
-    m.put("item", r.getItem());
-    m.put("item_code", r.getItemCode());
-    m.put("indicator", r.getIndicator());
-    m.put("indicator_code", r.getIndicatorCode());
-    m.put("result", r.getResult());
-    m.put("photo_path", r.getPhotoPath());
-    m.put("remark", r.getRemark());
-    m.put("ai_json", r.getAiJson());
-    m.put("client_created_at", r.getClientCreatedAt());
-    m.put("created_at", r.getCreatedAt());
-    m.put("source", r.getSource());
-    m.put("client_record_id", r.getClientRecordId());
-    return m;
-  }
-
-  private static Map<String, Object> issueToMap(IssueReportEntity r) {
-    Map<String, Object> m = new HashMap<>();
-    m.put("id", r.getId());
-    m.put("project_id", r.getProjectId());
-    m.put("region_code", r.getRegionCode());
-    m.put("region_text", r.getRegionText());
-    m.put("building_no", r.getBuildingNo());
-    m.put("floor_no", r.getFloorNo());
-    m.put("zone", r.getZone());
-    m.put("division", r.getDivision());
-    m.put("subdivision", r.getSubdivision());
-    m.put("item", r.getItem());
-    m.put("indicator", r.getIndicator());
-    m.put("library_id", r.getLibraryId());
-    m.put("description", r.getDescription());
-    m.put("severity", r.getSeverity());
-    m.put("deadline_days", r.getDeadlineDays());
-    m.put("responsible_unit", r.getResponsibleUnit());
-    m.put("responsible_person", r.getResponsiblePerson());
-    m.put("status", r.getStatus());
-    m.put("photo_path", r.getPhotoPath());
-    m.put("ai_json", r.getAiJson());
-    m.put("client_created_at", r.getClientCreatedAt());
-    m.put("created_at", r.getCreatedAt());
-    m.put("source", r.getSource());
-    m.put("client_record_id", r.getClientRecordId());
-    return m;
+    return readRepository.recentIssueMaps(projectId, status, safeLimit);
   }
 
   private static int toInt(Object o) {
@@ -789,23 +853,4 @@ public class DashboardService {
       return 0;
     }
   }
-
-  private static String asString(Object o) {
-    return o == null ? null : o.toString();
-  }
-
-  private static OffsetDateTime asOffsetDateTime(Object o) {
-    if (o == null) {
-      return null;
-    }
-    if (o instanceof OffsetDateTime odt) {
-      return odt;
-    }
-    // SQLite often stores timestamps as text; keep best-effort.
-    try {
-      return OffsetDateTime.parse(o.toString());
-    } catch (Exception e) {
-      return null;
-    }
-  }
 }
@@ -0,0 +1,278 @@
+package com.flutterai.backend.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flutterai.backend.domain.DashboardSnapshotEntity;
+import com.flutterai.backend.repo.DashboardSnapshotRepository;
+import com.flutterai.backend.util.SqliteTimestamps;
+
+/**
+ * Persisted focus-pack and summary snapshots, so the first dashboard open of the day doesn't pay
+ * for the closure and data-quality queries.
+ *
+ * Every active project (acceptance or issue writes within {@code active-days}) is recomputed at
+ * the off-peak {@code cron} time. A project is also recomputed once {@code burst-threshold} rows
+ * have changed since its snapshot; that is checked every {@code burst-check-ms}, and skipped while
+ * the sync clock stands still. The endpoints serve a snapshot for the default view (whole project,
+ * {@code focus-days} window, default summary limit) only while it is younger than
+ * {@code max-age-minutes} and at most {@code max-stale-changes} rows (default 0) have changed since
+ * it was taken, and add {@code meta.snapshot_age} in seconds. Anything else is computed live.
+ *
+ * Activity is judged by created_at rather than updated_at: the change_seq backfill re-stamps
+ * updated_at on every legacy row, which would make every project look active after a deploy.
+ */
+@Service
+public class DashboardSnapshots {
+  public static final String FOCUS = "focus";
+  public static final String SUMMARY = "summary";
+  public static final int SUMMARY_LIMIT = 10;
+
+  private static final int BACKFILL_LIMIT = 200;
+
+  private final DashboardService dashboardService;
+  private final DashboardSnapshotRepository repository;
+  private final JdbcTemplate readOnlyJdbc;
+  private final ObjectMapper objectMapper;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private volatile long lastCheckedClock = -1;
+
+  @Value("${app.dashboard.snapshots.enabled:true}")
+  private boolean enabled;
+
+  @Value("${app.dashboard.snapshots.max-age-minutes:720}")
+  private long maxAgeMinutes;
+
+  @Value("${app.dashboard.snapshots.max-stale-changes:0}")
+  private long maxStaleChanges;
+
+  @Value("${app.dashboard.snapshots.focus-days:14}")
+  private int focusDays;
+
+  @Value("${app.dashboard.snapshots.active-days:30}")
+  private int activeDays;
+
+  @Value("${app.dashboard.snapshots.burst-threshold:200}")
+  private long burstThreshold;
+
+  public DashboardSnapshots(
+      DashboardService dashboardService,
+      DashboardSnapshotRepository repository,
+      @Qualifier("readOnlyJdbcTemplate") JdbcTemplate readOnlyJdbc,
+      ObjectMapper objectMapper) {
+    this.dashboardService = dashboardService;
+    this.repository = repository;
+    this.readOnlyJdbc = readOnlyJdbc;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * The stored focus pack when it covers this request and is fresh enough; null means compute live.
+   */
+  public Map<String, Object> focusPack(long projectId, int timeRangeDays, String building) {
+    int days = timeRangeDays <= 0 ? 14 : timeRangeDays;
+    if (building != null || days != focusDays) {
+      return null;
+    }
+    return served(projectId, FOCUS);
+  }
+
+  /**
+   * The stored summary when it covers this request and is fresh enough; null means compute live.
+   */
+  public Map<String, Object> summary(long projectId, int limit) {
+    if (limit != SUMMARY_LIMIT) {
+      return null;
+    }
+    return served(projectId, SUMMARY);
+  }
+
+  @Scheduled(cron = "${app.dashboard.snapshots.cron:0 0 4 * * *}")
+  public void nightly() {
+    if (enabled) {
+      refreshAll();
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${app.dashboard.snapshots.burst-check-ms:60000}",
+      initialDelayString = "${app.dashboard.snapshots.burst-check-ms:60000}")
+  public void afterBursts() {
+    if (!enabled || burstThreshold <= 0) {
+      return;
+    }
+    long clock = currentSeq();
+    if (clock == lastCheckedClock || !running.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      for (DashboardSnapshotEntity s : repository.findByKind(FOCUS)) {
+        if (changesSince(s.getProjectId(), s.getSourceSeq()) >= burstThreshold) {
+          refreshQuietly(s.getProjectId());
+        }
+      }
+      lastCheckedClock = clock;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  /**
+   * Recomputes every active project; returns how many were refreshed, or -1 if a run is in progress.
+   */
+  public int refreshAll() {
+    if (!running.compareAndSet(false, true)) {
+      return -1;
+    }
+    try {
+      long since = System.currentTimeMillis() - Duration.ofDays(activeDays).toMillis();
+      List<Long> projects = readOnlyJdbc.queryForList(
+          "SELECT p.id FROM projects p "
+              + "WHERE EXISTS (SELECT 1 FROM acceptance_records a WHERE a.project_id = p.id AND "
+              + SqliteTimestamps.millisSql("a.created_at") + " >= ?) "
+              + "OR EXISTS (SELECT 1 FROM issue_reports i WHERE i.project_id = p.id AND "
+              + SqliteTimestamps.millisSql("i.created_at") + " >= ?) "
+              + "OR EXISTS (SELECT 1 FROM rectification_actions r WHERE r.project_id = p.id AND "
+              + SqliteTimestamps.millisSql("r.created_at") + " >= ?) "
+              + "ORDER BY p.id",
+          Long.class, since, since, since);
+      int n = 0;
+      for (Long projectId : projects) {
+        if (refreshQuietly(projectId)) {
+          n++;
+        }
+      }
+      return n;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public void refresh(long projectId) {
+    // Backfill first so its writes land before source_seq and don't count towards the next burst.
+    Map<String, Object> backfill = dashboardService.backfillRegionFields(projectId, BACKFILL_LIMIT);
+    long seq = currentSeq();
+
+    long started = System.nanoTime();
+    Map<String, Object> focus = new LinkedHashMap<>(dashboardService.focusPack(projectId, focusDays, null, false, 0));
+    // Report the backfill that ran for this snapshot, as the live default request (do_backfill=true) would.
+    Map<String, Object> meta = new LinkedHashMap<>((Map<String, Object>) focus.get("meta"));
+    meta.put("backfill", backfill);
+    focus.put("meta", meta);
+    save(projectId, FOCUS, focus, seq, started);
+
+    started = System.nanoTime();
+    save(projectId, SUMMARY, dashboardService.summary(projectId, SUMMARY_LIMIT), seq, started);
+  }
+
+  // A failing project must not stop the rest of the run; it keeps its previous snapshot, which
+  // records the failure so a snapshot that stopped moving can be diagnosed.
+  private boolean refreshQuietly(long projectId) {
+    try {
+      refresh(projectId);
+      return true;
+    } catch (RuntimeException e) {
+      recordFailure(projectId, e);
+      return false;
+    }
+  }
+
+  private void recordFailure(long projectId, RuntimeException e) {
+    String message = e.getClass().getSimpleName() + (e.getMessage() == null ? "" : ": " + e.getMessage());
+    OffsetDateTime at = OffsetDateTime.now(ZoneOffset.UTC);
+    try {
+      for (String kind : List.of(FOCUS, SUMMARY)) {
+        repository.findByProjectIdAndKind(projectId, kind).ifPresent(s -> {
+          s.setLastError(message);
+          s.setLastErrorAt(at);
+          repository.save(s);
+        });
+      }
+    } catch (RuntimeException ignored) {
+      // The DB itself may be what failed; the run goes on either way.
+    }
+  }
+
+  private void save(long projectId, String kind, Object payload, long seq, long startedNanos) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("cannot serialize " + kind + " snapshot", e);
+    }
+    DashboardSnapshotEntity s = repository.findByProjectIdAndKind(projectId, kind).orElseGet(DashboardSnapshotEntity::new);
+    s.setProjectId(projectId);
+    s.setKind(kind);
+    s.setPayloadJson(json);
+    s.setSourceSeq(seq);
+    s.setGeneratedAt(OffsetDateTime.now(ZoneOffset.UTC));
+    s.setDurationMs((System.nanoTime() - startedNanos) / 1_000_000);
+    s.setLastError(null);
+    s.setLastErrorAt(null);
+    repository.save(s);
+  }
+
+  private Map<String, Object> served(long projectId, String kind) {
+    if (!enabled) {
+      return null;
+    }
+    DashboardSnapshotEntity s = repository.findByProjectIdAndKind(projectId, kind).orElse(null);
+    if (s == null) {
+      return null;
+    }
+    long ageSeconds = Duration.between(s.getGeneratedAt(), OffsetDateTime.now(ZoneOffset.UTC)).toSeconds();
+    if (ageSeconds > maxAgeMinutes * 60 || changesSince(projectId, s.getSourceSeq()) > maxStaleChanges) {
+      return null;
+    }
+    Map<String, Object> out;
+    try {
+      out = objectMapper.readValue(s.getPayloadJson(), new TypeReference<LinkedHashMap<String, Object>>() {});
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+    Map<String, Object> meta = new LinkedHashMap<>();
+    if (out.get("meta") instanceof Map<?, ?> m) {
+      m.forEach((k, v) -> meta.put(String.valueOf(k), v));
+    }
+    meta.put("snapshot_age", Math.max(0, ageSeconds));
+    meta.put("snapshot_generated_at", s.getGeneratedAt().toString());
+    if (s.getLastError() != null) {
+      meta.put("snapshot_last_error", s.getLastError());
+      meta.put("snapshot_last_error_at", s.getLastErrorAt() == null ? null : s.getLastErrorAt().toString());
+    }
+    out.put("meta", meta);
+    return out;
+  }
+
+  private long changesSince(long projectId, long seq) {
+    Long n = readOnlyJdbc.queryForObject(
+        "SELECT (SELECT COUNT(id) FROM acceptance_records WHERE project_id = ? AND change_seq > ?)"
+            + " + (SELECT COUNT(id) FROM issue_reports WHERE project_id = ? AND change_seq > ?)"
+            + " + (SELECT COUNT(id) FROM rectification_actions WHERE project_id = ? AND change_seq > ?)"
+            + " + (SELECT COUNT(id) FROM sync_tombstones WHERE project_id = ? AND change_seq > ?)",
+        Long.class,
+        projectId, seq, projectId, seq, projectId, seq, projectId, seq);
+    return n == null ? 0 : n;
+  }
+
+  private long currentSeq() {
+    Long seq = readOnlyJdbc.queryForObject("SELECT seq FROM sync_clock WHERE id = 1", Long.class);
+    return seq == null ? 0 : seq;
+  }
+}
@@ -0,0 +1,240 @@
+package com.flutterai.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flutterai.backend.util.SqliteTimestamps;
+
+/**
+ * Full-project dumps for handover. Rows are read in pages of {@code PAGE_ROWS} by id and written
+ * out page by page, so memory stays flat no matter how many rows a project has.
+ */
+@Service
+public class ExportService {
+  public enum Format { NDJSON, CSV }
+
+  // export name -> table
+  private static final Map<String, String> TABLES = new LinkedHashMap<>();
+
+  static {
+    TABLES.put("acceptance", "acceptance_records");
+    TABLES.put("issues", "issue_reports");
+    TABLES.put("actions", "rectification_actions");
+  }
+
+  private static final int PAGE_ROWS = 500;
+
+  private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  private final JdbcTemplate readOnlyJdbc;
+  private final ObjectMapper objectMapper;
+
+  public ExportService(@Qualifier("readOnlyJdbcTemplate") JdbcTemplate readOnlyJdbc, ObjectMapper objectMapper) {
+    this.readOnlyJdbc = readOnlyJdbc;
+    this.objectMapper = objectMapper;
+  }
+
+  public static Format parseFormat(String format) {
+    String f = format == null ? "" : format.trim().toLowerCase();
+    return switch (f) {
+      case "", "ndjson", "jsonl" -> Format.NDJSON;
+      case "csv" -> Format.CSV;
+      default -> throw new IllegalArgumentException("invalid format");
+    };
+  }
+
+  public static List<String> parseTables(String tables) {
+    String t = tables == null ? "" : tables.trim();
+    if (t.isEmpty()) {
+      return new ArrayList<>(TABLES.keySet());
+    }
+    List<String> out = new ArrayList<>();
+    for (String part : t.split(",")) {
+      String k = part.trim().toLowerCase();
+      if (k.isEmpty()) {
+        continue;
+      }
+      if (!TABLES.containsKey(k)) {
+        throw new IllegalArgumentException("invalid table: " + k);
+      }
+      if (!out.contains(k)) {
+        out.add(k);
+      }
+    }
+    if (out.isEmpty()) {
+      throw new IllegalArgumentException("no table selected");
+    }
+    return out;
+  }
+
+  /**
+   * NDJSON: one object per line tagged with {@code "table"}. CSV: exactly one table, UTF-8 with BOM (for Excel).
+   */
+  public void export(long projectId, Format format, List<String> tables, OutputStream out) throws IOException {
+    if (format == Format.CSV && tables.size() != 1) {
+      throw new IllegalArgumentException("csv export needs exactly one table");
+    }
+    if (format == Format.NDJSON) {
+      JsonGenerator g = objectMapper.getFactory().createGenerator(out);
+      g.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      g.setRootValueSeparator(null); // rows end with '\n' themselves
+      for (String name : tables) {
+        scan(projectId, name, cols -> {}, (cols, row) -> writeJsonRow(g, name, cols, row));
+      }
+      g.flush();
+    } else {
+      out.write(UTF8_BOM);
+      scan(projectId, tables.get(0), cols -> writeCsvHeader(out, cols), (cols, row) -> writeCsvRow(out, cols, row));
+    }
+    out.flush();
+  }
+
+  private interface HeaderWriter {
+    void write(String[] columns) throws IOException;
+  }
+
+  private interface RowWriter {
+    void write(String[] columns, Object[] row) throws IOException;
+  }
+
+  private record Page(String[] columns, List<Object[]> rows, long lastId) {}
+
+  /**
+   * Reads the table in short id-range pages and writes each page only after its query has closed.
+   * The DB runs in rollback-journal mode, where an open cursor holds a SHARED lock; streaming
+   * straight from one cursor would let a slow client block every API write for the whole download.
+   */
+  private void scan(long projectId, String name, HeaderWriter header, RowWriter writer) throws IOException {
+    String sql = "SELECT * FROM " + TABLES.get(name) + " WHERE project_id = ? AND id > ? ORDER BY id LIMIT " + PAGE_ROWS;
+    long after = Long.MIN_VALUE;
+    boolean first = true;
+    while (true) {
+      Page page = readOnlyJdbc.query(sql, (ResultSetExtractor<Page>) rs -> readPage(rs), projectId, after);
+      if (first) {
+        // From the result metadata, so an empty table still gets its column line.
+        header.write(page.columns());
+        first = false;
+      }
+      for (Object[] row : page.rows()) {
+        writer.write(page.columns(), row);
+      }
+      if (page.rows().size() < PAGE_ROWS) {
+        return;
+      }
+      after = page.lastId();
+    }
+  }
+
+  private static Page readPage(ResultSet rs) throws SQLException {
+    ResultSetMetaData md = rs.getMetaData();
+    String[] cols = new String[md.getColumnCount()];
+    int idCol = -1;
+    for (int i = 0; i < cols.length; i++) {
+      cols[i] = md.getColumnLabel(i + 1);
+      if ("id".equals(cols[i])) {
+        idCol = i;
+      }
+    }
+    List<Object[]> rows = new ArrayList<>(PAGE_ROWS);
+    long lastId = Long.MIN_VALUE;
+    while (rs.next()) {
+      Object[] row = new Object[cols.length];
+      for (int i = 0; i < cols.length; i++) {
+        row[i] = rs.getObject(i + 1);
+      }
+      rows.add(row);
+      lastId = ((Number) row[idCol]).longValue();
+    }
+    return new Page(cols, rows, lastId);
+  }
+
+  private static void writeJsonRow(JsonGenerator g, String table, String[] cols, Object[] row) throws IOException {
+    g.writeStartObject();
+    g.writeStringField("table", table);
+    for (int i = 0; i < cols.length; i++) {
+      Object v = cellValue(cols[i], row[i]);
+      g.writeFieldName(cols[i]);
+      if (v == null) {
+        g.writeNull();
+      } else if (v instanceof Long l) {
+        g.writeNumber(l);
+      } else if (v instanceof Integer n) {
+        g.writeNumber(n);
+      } else if (v instanceof Double d) {
+        g.writeNumber(d);
+      } else {
+        g.writeString(v.toString());
+      }
+    }
+    g.writeEndObject();
+    g.writeRaw('\n');
+  }
+
+  private static void writeCsvHeader(OutputStream out, String[] cols) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < cols.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      appendCsv(sb, cols[i]);
+    }
+    sb.append("\r\n");
+    out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void writeCsvRow(OutputStream out, String[] cols, Object[] row) throws IOException {
+    StringBuilder sb = new StringBuilder(256);
+    for (int i = 0; i < cols.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      Object v = cellValue(cols[i], row[i]);
+      if (v != null) {
+        appendCsv(sb, v.toString());
+      }
+    }
+    sb.append("\r\n");
+    out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Object cellValue(String column, Object raw) {
+    if (raw != null && column.endsWith("_at")) {
+      OffsetDateTime odt = SqliteTimestamps.toOffsetDateTime(raw);
+      return odt == null ? raw.toString() : odt.toString();
+    }
+    return raw;
+  }
+
+  private static void appendCsv(StringBuilder sb, String s) {
+    boolean quote = s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0;
+    if (!quote) {
+      sb.append(s);
+      return;
+    }
+    sb.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '"') {
+        sb.append('"');
+      }
+      sb.append(c);
+    }
+    sb.append('"');
+  }
+}
@@ -0,0 +1,314 @@
+package com.flutterai.backend.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Downscaled JPEG variants of uploaded photos for list/dashboard views.
+ *
+ * Variants are generated on a small bounded pool right after upload and on demand on a cache
+ * miss. They live under {@code <uploads>/.variants/<size>/} and the directory is kept under a
+ * byte budget by evicting the least recently served files.
+ */
+@Service
+public class ImageVariants {
+  public enum Size {
+    THUMB(256), PREVIEW(1024);
+
+    final int maxEdge;
+
+    Size(int maxEdge) {
+      this.maxEdge = maxEdge;
+    }
+
+    public static Size parse(String s) {
+      String v = s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+      return switch (v) {
+        case "thumb" -> THUMB;
+        case "preview" -> PREVIEW;
+        default -> throw new IllegalArgumentException("invalid size (expected thumb or preview)");
+      };
+    }
+  }
+
+  private static final String VARIANTS_DIR = ".variants";
+
+  private final PhotoStore photoStore;
+  private final ThreadPoolExecutor pool;
+  private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+  // Access-ordered: iteration starts at the least recently served variant.
+  private final LinkedHashMap<Path, Long> lru = new LinkedHashMap<>(256, 0.75f, true);
+  private long cachedBytes;
+
+  @Value("${app.uploads.variant-cache-max-bytes:536870912}")
+  private long maxCacheBytes;
+
+  @Value("${app.uploads.variant-wait-ms:15000}")
+  private long waitMs;
+
+  public ImageVariants(PhotoStore photoStore, @Value("${app.uploads.variant-threads:2}") int threads) {
+    this.photoStore = photoStore;
+    AtomicInteger n = new AtomicInteger();
+    int size = Math.max(1, threads);
+    // Bounded queue: when uploads burst, background pre-generation is dropped, while a saturated
+    // on-demand request is generated on the caller's thread instead.
+    this.pool = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(256), r -> {
+      Thread t = new Thread(r, "image-variants-" + n.incrementAndGet());
+      t.setDaemon(true);
+      t.setPriority(Thread.NORM_PRIORITY - 1);
+      return t;
+    }, (r, executor) -> {
+      if (r instanceof OnDemand && !executor.isShutdown()) {
+        r.run();
+      }
+    });
+    this.pool.allowCoreThreadTimeOut(true);
+  }
+
+  @PostConstruct
+  public void loadIndex() {
+    Path root = photoStore.dir().resolve(VARIANTS_DIR);
+    if (!Files.isDirectory(root)) {
+      return;
+    }
+    try (Stream<Path> files = Files.walk(root)) {
+      files.filter(Files::isRegularFile)
+          .sorted((a, b) -> lastModified(a).compareTo(lastModified(b)))
+          .forEach(p -> remember(p, p.toFile().length()));
+    } catch (IOException ignored) {
+      // index rebuilds lazily as variants are served
+    }
+    evict();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * Queues both variants for a freshly stored photo; best effort.
+   */
+  public void pregenerate(String name) {
+    for (Size s : Size.values()) {
+      Path target = variantPath(name, s);
+      if (!Files.exists(target)) {
+        pool.execute(() -> generateOnce(name, s, target));
+      }
+    }
+  }
+
+  /**
+   * Path of the variant, generating it if needed. Returns null when the source is missing or is not
+   * decodable by ImageIO (e.g. HEIC); callers then serve the original.
+   */
+  public Path variant(String name, Size size) {
+    Path target = variantPath(name, size);
+    if (Files.isRegularFile(target)) {
+      touch(target);
+      return target;
+    }
+    CompletableFuture<Path> mine = new CompletableFuture<>();
+    CompletableFuture<Path> f = inFlight.putIfAbsent(target, mine);
+    if (f == null) {
+      f = mine;
+      // Submitted only once the future is published, outside any map lock: a saturated pool runs
+      // the decode right here, on the caller's thread.
+      pool.execute(new OnDemand(() -> {
+        try {
+          mine.complete(generate(name, size, target));
+        } catch (Throwable t) {
+          mine.completeExceptionally(t);
+        }
+      }));
+    }
+    try {
+      return f.get(waitMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException | TimeoutException e) {
+      return null;
+    } finally {
+      inFlight.remove(target, f);
+    }
+  }
+
+  private record OnDemand(Runnable task) implements Runnable {
+    @Override
+    public void run() {
+      task.run();
+    }
+  }
+
+  private void generateOnce(String name, Size size, Path target) {
+    if (!Files.exists(target)) {
+      generate(name, size, target);
+    }
+  }
+
+  private Path variantPath(String name, Size size) {
+    return photoStore.dir().resolve(VARIANTS_DIR).resolve(size.name().toLowerCase(Locale.ROOT)).resolve(name + ".jpg");
+  }
+
+  private Path generate(String name, Size size, Path target) {
+    Path source = photoStore.resolve(name);
+    if (source == null) {
+      return null;
+    }
+    try {
+      BufferedImage img = readScaled(source, size.maxEdge);
+      if (img == null) {
+        return null;
+      }
+      Files.createDirectories(target.getParent());
+      Path tmp = target.resolveSibling("." + target.getFileName() + "." + Thread.currentThread().getId() + ".part");
+      writeJpeg(resize(img, size.maxEdge), tmp, 0.8f);
+      Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      remember(target, Files.size(target));
+      evict();
+      return target;
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Decodes with source subsampling so a 12MP photo is never fully expanded just to make a thumbnail.
+   */
+  private static BufferedImage readScaled(Path source, int maxEdge) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+      if (in == null) {
+        return null;
+      }
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        int w = reader.getWidth(0);
+        int h = reader.getHeight(0);
+        int step = Math.max(1, Math.max(w, h) / (maxEdge * 2));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  static BufferedImage resize(BufferedImage src, int maxEdge) {
+    double scale = Math.min(1.0, (double) maxEdge / Math.max(src.getWidth(), src.getHeight()));
+    int w = Math.max(1, (int) Math.round(src.getWidth() * scale));
+    int h = Math.max(1, (int) Math.round(src.getHeight() * scale));
+    BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = out.createGraphics();
+    try {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      g.setColor(Color.WHITE); // PNG transparency -> white, JPEG has no alpha
+      g.fillRect(0, 0, w, h);
+      g.drawImage(src, 0, 0, w, h, null);
+    } finally {
+      g.dispose();
+    }
+    return out;
+  }
+
+  static void writeJpeg(BufferedImage img, Path target, float quality) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+      writer.setOutput(out);
+      ImageWriteParam p = writer.getDefaultWriteParam();
+      p.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      p.setCompressionQuality(quality);
+      writer.write(null, new IIOImage(img, null, null), p);
+    } finally {
+      writer.dispose();
+    }
+  }
+
+  private void touch(Path p) {
+    synchronized (lru) {
+      if (lru.get(p) == null) {
+        remember(p, p.toFile().length());
+      }
+    }
+    try {
+      // Persist recency so the LRU order survives restarts.
+      Files.setLastModifiedTime(p, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException ignored) {
+      // recency is only a hint
+    }
+  }
+
+  private void remember(Path p, long size) {
+    synchronized (lru) {
+      Long prev = lru.put(p, size);
+      cachedBytes += size - (prev == null ? 0 : prev);
+    }
+  }
+
+  private void evict() {
+    synchronized (lru) {
+      Iterator<Map.Entry<Path, Long>> it = lru.entrySet().iterator();
+      while (cachedBytes > maxCacheBytes && it.hasNext()) {
+        Map.Entry<Path, Long> e = it.next();
+        try {
+          Files.deleteIfExists(e.getKey());
+        } catch (IOException ignored) {
+          // still drop it from the index; it will be re-indexed on the next start
+        }
+        cachedBytes -= e.getValue();
+        it.remove();
+      }
+    }
+  }
+
+  private static FileTime lastModified(Path p) {
+    try {
+      return Files.getLastModifiedTime(p);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+}
@@ -0,0 +1,535 @@
+package com.flutterai.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flutterai.backend.domain.ImportJobEntity;
+import com.flutterai.backend.dto.AcceptanceDtos.AcceptanceRecordIn;
+import com.flutterai.backend.dto.ImportDtos.ImportJobOut;
+import com.flutterai.backend.dto.ImportDtos.ImportRowError;
+import com.flutterai.backend.dto.IssueDtos.IssueReportIn;
+import com.flutterai.backend.repo.ImportJobRepository;
+import com.flutterai.backend.util.RegionParser;
+import com.flutterai.backend.util.RegionParser.ParsedRegion;
+import com.flutterai.backend.util.SharedBackendPaths;
+import com.flutterai.backend.util.SpreadsheetRows;
+import com.flutterai.backend.util.SqliteTimestamps;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bulk CSV/XLSX import of acceptance records or issues.
+ *
+ * Jobs run one at a time on a background thread (SQLite has a single writer anyway). Rows are
+ * streamed from the file, mapped and region-parsed in parallel per batch, then written in one
+ * transaction per batch together with the job checkpoint.
+ */
+@Service
+public class ImportService {
+  private static final int MAX_ERRORS = 200;
+  private static final int MAX_BATCH = 5000;
+
+  private static final List<String> ACCEPTANCE_FIELDS = List.of(
+      "region_code", "region_text", "division", "subdivision", "item", "item_code", "indicator", "indicator_code",
+      "result", "photo_path", "remark", "ai_json", "client_created_at", "source", "client_record_id");
+
+  private static final List<String> ISSUE_FIELDS = List.of(
+      "region_code", "region_text", "division", "subdivision", "item", "indicator", "library_id", "description",
+      "severity", "deadline_days", "responsible_unit", "responsible_person", "status", "photo_path", "ai_json",
+      "client_created_at", "source", "client_record_id");
+
+  // Header spellings seen in spreadsheets from other systems -> field name.
+  private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+      Map.entry("区域编码", "region_code"),
+      Map.entry("区域", "region_text"),
+      Map.entry("部位", "region_text"),
+      Map.entry("检查部位", "region_text"),
+      Map.entry("分部", "division"),
+      Map.entry("分部工程", "division"),
+      Map.entry("子分部", "subdivision"),
+      Map.entry("子分部工程", "subdivision"),
+      Map.entry("分项", "item"),
+      Map.entry("分项工程", "item"),
+      Map.entry("分项编码", "item_code"),
+      Map.entry("指标", "indicator"),
+      Map.entry("检查指标", "indicator"),
+      Map.entry("指标编码", "indicator_code"),
+      Map.entry("结果", "result"),
+      Map.entry("验收结果", "result"),
+      Map.entry("照片", "photo_path"),
+      Map.entry("备注", "remark"),
+      Map.entry("问题描述", "description"),
+      Map.entry("描述", "description"),
+      Map.entry("严重程度", "severity"),
+      Map.entry("整改期限", "deadline_days"),
+      Map.entry("整改天数", "deadline_days"),
+      Map.entry("责任单位", "responsible_unit"),
+      Map.entry("责任人", "responsible_person"),
+      Map.entry("状态", "status"),
+      Map.entry("记录时间", "client_created_at"),
+      Map.entry("检查时间", "client_created_at"),
+      Map.entry("来源", "source"),
+      Map.entry("记录编号", "client_record_id")
+  );
+
+  private static final Map<String, String> RESULT_ALIASES = Map.of(
+      "qualified", "qualified",
+      "合格", "qualified",
+      "unqualified", "unqualified",
+      "不合格", "unqualified",
+      "pending", "pending",
+      "待定", "pending",
+      "待复验", "pending"
+  );
+
+  // Excel's day zero for the 1900 date system (serial 1 = 1900-01-01, with the 1900 leap-year bug).
+  private static final LocalDateTime EXCEL_EPOCH = LocalDateTime.of(1899, 12, 30, 0, 0);
+
+  private final ImportJobRepository jobRepository;
+  private final AcceptanceService acceptanceService;
+  private final IssueService issueService;
+  private final TransactionTemplate tx;
+  private final ObjectMapper objectMapper;
+  private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "bulk-import");
+    t.setDaemon(true);
+    return t;
+  });
+
+  @Value("${app.imports-dir:backend/imports}")
+  private String importsDir;
+
+  @Value("${app.import.batch-size:1000}")
+  private int defaultBatchSize;
+
+  public ImportService(
+      ImportJobRepository jobRepository,
+      AcceptanceService acceptanceService,
+      IssueService issueService,
+      TransactionTemplate tx,
+      ObjectMapper objectMapper) {
+    this.jobRepository = jobRepository;
+    this.acceptanceService = acceptanceService;
+    this.issueService = issueService;
+    this.tx = tx;
+    this.objectMapper = objectMapper;
+  }
+
+  public static String parseKind(String kind) {
+    String k = kind == null ? "" : kind.trim().toLowerCase(Locale.ROOT);
+    return switch (k) {
+      case "acceptance", "acceptance-records", "acceptance_records" -> "acceptance";
+      case "issues", "issue", "issue-reports", "issue_reports" -> "issues";
+      default -> throw new IllegalArgumentException("invalid kind (expected acceptance or issues)");
+    };
+  }
+
+  /**
+   * Spools the upload to the imports dir (kept until the job finishes, so it can resume) and queues it.
+   */
+  public ImportJobOut submit(long projectId, String kind, String fileName, InputStream content, Integer batchSize)
+      throws IOException {
+    String name = fileName == null ? "" : Path.of(fileName).getFileName().toString();
+    if (!SpreadsheetRows.supports(name)) {
+      throw new IllegalArgumentException("unsupported file type (expected .csv or .xlsx)");
+    }
+
+    Path dir = importsDirPath();
+    Files.createDirectories(dir);
+    String ext = name.substring(name.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+    Path dst = dir.resolve(UUID.randomUUID().toString().replace("-", "") + ext);
+    Files.copy(content, dst, StandardCopyOption.REPLACE_EXISTING);
+
+    ImportJobEntity job = new ImportJobEntity();
+    job.setProjectId(projectId);
+    job.setKind(kind);
+    job.setStatus("queued");
+    job.setFileName(name);
+    job.setFilePath(dst.toString());
+    int size = batchSize == null || batchSize <= 0 ? defaultBatchSize : batchSize;
+    job.setBatchSize(Math.max(1, Math.min(size, MAX_BATCH)));
+    job = jobRepository.save(job);
+
+    long id = job.getId();
+    worker.submit(() -> run(id));
+    return toOut(job);
+  }
+
+  public ImportJobOut get(long jobId) {
+    return jobRepository.findById(jobId).map(this::toOut).orElse(null);
+  }
+
+  /**
+   * Re-queues a failed job from its last checkpoint.
+   */
+  public ImportJobOut resume(long jobId) {
+    ImportJobEntity job = jobRepository.findById(jobId).orElse(null);
+    if (job == null) {
+      return null;
+    }
+    if (!"failed".equals(job.getStatus())) {
+      throw new IllegalArgumentException("only failed jobs can be resumed");
+    }
+    if (job.getFilePath() == null || !Files.exists(Path.of(job.getFilePath()))) {
+      throw new IllegalArgumentException("import file no longer available");
+    }
+    job.setStatus("queued");
+    job.setMessage(null);
+    job = jobRepository.save(job);
+    worker.submit(() -> run(jobId));
+    return toOut(job);
+  }
+
+  // Jobs cut off by a shutdown are still marked queued/running; pick them up where they stopped.
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeInterrupted() {
+    for (ImportJobEntity job : jobRepository.findByStatusInOrderByIdAsc(List.of("queued", "running"))) {
+      long id = job.getId();
+      worker.submit(() -> run(id));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    worker.shutdownNow();
+  }
+
+  private void run(long jobId) {
+    ImportJobEntity job = jobRepository.findById(jobId).orElse(null);
+    if (job == null || "done".equals(job.getStatus())) {
+      return;
+    }
+    job.setStatus("running");
+    job.setStartedAt(OffsetDateTime.now(ZoneOffset.UTC));
+    job.setFinishedAt(null);
+    job.setRunStartRow(job.getCheckpointRow());
+    job = jobRepository.save(job);
+
+    Path file = Path.of(job.getFilePath());
+    try (SpreadsheetRows rows = SpreadsheetRows.open(file, job.getFileName())) {
+      String[] header = rows.next();
+      if (header == null) {
+        throw new IllegalArgumentException("empty file");
+      }
+      Map<String, Integer> columns = mapHeader(job.getKind(), header);
+
+      List<ImportRowError> errors = readErrors(job);
+      List<RawRow> batch = new ArrayList<>(job.getBatchSize());
+      long skip = job.getCheckpointRow();
+      long rowNo = 0;
+      String[] cells;
+      while ((cells = rows.next()) != null) {
+        rowNo++;
+        if (rowNo <= skip) {
+          continue;
+        }
+        batch.add(new RawRow(rowNo, cells));
+        if (batch.size() >= job.getBatchSize()) {
+          job = writeBatch(job, columns, batch, errors);
+          batch.clear();
+          if (Thread.currentThread().isInterrupted()) {
+            // Shutting down: leave the job as running so it resumes on the next start.
+            return;
+          }
+        }
+      }
+      if (!batch.isEmpty()) {
+        job = writeBatch(job, columns, batch, errors);
+      }
+
+      job.setStatus("done");
+      job.setFinishedAt(OffsetDateTime.now(ZoneOffset.UTC));
+      jobRepository.save(job);
+      Files.deleteIfExists(file);
+    } catch (Exception e) {
+      ImportJobEntity failed = jobRepository.findById(jobId).orElse(job);
+      failed.setStatus("failed");
+      failed.setMessage(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+      failed.setFinishedAt(OffsetDateTime.now(ZoneOffset.UTC));
+      jobRepository.save(failed);
+    }
+  }
+
+  private record RawRow(long rowNo, String[] cells) {}
+
+  private record Mapped<T>(long rowNo, T payload, ParsedRegion region, String error) {}
+
+  /**
+   * Maps and region-parses the batch across cores, then commits the valid rows and the new
+   * checkpoint in one transaction.
+   */
+  private ImportJobEntity writeBatch(ImportJobEntity job, Map<String, Integer> columns, List<RawRow> batch,
+      List<ImportRowError> errors) {
+    long projectId = job.getProjectId();
+    boolean acceptance = "acceptance".equals(job.getKind());
+
+    List<? extends Mapped<?>> mapped = batch.parallelStream()
+        .map(r -> acceptance ? mapAcceptance(r, columns) : mapIssue(r, columns))
+        .toList();
+
+    List<Object> payloads = new ArrayList<>(mapped.size());
+    List<ParsedRegion> regions = new ArrayList<>(mapped.size());
+    long rejected = 0;
+    for (Mapped<?> m : mapped) {
+      if (m == null) {
+        continue; // blank line
+      }
+      if (m.error() != null) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+          errors.add(new ImportRowError(m.rowNo(), m.error()));
+        }
+        continue;
+      }
+      payloads.add(m.payload());
+      regions.add(m.region());
+    }
+
+    job.setRowsImported(job.getRowsImported() + payloads.size());
+    job.setRowsRejected(job.getRowsRejected() + rejected);
+    job.setCheckpointRow(batch.get(batch.size() - 1).rowNo());
+    job.setErrorsJson(writeErrors(errors));
+
+    return tx.execute(status -> {
+      if (acceptance) {
+        @SuppressWarnings("unchecked")
+        List<AcceptanceRecordIn> in = (List<AcceptanceRecordIn>) (List<?>) payloads;
+        acceptanceService.upsertBatch(projectId, in, regions);
+      } else {
+        @SuppressWarnings("unchecked")
+        List<IssueReportIn> in = (List<IssueReportIn>) (List<?>) payloads;
+        issueService.upsertBatch(projectId, in, regions);
+      }
+      return jobRepository.save(job);
+    });
+  }
+
+  private static Mapped<AcceptanceRecordIn> mapAcceptance(RawRow r, Map<String, Integer> columns) {
+    Cells c = new Cells(r.cells(), columns);
+    if (c.blank()) {
+      return null;
+    }
+    String rawResult = c.get("result");
+    String result = rawResult == null ? null : RESULT_ALIASES.get(rawResult.toLowerCase(Locale.ROOT));
+    if (result == null) {
+      return new Mapped<>(r.rowNo(), null, null, rawResult == null ? "missing result" : "invalid result: " + rawResult);
+    }
+    OffsetDateTime clientCreatedAt;
+    try {
+      clientCreatedAt = parseTime(c.get("client_created_at"));
+    } catch (IllegalArgumentException e) {
+      return new Mapped<>(r.rowNo(), null, null, e.getMessage());
+    }
+    AcceptanceRecordIn in = new AcceptanceRecordIn(
+        null, null,
+        c.get("region_code"),
+        c.get("region_text"),
+        c.get("division"),
+        c.get("subdivision"),
+        c.get("item"),
+        c.get("item_code"),
+        c.get("indicator"),
+        c.get("indicator_code"),
+        result,
+        c.get("photo_path"),
+        c.get("remark"),
+        c.get("ai_json"),
+        clientCreatedAt,
+        c.getOr("source", "import"),
+        c.get("client_record_id"));
+    return new Mapped<>(r.rowNo(), in, RegionParser.parse(in.regionText()), null);
+  }
+
+  private static Mapped<IssueReportIn> mapIssue(RawRow r, Map<String, Integer> columns) {
+    Cells c = new Cells(r.cells(), columns);
+    if (c.blank()) {
+      return null;
+    }
+    String description = c.get("description");
+    if (description == null) {
+      return new Mapped<>(r.rowNo(), null, null, "missing description");
+    }
+    Integer deadlineDays;
+    OffsetDateTime clientCreatedAt;
+    try {
+      deadlineDays = parseInt(c.get("deadline_days"));
+      clientCreatedAt = parseTime(c.get("client_created_at"));
+    } catch (IllegalArgumentException e) {
+      return new Mapped<>(r.rowNo(), null, null, e.getMessage());
+    }
+    IssueReportIn in = new IssueReportIn(
+        null, null,
+        c.get("region_code"),
+        c.get("region_text"),
+        c.get("division"),
+        c.get("subdivision"),
+        c.get("item"),
+        c.get("indicator"),
+        c.get("library_id"),
+        description,
+        c.get("severity"),
+        deadlineDays,
+        c.get("responsible_unit"),
+        c.get("responsible_person"),
+        c.get("status"),
+        c.get("photo_path"),
+        c.get("ai_json"),
+        clientCreatedAt,
+        c.getOr("source", "import"),
+        c.get("client_record_id"));
+    return new Mapped<>(r.rowNo(), in, RegionParser.parse(in.regionText() == null ? "" : in.regionText()), null);
+  }
+
+  private record Cells(String[] cells, Map<String, Integer> columns) {
+    String get(String field) {
+      Integer idx = columns.get(field);
+      if (idx == null || idx >= cells.length || cells[idx] == null) {
+        return null;
+      }
+      String v = cells[idx].trim();
+      return v.isEmpty() ? null : v;
+    }
+
+    String getOr(String field, String fallback) {
+      String v = get(field);
+      return v == null ? fallback : v;
+    }
+
+    boolean blank() {
+      for (String s : cells) {
+        if (s != null && !s.isBlank()) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  static Map<String, Integer> mapHeader(String kind, String[] header) {
+    List<String> fields = "acceptance".equals(kind) ? ACCEPTANCE_FIELDS : ISSUE_FIELDS;
+    Map<String, Integer> out = new HashMap<>();
+    for (int i = 0; i < header.length; i++) {
+      String h = header[i] == null ? "" : header[i].trim();
+      String field = HEADER_ALIASES.get(h);
+      if (field == null) {
+        // region_text / regionText / Region Text all map to region_text
+        String norm = h.toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+        for (String f : fields) {
+          if (f.replace("_", "").equals(norm)) {
+            field = f;
+            break;
+          }
+        }
+      }
+      if (field != null && fields.contains(field)) {
+        out.putIfAbsent(field, i);
+      }
+    }
+    String required = "acceptance".equals(kind) ? "result" : "description";
+    if (!out.containsKey(required)) {
+      throw new IllegalArgumentException("missing required column: " + required);
+    }
+    return out;
+  }
+
+  private static Integer parseInt(String s) {
+    if (s == null) {
+      return null;
+    }
+    try {
+      return new BigDecimal(s).intValueExact();
+    } catch (ArithmeticException | NumberFormatException e) {
+      throw new IllegalArgumentException("invalid deadline_days: " + s);
+    }
+  }
+
+  private static OffsetDateTime parseTime(String s) {
+    if (s == null) {
+      return null;
+    }
+    // XLSX date cells arrive as Excel serial days.
+    if (s.matches("\\d{1,5}(\\.\\d+)?")) {
+      double days = Double.parseDouble(s);
+      long millis = Math.round(days * 86_400_000d);
+      return EXCEL_EPOCH.plus(Duration.ofMillis(millis)).atOffset(ZoneOffset.UTC);
+    }
+    OffsetDateTime t = SqliteTimestamps.toOffsetDateTime(s);
+    if (t == null) {
+      throw new IllegalArgumentException("invalid client_created_at: " + s);
+    }
+    return t;
+  }
+
+  private List<ImportRowError> readErrors(ImportJobEntity job) {
+    if (job.getErrorsJson() == null || job.getErrorsJson().isBlank()) {
+      return new ArrayList<>();
+    }
+    try {
+      return new ArrayList<>(objectMapper.readValue(job.getErrorsJson(), new TypeReference<List<ImportRowError>>() {}));
+    } catch (JsonProcessingException e) {
+      return new ArrayList<>();
+    }
+  }
+
+  private String writeErrors(List<ImportRowError> errors) {
+    try {
+      return objectMapper.writeValueAsString(errors);
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+  }
+
+  private ImportJobOut toOut(ImportJobEntity job) {
+    double rate = 0;
+    if (job.getStartedAt() != null) {
+      OffsetDateTime end = job.getFinishedAt() == null ? OffsetDateTime.now(ZoneOffset.UTC) : job.getFinishedAt();
+      long ms = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+      rate = Math.round((job.getCheckpointRow() - job.getRunStartRow()) * 10_000d / ms) / 10d;
+    }
+    return new ImportJobOut(
+        job.getId(),
+        job.getProjectId(),
+        job.getKind(),
+        job.getStatus(),
+        job.getFileName(),
+        job.getRowsImported(),
+        job.getRowsRejected(),
+        job.getCheckpointRow(),
+        rate,
+        readErrors(job),
+        job.getMessage(),
+        job.getCreatedAt(),
+        job.getStartedAt(),
+        job.getFinishedAt());
+  }
+
+  private Path importsDirPath() {
+    Path dir = Path.of(importsDir);
+    return dir.isAbsolute() ? dir : SharedBackendPaths.repoPath(importsDir);
+  }
+}
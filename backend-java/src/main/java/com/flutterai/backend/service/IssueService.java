@@ -1,8 +1,12 @@
 package com.flutterai.backend.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,7 +14,11 @@ import com.flutterai.backend.domain.IssueReportEntity;
 import com.flutterai.backend.domain.ProjectEntity;
 import com.flutterai.backend.dto.ActionDtos.RectificationActionIn;
 import com.flutterai.backend.dto.IssueDtos.IssueReportIn;
+import com.flutterai.backend.dto.IssueDtos.IssueReportOut;
+import com.flutterai.backend.dto.IssueDtos.OverdueIssueOut;
 import com.flutterai.backend.repo.IssueReportRepository;
+import com.flutterai.backend.repo.ReadPage;
+import com.flutterai.backend.repo.RecordReadRepository;
 import com.flutterai.backend.util.RegionParser;
 import com.flutterai.backend.util.RegionParser.ParsedRegion;
 import com.flutterai.backend.util.UploadRefNormalizer;
@@ -18,14 +26,17 @@ import com.flutterai.backend.util.UploadRefNormalizer;
 @Service
 public class IssueService {
   private final IssueReportRepository issueRepository;
+  private final RecordReadRepository readRepository;
   private final ProjectService projectService;
   private final ActionService actionService;
 
   public IssueService(
       IssueReportRepository issueRepository,
+      RecordReadRepository readRepository,
       ProjectService projectService,
       ActionService actionService) {
     this.issueRepository = issueRepository;
+    this.readRepository = readRepository;
     this.projectService = projectService;
     this.actionService = actionService;
   }
@@ -55,25 +66,77 @@ public class IssueService {
     return issueRepository.save(row);
   }
 
+  /**
+   * Bulk form of {@link #upsert} used by the importer: regions are parsed by the caller and
+   * existing client ids are resolved with one query for the whole batch.
+   */
+  @Transactional
+  public void upsertBatch(long projectId, List<IssueReportIn> payloads, List<ParsedRegion> parsed) {
+    Set<String> clientIds = new HashSet<>();
+    for (IssueReportIn p : payloads) {
+      if (p.clientRecordId() != null && !p.clientRecordId().isBlank()) {
+        clientIds.add(p.clientRecordId().trim());
+      }
+    }
+    Map<String, IssueReportEntity> byClientId = new HashMap<>();
+    if (!clientIds.isEmpty()) {
+      for (IssueReportEntity e : issueRepository.findByProjectIdAndClientRecordIdIn(projectId, clientIds)) {
+        byClientId.putIfAbsent(e.getClientRecordId(), e);
+      }
+    }
+
+    List<IssueReportEntity> created = new ArrayList<>();
+    for (int i = 0; i < payloads.size(); i++) {
+      IssueReportIn p = payloads.get(i);
+      String clientId = p.clientRecordId() == null || p.clientRecordId().isBlank() ? null : p.clientRecordId().trim();
+      IssueReportEntity row = clientId == null ? null : byClientId.get(clientId);
+      if (row == null) {
+        row = new IssueReportEntity();
+        row.setProjectId(projectId);
+        created.add(row);
+        if (clientId != null) {
+          byClientId.put(clientId, row);
+        }
+      }
+      apply(row, p, parsed.get(i), UploadRefNormalizer.normalize(p.photoPath()));
+    }
+    issueRepository.saveAll(created);
+  }
+
   @Transactional(readOnly = true)
-  public List<IssueReportEntity> list(long projectId, int limit, String status, String responsibleUnit) {
+  public ReadPage<IssueReportOut> list(long projectId, int limit, String status, String responsibleUnit, String cursor) {
     int safeLimit = Math.max(1, Math.min(limit <= 0 ? 100 : limit, 500));
-    var pageable = PageRequest.of(0, safeLimit);
 
     boolean hasStatus = status != null && !status.trim().isEmpty();
     boolean hasUnit = responsibleUnit != null && !responsibleUnit.trim().isEmpty();
 
-    if (hasStatus && hasUnit) {
-      return issueRepository.findByProjectIdAndStatusAndResponsibleUnitOrderByCreatedAtDesc(projectId, status, responsibleUnit, pageable);
-    }
-    if (hasStatus) {
-      return issueRepository.findByProjectIdAndStatusOrderByCreatedAtDesc(projectId, status, pageable);
-    }
-    if (hasUnit) {
-      return issueRepository.findByProjectIdAndResponsibleUnitOrderByCreatedAtDesc(projectId, responsibleUnit, pageable);
-    }
+    return readRepository.issuePage(
+        projectId,
+        hasStatus ? status : null,
+        hasUnit ? responsibleUnit : null,
+        cursor,
+        safeLimit
+    );
+  }
 
-    return issueRepository.findByProjectIdOrderByCreatedAtDesc(projectId, pageable);
+  /**
+   * Open issues past their deadline, most overdue first.
+   */
+  @Transactional(readOnly = true)
+  public ReadPage<OverdueIssueOut> listOverdue(long projectId, String building, int limit, String cursor) {
+    int safeLimit = Math.max(1, Math.min(limit <= 0 ? 100 : limit, 500));
+    String b = building == null || building.trim().isEmpty() ? null : building.trim();
+    return readRepository.overdueIssuePage(projectId, b, System.currentTimeMillis(), cursor, safeLimit);
+  }
+
+  @Transactional(readOnly = true)
+  public IssueReportOut getOut(long issueId) {
+    return readRepository.issueById(issueId);
+  }
+
+  @Transactional(readOnly = true)
+  public boolean exists(long issueId) {
+    return issueRepository.existsById(issueId);
   }
 
   @Transactional(readOnly = true)
@@ -116,6 +179,7 @@ public class IssueService {
     row.setBuildingNo(parsed.buildingNo());
     row.setFloorNo(parsed.floorNo());
     row.setZone(parsed.zone());
+    row.setRegionParserVersion(RegionParser.VERSION);
 
     row.setDivision(payload.division());
     row.setSubdivision(payload.subdivision());
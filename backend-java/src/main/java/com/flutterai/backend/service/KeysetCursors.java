@@ -0,0 +1,47 @@
+package com.flutterai.backend.service;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import com.flutterai.backend.util.CursorCodec;
+import com.flutterai.backend.util.SqliteTimestamps;
+
+/**
+ * Bridges opaque list cursors to Spring Data keyset scrolling on (createdAt, id).
+ */
+public final class KeysetCursors {
+  private KeysetCursors() {}
+
+  public static ScrollPosition position(String cursor) {
+    CursorCodec.Keyset k = CursorCodec.decodeKeyset(cursor);
+    if (k == null) {
+      return ScrollPosition.keyset();
+    }
+    if (k.createdAt() == null) {
+      // Among rows without createdAt, which are scrolled by id alone.
+      return ScrollPosition.forward(Map.of("id", k.id()));
+    }
+    OffsetDateTime createdAt = SqliteTimestamps.toOffsetDateTime(k.createdAt());
+    if (createdAt == null) {
+      throw new IllegalArgumentException("invalid cursor");
+    }
+    return ScrollPosition.forward(Map.of("createdAt", createdAt, "id", k.id()));
+  }
+
+  /**
+   * Cursor of the page after {@code window}, or null when it was the last page. A last row without
+   * createdAt yields a NULL-kind cursor, which {@link #position} turns into an id-only position.
+   */
+  public static <T> String next(Window<T> window, Function<T, OffsetDateTime> createdAt, ToLongFunction<T> id) {
+    if (!window.hasNext() || window.isEmpty()) {
+      return null;
+    }
+    T last = window.getContent().get(window.size() - 1);
+    return CursorCodec.encodeKeyset(createdAt.apply(last), id.applyAsLong(last));
+  }
+}
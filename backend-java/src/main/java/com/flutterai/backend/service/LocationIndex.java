@@ -0,0 +1,424 @@
+package com.flutterai.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-project building → floor → zone tree with live counters, so drill-downs don't need a new
+ * GROUP BY per level.
+ *
+ * A project's tree is built on first use from one scan of its acceptance records and issues.
+ * After that, each read first applies the rows and tombstones whose change_seq is past the last
+ * one seen. That covers every writer: this backend, the importer, re-parse jobs and the Python
+ * backend. Each row's contribution is remembered, so an update or delete subtracts exactly what
+ * the row added. Overdue depends on the clock, so nodes keep open issues' deadline_at and count them
+ * at read time.
+ */
+@Service
+public class LocationIndex {
+  public static final String UNPARSED = "未解析";
+
+  private static final int QUALIFIED = 0;
+  private static final int PENDING = 1;
+  private static final int UNQUALIFIED = 2;
+  private static final long NO_DEADLINE = Long.MIN_VALUE;
+
+  private static final String ACCEPTANCE_SELECT = "SELECT id, building_no, floor_no, zone, "
+      + "COALESCE(item_code, item, indicator_code, indicator), result, change_seq FROM acceptance_records ";
+  private static final String ISSUE_SELECT = "SELECT id, building_no, floor_no, zone, status, severity, "
+      + "deadline_at, change_seq FROM issue_reports ";
+
+  private final JdbcTemplate readOnlyJdbc;
+  private final Map<Long, Tree> trees = new ConcurrentHashMap<>();
+
+  public LocationIndex(@Qualifier("readOnlyJdbcTemplate") JdbcTemplate readOnlyJdbc) {
+    this.readOnlyJdbc = readOnlyJdbc;
+  }
+
+  /**
+   * The node at {@code building}/{@code floor}/{@code zone} (each optional, outer levels first)
+   * with its children down to {@code depth} levels, or null if there is no such node.
+   */
+  public Map<String, Object> tree(long projectId, String building, Integer floor, String zone, int depth) {
+    Tree t = trees.computeIfAbsent(projectId, k -> new Tree());
+    synchronized (t) {
+      refresh(projectId, t);
+      Node n = t.root;
+      if (building != null) {
+        n = n.children.get(building);
+      }
+      if (n != null && floor != null) {
+        n = n.children.get(floor);
+      }
+      if (n != null && zone != null) {
+        n = n.children.get(zone);
+      }
+      return n == null ? null : toMap(n, Math.max(0, depth), System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Dense building × floor matrix of open, severe and overdue issues and unqualified acceptance
+   * items, read straight off the floor nodes. {@code buildings} and {@code floors} are the sorted
+   * axes; each metric is a flat row-major int array ({@code cells[b * floors.size() + f]}), with 0
+   * where a building has no such floor. Rows without a parsed floor (or floor 0) are left out, and so
+   * are buildings left with no floors.
+   */
+  public Map<String, Object> heatmap(long projectId) {
+    Tree t = trees.computeIfAbsent(projectId, k -> new Tree());
+    synchronized (t) {
+      refresh(projectId, t);
+      long now = System.currentTimeMillis();
+      // Only buildings with at least one parsed floor get a row (so 未解析 usually has none).
+      List<Node> buildings = new ArrayList<>();
+      TreeMap<Integer, Integer> floorIndex = new TreeMap<>();
+      for (Node b : t.root.children.values()) {
+        boolean hasFloor = false;
+        for (Object f : b.children.keySet()) {
+          if ((Integer) f != 0) {
+            floorIndex.put((Integer) f, 0);
+            hasFloor = true;
+          }
+        }
+        if (hasFloor) {
+          buildings.add(b);
+        }
+      }
+      buildings.sort((a, b) -> compareKeys(a.key, b.key));
+      int col = 0;
+      for (Map.Entry<Integer, Integer> e : floorIndex.entrySet()) {
+        e.setValue(col++);
+      }
+
+      int width = floorIndex.size();
+      int[] open = new int[buildings.size() * width];
+      int[] severe = new int[open.length];
+      int[] overdue = new int[open.length];
+      int[] unqualified = new int[open.length];
+      List<Object> buildingKeys = new ArrayList<>(buildings.size());
+      for (int row = 0; row < buildings.size(); row++) {
+        Node b = buildings.get(row);
+        buildingKeys.add(b.key);
+        for (Node f : b.children.values()) {
+          Integer c = floorIndex.get((Integer) f.key);
+          if (c == null) {
+            continue;
+          }
+          int i = row * width + c;
+          open[i] = f.issuesOpen;
+          severe[i] = f.issuesOpenSevere;
+          overdue[i] = overdue(f, now);
+          unqualified[i] = f.itemsUnqualified;
+        }
+      }
+
+      Map<String, Object> out = new LinkedHashMap<>();
+      out.put("buildings", buildingKeys);
+      out.put("floors", new ArrayList<>(floorIndex.keySet()));
+      out.put("issues_open", open);
+      out.put("issues_open_severe", severe);
+      out.put("issues_open_overdue", overdue);
+      out.put("acceptance_unqualified", unqualified);
+      out.put("seq", t.seq);
+      return out;
+    }
+  }
+
+  // ---- maintenance ----
+
+  private void refresh(long projectId, Tree t) {
+    // Read first: anything committed after it is re-applied next time, and applying is idempotent.
+    long clock = currentSeq();
+    if (t.loaded && clock == t.seq) {
+      return;
+    }
+    long since = t.loaded ? t.seq : -1;
+    List<Change> changes = new ArrayList<>();
+    String filter = since < 0 ? "WHERE project_id = ?" : "WHERE project_id = ? AND change_seq > ?";
+    Object[] args = since < 0 ? new Object[] {projectId} : new Object[] {projectId, since};
+
+    readOnlyJdbc.query(ACCEPTANCE_SELECT + filter, rs -> {
+      String itemKey = rs.getString(5);
+      String result = rs.getString(6);
+      int r = "unqualified".equals(result) ? UNQUALIFIED : "pending".equals(result) ? PENDING : QUALIFIED;
+      changes.add(new Change(rs.getLong(7), true, rs.getLong(1),
+          new Place(rs.getString(2), floorOf(rs.getObject(3)), rs.getString(4)),
+          new Acceptance(null, itemKey == null ? "" : itemKey, r), null));
+    }, args);
+
+    readOnlyJdbc.query(ISSUE_SELECT + filter, rs -> {
+      String status = rs.getString(5) == null ? "" : rs.getString(5).trim().toLowerCase(Locale.ROOT);
+      boolean open = "open".equals(status);
+      Object due = rs.getObject(7);
+      long deadline = open && due instanceof Number d ? d.longValue() : NO_DEADLINE;
+      boolean severe = open && "severe".equals(DashboardService.normalizeSeverityKey(rs.getString(6)));
+      changes.add(new Change(rs.getLong(8), false, rs.getLong(1),
+          new Place(rs.getString(2), floorOf(rs.getObject(3)), rs.getString(4)), null,
+          new Issue(null, open, "closed".equals(status), severe, deadline)));
+    }, args);
+
+    if (since >= 0) {
+      readOnlyJdbc.query(
+          "SELECT entity_type, entity_id, change_seq FROM sync_tombstones "
+              + "WHERE project_id = ? AND change_seq > ? AND entity_type IN ('acceptance', 'issue')",
+          rs -> {
+            changes.add(new Change(rs.getLong(3), "acceptance".equals(rs.getString(1)), rs.getLong(2), null, null, null));
+          },
+          projectId, since);
+      // Row ids can be reused after a delete, so tombstones and rows are applied in sequence order.
+      changes.sort(Comparator.comparingLong(Change::seq));
+    }
+
+    for (Change c : changes) {
+      if (c.acceptance()) {
+        Acceptance old = t.acceptance.remove(c.id());
+        if (old != null) {
+          addAcceptance(old, -1);
+        }
+        if (c.place() != null) {
+          Acceptance a = new Acceptance(t.leaf(c.place()), c.acceptanceRow().itemKey(), c.acceptanceRow().result());
+          addAcceptance(a, 1);
+          t.acceptance.put(c.id(), a);
+        }
+      } else {
+        Issue old = t.issues.remove(c.id());
+        if (old != null) {
+          addIssue(old, -1);
+        }
+        if (c.place() != null) {
+          Issue row = c.issueRow();
+          Issue i = new Issue(t.leaf(c.place()), row.open(), row.closed(), row.severe(), row.deadline());
+          addIssue(i, 1);
+          t.issues.put(c.id(), i);
+        }
+      }
+    }
+    t.seq = clock;
+    t.loaded = true;
+  }
+
+  private long currentSeq() {
+    Long seq = readOnlyJdbc.queryForObject("SELECT seq FROM sync_clock WHERE id = 1", Long.class);
+    return seq == null ? 0 : seq;
+  }
+
+  private static void addAcceptance(Acceptance a, int delta) {
+    for (Node n = a.leaf(); n != null; n = n.parent) {
+      n.records += delta;
+      int[] counts = n.items.computeIfAbsent(a.itemKey(), k -> new int[3]);
+      int before = worst(counts);
+      counts[a.result()] += delta;
+      int after = worst(counts);
+      if (before != after) {
+        n.bumpItems(before, -1);
+        n.bumpItems(after, 1);
+      }
+      if (after < 0) {
+        n.items.remove(a.itemKey());
+      }
+    }
+    prune(a.leaf());
+  }
+
+  private static void addIssue(Issue i, int delta) {
+    for (Node n = i.leaf(); n != null; n = n.parent) {
+      n.issues += delta;
+      if (i.open()) {
+        n.issuesOpen += delta;
+        if (i.severe()) {
+          n.issuesOpenSevere += delta;
+        }
+        if (i.deadline() != NO_DEADLINE) {
+          if (n.openDeadlines == null) {
+            n.openDeadlines = new TreeMap<>();
+          }
+          n.openDeadlines.merge(i.deadline(), delta, (x, y) -> x + y == 0 ? null : x + y);
+        }
+      } else if (i.closed()) {
+        n.issuesClosed += delta;
+      }
+    }
+    prune(i.leaf());
+  }
+
+  // Nodes left without rows or children disappear, e.g. after a re-parse moves rows elsewhere.
+  private static void prune(Node n) {
+    while (n.parent != null && n.records == 0 && n.issues == 0 && n.children.isEmpty()) {
+      n.parent.children.remove(n.key);
+      n = n.parent;
+    }
+  }
+
+  private static int worst(int[] counts) {
+    if (counts[UNQUALIFIED] > 0) {
+      return UNQUALIFIED;
+    }
+    if (counts[PENDING] > 0) {
+      return PENDING;
+    }
+    return counts[QUALIFIED] > 0 ? QUALIFIED : -1;
+  }
+
+  private static Integer floorOf(Object raw) {
+    return raw instanceof Number n ? n.intValue() : null;
+  }
+
+  // ---- output ----
+
+  private static Map<String, Object> toMap(Node n, int depth, long now) {
+    Map<String, Object> out = new LinkedHashMap<>();
+    if (n.level() > 0) {
+      out.put(n.level() == 1 ? "building" : n.level() == 2 ? "floor" : "zone", n.key);
+    }
+    out.put("acceptance_records", n.records);
+    out.put("acceptance_total", n.itemsQualified + n.itemsPending + n.itemsUnqualified);
+    out.put("acceptance_qualified", n.itemsQualified);
+    out.put("acceptance_unqualified", n.itemsUnqualified);
+    out.put("acceptance_pending", n.itemsPending);
+    out.put("issues_total", n.issues);
+    out.put("issues_open", n.issuesOpen);
+    out.put("issues_closed", n.issuesClosed);
+    out.put("issues_open_severe", n.issuesOpenSevere);
+    out.put("issues_open_overdue", overdue(n, now));
+    if (depth > 0 && n.level() < 3) {
+      List<Node> kids = new ArrayList<>(n.children.values());
+      kids.sort((a, b) -> compareKeys(a.key, b.key));
+      List<Map<String, Object>> children = new ArrayList<>(kids.size());
+      for (Node k : kids) {
+        children.add(toMap(k, depth - 1, now));
+      }
+      out.put("children", children);
+    }
+    return out;
+  }
+
+  private static int overdue(Node n, long now) {
+    int overdue = 0;
+    if (n.openDeadlines != null) {
+      for (int c : n.openDeadlines.headMap(now, false).values()) {
+        overdue += c;
+      }
+    }
+    return overdue;
+  }
+
+  // Floors numerically; buildings and zones by their first number ("2栋" before "10栋"), then by text.
+  private static int compareKeys(Object a, Object b) {
+    if (a instanceof Integer x && b instanceof Integer y) {
+      return Integer.compare(x, y);
+    }
+    String sa = a.toString();
+    String sb = b.toString();
+    long na = leadingNumber(sa);
+    long nb = leadingNumber(sb);
+    if (na != nb) {
+      return na < 0 ? 1 : nb < 0 ? -1 : Long.compare(na, nb);
+    }
+    return sa.compareTo(sb);
+  }
+
+  private static long leadingNumber(String s) {
+    long v = -1;
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c >= '0' && c <= '9') {
+        v = (v < 0 ? 0 : v * 10) + (c - '0');
+        if (v > Integer.MAX_VALUE) {
+          return Integer.MAX_VALUE;
+        }
+      } else if (v >= 0) {
+        break;
+      }
+    }
+    return v;
+  }
+
+  // ---- structures ----
+
+  private record Place(String building, Integer floor, String zone) {}
+
+  // leaf is null while a row is in flight from the query to the tree.
+  private record Acceptance(Node leaf, String itemKey, int result) {}
+
+  private record Issue(Node leaf, boolean open, boolean closed, boolean severe, long deadline) {}
+
+  // place == null: tombstone.
+  private record Change(long seq, boolean acceptance, long id, Place place, Acceptance acceptanceRow, Issue issueRow) {}
+
+  private static final class Tree {
+    final Node root = new Node(null, null);
+    final Map<Long, Acceptance> acceptance = new HashMap<>();
+    final Map<Long, Issue> issues = new HashMap<>();
+    long seq;
+    boolean loaded;
+
+    // Deepest node the row belongs to: building always (UNPARSED if missing), floor and zone when parsed.
+    Node leaf(Place p) {
+      String b = p.building() == null || p.building().isBlank() ? UNPARSED : p.building().trim();
+      Node n = root.child(b);
+      if (p.floor() != null) {
+        n = n.child(p.floor());
+        if (p.zone() != null && !p.zone().isBlank()) {
+          n = n.child(p.zone().trim());
+        }
+      }
+      return n;
+    }
+  }
+
+  private static final class Node {
+    final Object key;
+    final Node parent;
+    final Map<Object, Node> children = new HashMap<>(4);
+    // item key -> record counts by result; an item counts once per node, under its worst result.
+    final Map<String, int[]> items = new HashMap<>();
+    int records;
+    int itemsQualified;
+    int itemsPending;
+    int itemsUnqualified;
+    int issues;
+    int issuesOpen;
+    int issuesClosed;
+    int issuesOpenSevere;
+    // Open issues' due instants (epoch millis) -> count; only nodes with deadlines allocate it.
+    TreeMap<Long, Integer> openDeadlines;
+
+    Node(Object key, Node parent) {
+      this.key = key;
+      this.parent = parent;
+    }
+
+    Node child(Object k) {
+      return children.computeIfAbsent(k, x -> new Node(x, this));
+    }
+
+    int level() {
+      int l = 0;
+      for (Node n = parent; n != null; n = n.parent) {
+        l++;
+      }
+      return l;
+    }
+
+    void bumpItems(int result, int delta) {
+      switch (result) {
+        case QUALIFIED -> itemsQualified += delta;
+        case PENDING -> itemsPending += delta;
+        case UNQUALIFIED -> itemsUnqualified += delta;
+        default -> {
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,368 @@
+package com.flutterai.backend.service;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Multi-resolution tile pyramids for panoramas, so the viewer can fetch only the visible tiles
+ * at the zoom it needs instead of the whole equirectangular image.
+ *
+ * Level {@code z} is the image scaled by {@code 2^(maxZ - z)}; level 0 fits in one tile. Tiles are
+ * JPEGs under {@code uploads/.tiles/<ab/cd/name>/<z>/<x>_<y>.jpg}. The source is decoded in
+ * horizontal strips bounded by {@code decode-budget-pixels}; each level keeps one tile-row of
+ * pixels, writes it out when full and pushes a 2x2 box-filtered half down to the next level, so
+ * memory stays at a few tile-rows however large the panorama. A pyramid is built in a temp dir and
+ * renamed into place with its manifest, so readers never see a partial one.
+ *
+ * Uploads that look equirectangular (2:1, at least {@code min-width}) are tiled in the background
+ * right after upload; any other image is tiled when its manifest is first requested.
+ */
+@Service
+public class PanoramaTiles {
+  public record Level(int z, int width, int height, int cols, int rows) {}
+
+  public record Manifest(int width, int height, int tileSize, List<Level> levels) {}
+
+  private static final String TILES_DIR = ".tiles";
+  private static final String MANIFEST = "manifest.json";
+
+  private final PhotoStore photoStore;
+  private final ObjectMapper objectMapper;
+  private final ThreadPoolExecutor pool;
+  private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+  // Names ImageIO could not decode; answered without re-queueing.
+  private final Set<String> unsupported = ConcurrentHashMap.newKeySet();
+
+  @Value("${app.panorama.tiles-enabled:true}")
+  private boolean enabled;
+
+  @Value("${app.panorama.min-width:4096}")
+  private int minWidth;
+
+  @Value("${app.panorama.tile-size:512}")
+  private int tileSize;
+
+  @Value("${app.panorama.quality:0.8}")
+  private float quality;
+
+  @Value("${app.panorama.decode-budget-pixels:16777216}")
+  private long decodeBudgetPixels;
+
+  public PanoramaTiles(PhotoStore photoStore, ObjectMapper objectMapper) {
+    this.photoStore = photoStore;
+    this.objectMapper = objectMapper;
+    // One worker: tiling is I/O and memory heavy, and nothing waits on it synchronously.
+    this.pool = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(32), r -> {
+      Thread t = new Thread(r, "panorama-tiles");
+      t.setDaemon(true);
+      t.setPriority(Thread.MIN_PRIORITY);
+      return t;
+    });
+    this.pool.allowCoreThreadTimeOut(true);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * Equirectangular 2:1 frame of at least {@code min-width} pixels.
+   */
+  public boolean isPanorama(int width, int height) {
+    return width >= minWidth && Math.abs(width - 2L * height) <= width / 50;
+  }
+
+  /**
+   * Queues tiling for a freshly stored upload if it is a panorama; best effort.
+   */
+  public void pregenerate(String name) {
+    if (enabled) {
+      enqueue(baseName(name), true);
+    }
+  }
+
+  /**
+   * Queues tiling for any image (no-op if queued or done). False when the queue is full.
+   */
+  public boolean request(String name) {
+    return enqueue(baseName(name), false);
+  }
+
+  public boolean isUnsupported(String name) {
+    return unsupported.contains(baseName(name));
+  }
+
+  public Manifest manifest(String name) {
+    Path m = pyramidDir(baseName(name)).resolve(MANIFEST);
+    if (!Files.isRegularFile(m)) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(m.toFile(), Manifest.class);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  public Path tile(String name, int z, int x, int y) {
+    Path p = pyramidDir(baseName(name)).resolve(Integer.toString(z)).resolve(x + "_" + y + ".jpg");
+    return Files.isRegularFile(p) ? p : null;
+  }
+
+  /**
+   * Deletes pyramids whose original is gone (swept by GC) and temp dirs of interrupted runs.
+   */
+  public int pruneOrphans() throws IOException {
+    Path root = photoStore.dir().resolve(TILES_DIR);
+    if (!Files.isDirectory(root)) {
+      return 0;
+    }
+    List<Path> pyramids;
+    try (Stream<Path> s = Files.walk(root, 3)) {
+      pyramids = s.filter(p -> p.getNameCount() - root.getNameCount() == 3 && Files.isDirectory(p)).toList();
+    }
+    int pruned = 0;
+    for (Path p : pyramids) {
+      String name = p.getFileName().toString();
+      int part = name.lastIndexOf(".part-");
+      boolean stale = part > 0
+          ? !inFlight.contains(name.substring(1, part))
+          : photoStore.resolve(PhotoStore.sharded(name)) == null;
+      if (stale) {
+        deleteTree(p);
+        pruned++;
+      }
+    }
+    return pruned;
+  }
+
+  private boolean enqueue(String name, boolean panoramasOnly) {
+    if (unsupported.contains(name) || Files.isRegularFile(pyramidDir(name).resolve(MANIFEST))) {
+      return true;
+    }
+    if (!inFlight.add(name)) {
+      return true;
+    }
+    try {
+      pool.execute(() -> {
+        try {
+          generate(name, panoramasOnly);
+        } finally {
+          inFlight.remove(name);
+        }
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(name);
+      return false;
+    }
+  }
+
+  private void generate(String name, boolean panoramasOnly) {
+    Path source = photoStore.resolve(PhotoStore.sharded(name));
+    Path target = pyramidDir(name);
+    if (source == null || Files.isRegularFile(target.resolve(MANIFEST))) {
+      return;
+    }
+    Path work = target.resolveSibling("." + name + ".part-" + UUID.randomUUID().toString().replace("-", ""));
+    try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+      Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+      if (readers == null || !readers.hasNext()) {
+        unsupported.add(name);
+        return;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, false, true);
+        int w = reader.getWidth(0);
+        int h = reader.getHeight(0);
+        if (panoramasOnly && !isPanorama(w, h)) {
+          return;
+        }
+        Manifest manifest = build(reader, w, h, work);
+        objectMapper.writeValue(work.resolve(MANIFEST).toFile(), manifest);
+      } finally {
+        reader.dispose();
+      }
+      Files.createDirectories(target.getParent());
+      try {
+        Files.move(work, target, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+        // Another run finished first.
+        deleteTree(work);
+      }
+    } catch (IOException | RuntimeException e) {
+      unsupported.add(name);
+      try {
+        deleteTree(work);
+      } catch (IOException ignored) {
+        // left for pruneOrphans
+      }
+    }
+  }
+
+  private Manifest build(ImageReader reader, int w, int h, Path work) throws IOException {
+    int maxZ = 0;
+    while (ceilDiv(Math.max(w, h), 1 << maxZ) > tileSize) {
+      maxZ++;
+    }
+    List<Level> levels = new ArrayList<>(maxZ + 1);
+    LevelSink next = null;
+    for (int z = 0; z <= maxZ; z++) {
+      int lw = ceilDiv(w, 1 << (maxZ - z));
+      int lh = ceilDiv(h, 1 << (maxZ - z));
+      levels.add(new Level(z, lw, lh, ceilDiv(lw, tileSize), ceilDiv(lh, tileSize)));
+      next = new LevelSink(work.resolve(Integer.toString(z)), lw, next);
+    }
+    LevelSink top = next;
+
+    int stripRows = (int) Math.max(16, Math.min(h, decodeBudgetPixels / w));
+    ImageReadParam param = reader.getDefaultReadParam();
+    for (int y0 = 0; y0 < h; y0 += stripRows) {
+      int rows = Math.min(stripRows, h - y0);
+      param.setSourceRegion(new Rectangle(0, y0, w, rows));
+      BufferedImage strip = reader.read(0, param);
+      top.push(strip.getRGB(0, 0, w, rows, null, 0, w), rows);
+    }
+    top.finish();
+    return new Manifest(w, h, tileSize, levels);
+  }
+
+  /**
+   * One pyramid level: buffers a tile-row of pixels, writes its tiles when full and feeds the
+   * halved rows to the next coarser level.
+   */
+  private final class LevelSink {
+    final Path dir;
+    final int width;
+    final LevelSink coarser;
+    final int[] buf;
+    int rows;
+    int tileRow;
+
+    LevelSink(Path dir, int width, LevelSink coarser) {
+      this.dir = dir;
+      this.width = width;
+      this.coarser = coarser;
+      this.buf = new int[width * tileSize];
+    }
+
+    void push(int[] src, int n) throws IOException {
+      int r = 0;
+      while (r < n) {
+        int take = Math.min(n - r, tileSize - rows);
+        System.arraycopy(src, r * width, buf, rows * width, take * width);
+        rows += take;
+        r += take;
+        if (rows == tileSize) {
+          flush();
+        }
+      }
+    }
+
+    void finish() throws IOException {
+      if (rows > 0) {
+        flush();
+      }
+      if (coarser != null) {
+        coarser.finish();
+      }
+    }
+
+    private void flush() throws IOException {
+      Files.createDirectories(dir);
+      for (int x = 0, cols = ceilDiv(width, tileSize); x < cols; x++) {
+        int tw = Math.min(tileSize, width - x * tileSize);
+        BufferedImage t = new BufferedImage(tw, rows, BufferedImage.TYPE_INT_RGB);
+        int[] d = ((DataBufferInt) t.getRaster().getDataBuffer()).getData();
+        for (int y = 0; y < rows; y++) {
+          System.arraycopy(buf, y * width + x * tileSize, d, y * tw, tw);
+        }
+        ImageVariants.writeJpeg(t, dir.resolve(x + "_" + tileRow + ".jpg"), quality);
+      }
+      if (coarser != null) {
+        int hr = (rows + 1) / 2;
+        coarser.push(halve(buf, width, rows, coarser.width, hr), hr);
+      }
+      tileRow++;
+      rows = 0;
+    }
+  }
+
+  // 2x2 box filter; an odd last row/column is averaged with itself.
+  private static int[] halve(int[] src, int w, int h, int hw, int hh) {
+    int[] out = new int[hw * hh];
+    for (int oy = 0; oy < hh; oy++) {
+      int r0 = 2 * oy * w;
+      int r1 = Math.min(2 * oy + 1, h - 1) * w;
+      for (int ox = 0; ox < hw; ox++) {
+        int c0 = 2 * ox;
+        int c1 = Math.min(c0 + 1, w - 1);
+        int a = src[r0 + c0];
+        int b = src[r0 + c1];
+        int c = src[r1 + c0];
+        int d = src[r1 + c1];
+        int red = (((a >> 16) & 0xFF) + ((b >> 16) & 0xFF) + ((c >> 16) & 0xFF) + ((d >> 16) & 0xFF) + 2) >> 2;
+        int green = (((a >> 8) & 0xFF) + ((b >> 8) & 0xFF) + ((c >> 8) & 0xFF) + ((d >> 8) & 0xFF) + 2) >> 2;
+        int blue = ((a & 0xFF) + (b & 0xFF) + (c & 0xFF) + (d & 0xFF) + 2) >> 2;
+        out[oy * hw + ox] = (red << 16) | (green << 8) | blue;
+      }
+    }
+    return out;
+  }
+
+  private Path pyramidDir(String name) {
+    return photoStore.dir().resolve(TILES_DIR).resolve(PhotoStore.sharded(name));
+  }
+
+  private static String baseName(String name) {
+    return name.substring(name.lastIndexOf('/') + 1);
+  }
+
+  private static int ceilDiv(int a, int b) {
+    return (a + b - 1) / b;
+  }
+
+  private static void deleteTree(Path root) throws IOException {
+    if (!Files.exists(root)) {
+      return;
+    }
+    List<Path> all;
+    try (Stream<Path> s = Files.walk(root)) {
+      all = s.sorted(Comparator.reverseOrder()).toList();
+    }
+    for (Path p : all) {
+      Files.deleteIfExists(p);
+    }
+  }
+}
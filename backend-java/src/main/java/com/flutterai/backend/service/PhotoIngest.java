@@ -0,0 +1,374 @@
+package com.flutterai.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Node;
+
+import com.flutterai.backend.service.PhotoStore.StoredPhoto;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional ingest stage ({@code app.uploads.ingest.enabled}): photos above {@code max-edge} are
+ * downscaled, and JPEGs carrying metadata are re-encoded at {@code quality}, then stored under the
+ * hash of the new bytes.
+ *
+ * Only the capture time (EXIF DateTimeOriginal) is carried over for the audit trail; the EXIF
+ * orientation is applied to the pixels, and GPS, maker notes, embedded thumbnails and ICC
+ * profiles are dropped. The original is deleted, or kept under {@code uploads/.originals/} when
+ * {@code keep-original} is set. Formats ImageIO cannot decode (HEIC, WebP) are stored as-is, and
+ * panoramas keep their full resolution for {@link PanoramaTiles}.
+ *
+ * Work runs on its own bounded pool; when that is saturated the upload is stored unprocessed
+ * rather than queued behind it.
+ */
+@Service
+public class PhotoIngest {
+  private static final String ORIGINALS_DIR = ".originals";
+  private static final String JPEG_FORMAT = "javax_imageio_jpeg_image_1.0";
+  private static final int APP1 = 0xE1;
+
+  private final PhotoStore photoStore;
+  private final PanoramaTiles panoramaTiles;
+  private final ThreadPoolExecutor pool;
+  // Keyed by original SHA-256: a retry that lands while the first upload is still being processed
+  // shares its result instead of pointing at the original that is about to be removed.
+  private final Map<String, CompletableFuture<StoredPhoto>> inFlight = new ConcurrentHashMap<>();
+
+  @Value("${app.uploads.ingest.enabled:false}")
+  private boolean enabled;
+
+  @Value("${app.uploads.ingest.max-edge:2560}")
+  private int maxEdge;
+
+  @Value("${app.uploads.ingest.quality:0.85}")
+  private float quality;
+
+  @Value("${app.uploads.ingest.keep-original:false}")
+  private boolean keepOriginal;
+
+  public PhotoIngest(
+      PhotoStore photoStore,
+      PanoramaTiles panoramaTiles,
+      @Value("${app.uploads.ingest.threads:2}") int threads,
+      @Value("${app.uploads.ingest.queue-capacity:64}") int queueCapacity) {
+    this.photoStore = photoStore;
+    this.panoramaTiles = panoramaTiles;
+    AtomicInteger n = new AtomicInteger();
+    int size = Math.max(1, threads);
+    this.pool = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+      Thread t = new Thread(r, "photo-ingest-" + n.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+    this.pool.allowCoreThreadTimeOut(true);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * The photo to hand back to the client: the re-encoded one, or {@code stored} itself when ingest
+   * is off, the format is not handled, nothing needs changing or processing failed.
+   */
+  public CompletableFuture<StoredPhoto> process(StoredPhoto stored) {
+    if (!enabled || !candidate(stored.name())) {
+      return CompletableFuture.completedFuture(stored);
+    }
+    if (stored.existing()) {
+      CompletableFuture<StoredPhoto> running = inFlight.get(stored.sha256());
+      return running != null ? running : CompletableFuture.completedFuture(stored);
+    }
+    CompletableFuture<StoredPhoto> f;
+    try {
+      f = CompletableFuture.supplyAsync(() -> reencode(stored), pool);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.completedFuture(stored);
+    }
+    inFlight.put(stored.sha256(), f);
+    f.whenComplete((r, e) -> inFlight.remove(stored.sha256(), f));
+    return f;
+  }
+
+  private static boolean candidate(String name) {
+    String lower = name.toLowerCase(Locale.ROOT);
+    return lower.endsWith(".jpg") || lower.endsWith(".jpeg") || lower.endsWith(".png");
+  }
+
+  // image is null when the photo needs no processing.
+  private record Decoded(BufferedImage image, Exif exif) {}
+
+  private StoredPhoto reencode(StoredPhoto stored) {
+    Path source = photoStore.resolve(stored.name());
+    if (source == null) {
+      return stored;
+    }
+    Path tmp = photoStore.dir().resolve("." + UUID.randomUUID().toString().replace("-", "") + ".ingest");
+    try {
+      Decoded d = decode(source);
+      if (d == null || d.image() == null) {
+        return stored;
+      }
+      BufferedImage img = orient(ImageVariants.resize(d.image(), maxEdge), d.exif() == null ? 1 : d.exif().orientation());
+      byte[] app1 = d.exif() == null || d.exif().dateTimeOriginal() == null ? null : captureTimeExif(d.exif().dateTimeOriginal());
+      writeJpeg(img, tmp, quality, app1);
+
+      StoredPhoto out;
+      try (InputStream in = Files.newInputStream(tmp)) {
+        out = photoStore.store(in, "ingest.jpg", Files.size(tmp));
+      }
+      retire(source, stored.name());
+      return out;
+    } catch (IOException | RuntimeException e) {
+      return stored;
+    } finally {
+      try {
+        Files.deleteIfExists(tmp);
+      } catch (IOException ignored) {
+        // hidden temp file, skipped by GC and migration
+      }
+    }
+  }
+
+  private void retire(Path source, String name) throws IOException {
+    if (!keepOriginal) {
+      Files.deleteIfExists(source);
+      return;
+    }
+    Path target = photoStore.dir().resolve(ORIGINALS_DIR).resolve(name);
+    Files.createDirectories(target.getParent());
+    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Decodes with source subsampling (never more than twice the target edge) and, for JPEG, reads
+   * the APP markers so orientation and capture time can be kept.
+   */
+  private Decoded decode(Path source) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+      if (in == null) {
+        return null;
+      }
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, false);
+        int w = reader.getWidth(0);
+        int h = reader.getHeight(0);
+        if (panoramaTiles.isPanorama(w, h)) {
+          return null; // kept at full resolution for the tile pyramid
+        }
+        boolean jpegMetadata = false;
+        Exif exif = null;
+        IIOMetadata meta = null;
+        try {
+          meta = reader.getImageMetadata(0);
+        } catch (IOException ignored) {
+          // unusual marker layout (e.g. APP1 ahead of JFIF): still decodable, treated as metadata-free
+        }
+        if (meta != null && JPEG_FORMAT.equals(meta.getNativeMetadataFormatName())) {
+          Node tree = meta.getAsTree(JPEG_FORMAT);
+          for (Node n = child(tree, "markerSequence").getFirstChild(); n != null; n = n.getNextSibling()) {
+            if ("unknown".equals(n.getNodeName()) && n instanceof IIOMetadataNode m) {
+              int tag = Integer.parseInt(m.getAttribute("MarkerTag"));
+              jpegMetadata |= tag > 0xE0 && tag <= 0xEF;
+              if (tag == APP1 && exif == null && m.getUserObject() instanceof byte[] b) {
+                exif = Exif.parse(b);
+              }
+            }
+          }
+          jpegMetadata |= child(child(child(tree, "JPEGvariety"), "app0JFIF"), "app2ICC") != null;
+        }
+        if (Math.max(w, h) <= maxEdge && !jpegMetadata) {
+          return new Decoded(null, exif);
+        }
+        int step = Math.max(1, Math.max(w, h) / (maxEdge * 2));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return new Decoded(reader.read(0, param), exif);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  private static Node child(Node parent, String name) {
+    if (parent == null) {
+      return null;
+    }
+    for (Node n = parent.getFirstChild(); n != null; n = n.getNextSibling()) {
+      if (name.equals(n.getNodeName())) {
+        return n;
+      }
+    }
+    return null;
+  }
+
+  private static void writeJpeg(BufferedImage img, Path target, float quality, byte[] app1) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+      writer.setOutput(out);
+      ImageWriteParam p = writer.getDefaultWriteParam();
+      p.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      p.setCompressionQuality(quality);
+      IIOMetadata meta = null;
+      if (app1 != null) {
+        meta = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(img), p);
+        IIOMetadataNode tree = (IIOMetadataNode) meta.getAsTree(JPEG_FORMAT);
+        // EXIF files carry APP1 in place of the JFIF APP0 header.
+        Node variety = child(tree, "JPEGvariety");
+        while (variety.getFirstChild() != null) {
+          variety.removeChild(variety.getFirstChild());
+        }
+        IIOMetadataNode marker = new IIOMetadataNode("unknown");
+        marker.setAttribute("MarkerTag", String.valueOf(APP1));
+        marker.setUserObject(app1);
+        Node seq = child(tree, "markerSequence");
+        seq.insertBefore(marker, seq.getFirstChild());
+        meta.setFromTree(JPEG_FORMAT, tree);
+      }
+      writer.write(null, new IIOImage(img, null, meta), p);
+    } finally {
+      writer.dispose();
+    }
+  }
+
+  /**
+   * Applies an EXIF orientation (2..8) to a TYPE_INT_RGB image.
+   */
+  static BufferedImage orient(BufferedImage src, int orientation) {
+    if (orientation < 2 || orientation > 8) {
+      return src;
+    }
+    int w = src.getWidth();
+    int h = src.getHeight();
+    boolean swap = orientation >= 5;
+    int dw = swap ? h : w;
+    int dh = swap ? w : h;
+    BufferedImage out = new BufferedImage(dw, dh, BufferedImage.TYPE_INT_RGB);
+    int[] s = ((DataBufferInt) src.getRaster().getDataBuffer()).getData();
+    int[] d = ((DataBufferInt) out.getRaster().getDataBuffer()).getData();
+    for (int dy = 0; dy < dh; dy++) {
+      for (int dx = 0; dx < dw; dx++) {
+        int sx;
+        int sy;
+        switch (orientation) {
+          case 2 -> { sx = w - 1 - dx; sy = dy; }
+          case 3 -> { sx = w - 1 - dx; sy = h - 1 - dy; }
+          case 4 -> { sx = dx; sy = h - 1 - dy; }
+          case 5 -> { sx = dy; sy = dx; }
+          case 6 -> { sx = dy; sy = h - 1 - dx; }
+          case 7 -> { sx = w - 1 - dy; sy = h - 1 - dx; }
+          default -> { sx = w - 1 - dy; sy = dx; }
+        }
+        d[dy * dw + dx] = s[sy * w + sx];
+      }
+    }
+    return out;
+  }
+
+  /**
+   * The two EXIF fields ingest cares about. Parsing stops quietly at anything malformed.
+   */
+  record Exif(int orientation, String dateTimeOriginal) {
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_EXIF_IFD = 0x8769;
+    private static final int TAG_DATE_TIME_ORIGINAL = 0x9003;
+
+    static Exif parse(byte[] app1) {
+      if (app1.length < 14 || !"Exif".equals(new String(app1, 0, 4, StandardCharsets.US_ASCII))) {
+        return null;
+      }
+      ByteBuffer b = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+      b.order(b.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+      int orientation = 1;
+      String dto = null;
+      try {
+        int exifIfd = -1;
+        int ifd0 = b.getInt(4);
+        int n = b.getShort(ifd0) & 0xFFFF;
+        for (int i = 0; i < n; i++) {
+          int e = ifd0 + 2 + i * 12;
+          int tag = b.getShort(e) & 0xFFFF;
+          if (tag == TAG_ORIENTATION) {
+            orientation = b.getShort(e + 8) & 0xFFFF;
+          } else if (tag == TAG_EXIF_IFD) {
+            exifIfd = b.getInt(e + 8);
+          }
+        }
+        if (exifIfd > 0) {
+          n = b.getShort(exifIfd) & 0xFFFF;
+          for (int i = 0; i < n; i++) {
+            int e = exifIfd + 2 + i * 12;
+            if ((b.getShort(e) & 0xFFFF) == TAG_DATE_TIME_ORIGINAL) {
+              int count = b.getInt(e + 4);
+              int off = count > 4 ? b.getInt(e + 8) : e + 8;
+              byte[] s = new byte[Math.max(0, Math.min(count, 32) - 1)];
+              b.get(off, s);
+              dto = new String(s, StandardCharsets.US_ASCII);
+            }
+          }
+        }
+      } catch (IndexOutOfBoundsException ignored) {
+        // truncated or odd EXIF: keep what was read
+      }
+      return new Exif(orientation, dto);
+    }
+  }
+
+  /**
+   * Minimal big-endian EXIF APP1 payload holding only DateTimeOriginal.
+   */
+  static byte[] captureTimeExif(String dateTimeOriginal) {
+    byte[] value = new byte[20];
+    byte[] src = dateTimeOriginal.getBytes(StandardCharsets.US_ASCII);
+    System.arraycopy(src, 0, value, 0, Math.min(src.length, 19));
+    ByteBuffer b = ByteBuffer.allocate(6 + 44 + value.length).order(ByteOrder.BIG_ENDIAN);
+    b.put("Exif".getBytes(StandardCharsets.US_ASCII)).put((byte) 0).put((byte) 0);
+    // TIFF header, IFD0 at 8 with the Exif IFD pointer, Exif IFD at 26, string at 44.
+    b.putShort((short) 0x4D4D).putShort((short) 42).putInt(8);
+    b.putShort((short) 1).putShort((short) Exif.TAG_EXIF_IFD).putShort((short) 4).putInt(1).putInt(26).putInt(0);
+    b.putShort((short) 1).putShort((short) Exif.TAG_DATE_TIME_ORIGINAL).putShort((short) 2).putInt(20).putInt(44).putInt(0);
+    b.put(value);
+    return b.array();
+  }
+}
@@ -0,0 +1,295 @@
+package com.flutterai.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flutterai.backend.util.SharedBackendPaths;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Content-addressed photo store over the shared uploads dir: a blob is named by the SHA-256 of its
+ * bytes, so re-uploads (timeouts, offline replays, the same shot on several actions) collapse into
+ * one file. Which rows use a blob is tracked in {@code photo_refs}.
+ *
+ * The body is copied straight from the request stream into the destination file through a fixed
+ * buffer, hashing (SHA-256) and counting as it goes, so a photo is never held in the heap whole.
+ * Data lands in a hidden {@code .part} file and is renamed to its hash name only once complete.
+ */
+@Service
+public class PhotoStore {
+  // existing: identical content was already stored, nothing new was written.
+  public record StoredPhoto(String name, String path, String sha256, long size, boolean existing) {}
+
+  /**
+   * One part of a batch upload.
+   */
+  public interface Source {
+    String originalName();
+
+    long declaredLength();
+
+    InputStream open() throws IOException;
+  }
+
+  private static final Set<String> ALLOWED_EXT = Set.of(".jpg", ".jpeg", ".png", ".webp", ".heic");
+  private static final int COPY_BUFFER = 64 * 1024;
+
+  @Value("${app.uploads-dir:./uploads}")
+  private String uploadsDir;
+
+  @Value("${app.uploads.max-photo-bytes:41943040}")
+  private long maxPhotoBytes;
+
+  // Shared by all batch uploads, so concurrent batches cannot saturate the disk together.
+  private final ExecutorService batchPool;
+
+  public PhotoStore(@Value("${app.uploads.batch-parallelism:4}") int batchParallelism) {
+    AtomicInteger n = new AtomicInteger();
+    this.batchPool = Executors.newFixedThreadPool(Math.max(1, batchParallelism), r -> {
+      Thread t = new Thread(r, "photo-batch-" + n.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    batchPool.shutdownNow();
+  }
+
+  public long maxPhotoBytes() {
+    return maxPhotoBytes;
+  }
+
+  public Path dir() {
+    Path dir = SharedBackendPaths.resolveExistingDir(
+        uploadsDir,
+        List.of("backend/uploads", "../backend/uploads")
+    );
+    if (dir == null) {
+      dir = Path.of("backend/uploads").toAbsolutePath().normalize();
+    }
+    return dir;
+  }
+
+  /**
+   * @param declaredLength Content-Length of the part/body when known (else -1); rejected up front if over the limit
+   */
+  public StoredPhoto store(InputStream in, String originalName, long declaredLength) throws IOException {
+    if (declaredLength > maxPhotoBytes) {
+      throw tooLarge();
+    }
+
+    Path dir = dir();
+    Files.createDirectories(dir);
+    Path part = dir.resolve("." + UUID.randomUUID().toString().replace("-", "") + ".part");
+
+    MessageDigest sha = sha256();
+    long size = 0;
+    boolean ok = false;
+    try (ReadableByteChannel src = Channels.newChannel(in);
+        FileChannel dst = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      ByteBuffer buf = ByteBuffer.allocate(COPY_BUFFER);
+      while (src.read(buf) >= 0) {
+        buf.flip();
+        size += buf.remaining();
+        if (size > maxPhotoBytes) {
+          throw tooLarge();
+        }
+        sha.update(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+        while (buf.hasRemaining()) {
+          dst.write(buf);
+        }
+        buf.clear();
+      }
+      ok = true;
+    } finally {
+      if (!ok) {
+        Files.deleteIfExists(part);
+      }
+    }
+
+    if (size == 0) {
+      Files.deleteIfExists(part);
+      throw new IllegalArgumentException("empty file");
+    }
+
+    return commit(dir, part, HexFormat.of().formatHex(sha.digest()), size, originalName);
+  }
+
+  /**
+   * Adopts a complete file that already sits below the uploads dir (e.g. an assembled resumable
+   * upload): hashes it in place and renames it to its content address, without copying.
+   *
+   * @param expectedSha256 digest the client declared, or null; on mismatch the file is left untouched
+   */
+  public StoredPhoto storeFile(Path file, String originalName, String expectedSha256) throws IOException {
+    long size = Files.size(file);
+    if (size > maxPhotoBytes) {
+      throw tooLarge();
+    }
+    if (size == 0) {
+      throw new IllegalArgumentException("empty file");
+    }
+    MessageDigest sha = sha256();
+    try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buf = ByteBuffer.allocate(COPY_BUFFER);
+      while (ch.read(buf) >= 0) {
+        buf.flip();
+        sha.update(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+        buf.clear();
+      }
+    }
+    String hash = HexFormat.of().formatHex(sha.digest());
+    if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(hash)) {
+      throw new IllegalArgumentException("sha256 mismatch (received " + hash + ")");
+    }
+    return commit(dir(), file, hash, size, originalName);
+  }
+
+  private StoredPhoto commit(Path dir, Path part, String hash, long size, String originalName) throws IOException {
+    String existing = findBlob(dir, hash);
+    if (existing != null) {
+      // Restart the GC grace period: the record about to reference this blob isn't saved yet.
+      try {
+        Files.setLastModifiedTime(dir.resolve(existing), FileTime.from(Instant.now()));
+        Files.deleteIfExists(part);
+        return new StoredPhoto(existing, "/uploads/" + existing, hash, size, true);
+      } catch (NoSuchFileException e) {
+        // Swept between the lookup and now; store this copy instead.
+      }
+    }
+    String name = sharded(hash + extension(originalName));
+    Path dst = dir.resolve(name);
+    Files.createDirectories(dst.getParent());
+    // Concurrent identical uploads may race here; rename replaces with identical bytes, which is harmless.
+    Files.move(part, dst, StandardCopyOption.ATOMIC_MOVE);
+    return new StoredPhoto(name, "/uploads/" + name, hash, size, false);
+  }
+
+  /**
+   * Stores the parts concurrently (bounded by {@code app.uploads.batch-parallelism}); results keep
+   * the input order. The first failure is rethrown once all parts have finished.
+   */
+  public List<StoredPhoto> storeAll(List<? extends Source> sources) throws IOException {
+    List<CompletableFuture<StoredPhoto>> futures = new ArrayList<>(sources.size());
+    for (Source src : sources) {
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        try (InputStream in = src.open()) {
+          return store(in, src.originalName(), src.declaredLength());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }, batchPool));
+    }
+    List<StoredPhoto> out = new ArrayList<>(sources.size());
+    RuntimeException failure = null;
+    for (CompletableFuture<StoredPhoto> f : futures) {
+      try {
+        out.add(f.join());
+      } catch (CompletionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException re ? re : e;
+        }
+      }
+    }
+    if (failure instanceof UncheckedIOException uio) {
+      throw uio.getCause();
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return out;
+  }
+
+  /**
+   * File for a path below {@code /uploads/}. Flat names that have since been moved into their
+   * shard (and sharded names not yet migrated) still resolve. Null if absent.
+   */
+  public Path resolve(String relativeName) {
+    Path dir = dir();
+    Path p = dir.resolve(relativeName);
+    if (Files.isRegularFile(p)) {
+      return p;
+    }
+    String base = relativeName.substring(relativeName.lastIndexOf('/') + 1);
+    Path alt = dir.resolve(relativeName.indexOf('/') < 0 ? sharded(base) : base);
+    return Files.isRegularFile(alt) ? alt : null;
+  }
+
+  /**
+   * {@code ab/cd/<name>}: two levels of 256 directories keyed on the name's leading hex digits
+   * (hash and UUID names), or on a hash of the name for anything else.
+   */
+  public static String sharded(String name) {
+    String key = name.length() >= 4 && name.substring(0, 4).matches("[0-9a-f]{4}")
+        ? name
+        : HexFormat.of().formatHex(sha256().digest(name.getBytes(StandardCharsets.UTF_8)));
+    return key.substring(0, 2) + "/" + key.substring(2, 4) + "/" + name;
+  }
+
+  // Same bytes may have been uploaded under another extension, or still sit in the flat layout.
+  private static String findBlob(Path dir, String hash) {
+    for (String ext : ALLOWED_EXT) {
+      String name = hash + ext;
+      if (Files.isRegularFile(dir.resolve(sharded(name)))) {
+        return sharded(name);
+      }
+      if (Files.isRegularFile(dir.resolve(name))) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  // Unknown extensions default to .jpg, consistent with Python behavior.
+  static String extension(String originalName) {
+    String original = originalName == null ? "" : originalName;
+    int idx = original.lastIndexOf('.');
+    String ext = idx >= 0 ? original.substring(idx).toLowerCase().trim() : "";
+    return ALLOWED_EXT.contains(ext) ? ext : ".jpg";
+  }
+
+  private ResponseStatusException tooLarge() {
+    return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "photo exceeds " + maxPhotoBytes + " bytes");
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
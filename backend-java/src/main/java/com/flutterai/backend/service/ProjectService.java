@@ -1,10 +1,17 @@
 package com.flutterai.backend.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.flutterai.backend.domain.ProjectEntity;
 import com.flutterai.backend.repo.ProjectRepository;
+import com.flutterai.backend.util.CursorCodec;
 
 @Service
 public class ProjectService {
@@ -27,6 +34,31 @@ public class ProjectService {
     });
   }
 
+  @Transactional(readOnly = true)
+  public Window<ProjectEntity> list(int limit, String cursor) {
+    int safeLimit = Math.max(1, Math.min(limit <= 0 ? 200 : limit, 500));
+    CursorCodec.Keyset k = CursorCodec.decodeKeyset(cursor);
+    if (k != null && k.createdAt() == null) {
+      return projectRepository.findByCreatedAtIsNullOrderByIdDesc(KeysetCursors.position(cursor), Limit.of(safeLimit));
+    }
+    Window<ProjectEntity> dated = projectRepository.findByCreatedAtIsNotNullOrderByCreatedAtDescIdDesc(
+        KeysetCursors.position(cursor), Limit.of(safeLimit));
+    if (dated.hasNext()) {
+      return dated;
+    }
+    // Projects without created_at sort after every dated one; the last dated page continues into them.
+    int room = safeLimit - dated.size();
+    Window<ProjectEntity> undated = projectRepository.findByCreatedAtIsNullOrderByIdDesc(
+        ScrollPosition.keyset(), Limit.of(Math.max(1, room)));
+    if (room == 0) {
+      return Window.from(dated.getContent(), dated::positionAt, !undated.isEmpty());
+    }
+    List<ProjectEntity> items = new ArrayList<>(dated.getContent());
+    items.addAll(undated.getContent());
+    return Window.from(items, i -> KeysetCursors.position(
+        CursorCodec.encodeKeyset(items.get(i).getCreatedAt(), items.get(i).getId())), undated.hasNext());
+  }
+
   @Transactional
   public ProjectEntity ensureProjectWithAddress(String name, String address) {
     ProjectEntity p = ensureProject(name);
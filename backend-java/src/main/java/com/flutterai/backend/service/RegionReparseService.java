@@ -0,0 +1,335 @@
+package com.flutterai.backend.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flutterai.backend.domain.RegionReparseJobEntity;
+import com.flutterai.backend.dto.RegionDtos.RegionDiff;
+import com.flutterai.backend.dto.RegionDtos.RegionFields;
+import com.flutterai.backend.dto.RegionDtos.RegionReparseJobOut;
+import com.flutterai.backend.repo.RegionReparseJobRepository;
+import com.flutterai.backend.util.RegionParser;
+import com.flutterai.backend.util.RegionParser.ParsedRegion;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Brings building_no / floor_no / zone up to the current {@link RegionParser#VERSION} for a project.
+ *
+ * Rows with an older (or no) parser version are read in id-ordered chunks from the read-only pool,
+ * parsed across cores, and only rows whose fields actually change are written, in one batch per
+ * chunk together with the checkpoint. Rows that parse the same are not touched, since that would
+ * bump change_seq and make every client re-pull them; instead they get a region_parse_checks mark
+ * for this version and their current change_seq, so later jobs skip them until the row is written
+ * again. A dry run records the same counts and a before/after sample without writing.
+ */
+@Service
+public class RegionReparseService {
+  private static final int MAX_DIFF = 200;
+  private static final int MAX_CHUNK = 5000;
+  private static final List<String> ACTIVE = List.of("queued", "running");
+
+  private record Phase(String name, String table) {}
+
+  private static final List<Phase> PHASES = List.of(
+      new Phase("acceptance", "acceptance_records"),
+      new Phase("issues", "issue_reports")
+  );
+
+  private record Row(long id, String regionText, RegionFields before, Long changeSeq) {}
+
+  private record Change(Row row, RegionFields after) {}
+
+  private final RegionReparseJobRepository jobRepository;
+  private final JdbcTemplate jdbc;
+  private final JdbcTemplate readOnlyJdbc;
+  private final TransactionTemplate tx;
+  private final ObjectMapper objectMapper;
+  private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "region-reparse");
+    t.setDaemon(true);
+    t.setPriority(Thread.MIN_PRIORITY);
+    return t;
+  });
+
+  @Value("${app.region-reparse.chunk-size:1000}")
+  private int defaultChunkSize;
+
+  // Pause between chunks so app writes get the single DB connection in between.
+  @Value("${app.region-reparse.pause-ms:100}")
+  private long pauseMs;
+
+  public RegionReparseService(
+      RegionReparseJobRepository jobRepository,
+      JdbcTemplate jdbc,
+      @Qualifier("readOnlyJdbcTemplate") JdbcTemplate readOnlyJdbc,
+      TransactionTemplate tx,
+      ObjectMapper objectMapper) {
+    this.jobRepository = jobRepository;
+    this.jdbc = jdbc;
+    this.readOnlyJdbc = readOnlyJdbc;
+    this.tx = tx;
+    this.objectMapper = objectMapper;
+  }
+
+  public RegionReparseJobOut submit(long projectId, boolean dryRun, Integer chunkSize) {
+    if (jobRepository.existsByProjectIdAndStatusIn(projectId, ACTIVE)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "a re-parse job is already queued for this project");
+    }
+    RegionReparseJobEntity job = new RegionReparseJobEntity();
+    job.setProjectId(projectId);
+    job.setStatus("queued");
+    job.setDryRun(dryRun);
+    job.setParserVersion(RegionParser.VERSION);
+    int size = chunkSize == null || chunkSize <= 0 ? defaultChunkSize : chunkSize;
+    job.setChunkSize(Math.max(1, Math.min(size, MAX_CHUNK)));
+    job.setPhase(PHASES.get(0).name());
+    job = jobRepository.save(job);
+
+    long id = job.getId();
+    worker.submit(() -> run(id));
+    return toOut(job);
+  }
+
+  public RegionReparseJobOut get(long jobId) {
+    return jobRepository.findById(jobId).map(this::toOut).orElse(null);
+  }
+
+  /**
+   * Re-queues a failed job from its last checkpoint.
+   */
+  public RegionReparseJobOut resume(long jobId) {
+    RegionReparseJobEntity job = jobRepository.findById(jobId).orElse(null);
+    if (job == null) {
+      return null;
+    }
+    if (!"failed".equals(job.getStatus())) {
+      throw new IllegalArgumentException("only failed jobs can be resumed");
+    }
+    job.setStatus("queued");
+    job.setMessage(null);
+    job = jobRepository.save(job);
+    worker.submit(() -> run(jobId));
+    return toOut(job);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeInterrupted() {
+    for (RegionReparseJobEntity job : jobRepository.findByStatusInOrderByIdAsc(ACTIVE)) {
+      long id = job.getId();
+      worker.submit(() -> run(id));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    worker.shutdownNow();
+  }
+
+  private void run(long jobId) {
+    RegionReparseJobEntity job = jobRepository.findById(jobId).orElse(null);
+    if (job == null || "done".equals(job.getStatus())) {
+      return;
+    }
+    job.setStatus("running");
+    job.setStartedAt(OffsetDateTime.now(ZoneOffset.UTC));
+    job.setFinishedAt(null);
+    job = jobRepository.save(job);
+
+    try {
+      List<RegionDiff> diff = readDiff(job);
+      int phaseIndex = phaseIndex(job.getPhase());
+      for (int p = phaseIndex; p < PHASES.size(); p++) {
+        Phase phase = PHASES.get(p);
+        if (p != phaseIndex) {
+          job.setPhase(phase.name());
+          job.setCheckpointId(0);
+          job = jobRepository.save(job);
+        }
+        while (true) {
+          List<Row> rows = readChunk(phase.table(), job);
+          if (rows.isEmpty()) {
+            break;
+          }
+          job = applyChunk(job, phase, rows, diff);
+          if (Thread.currentThread().isInterrupted()) {
+            // Shutting down: leave the job as running so it resumes on the next start.
+            return;
+          }
+          if (pauseMs > 0) {
+            Thread.sleep(pauseMs);
+          }
+        }
+      }
+
+      job.setStatus("done");
+      job.setFinishedAt(OffsetDateTime.now(ZoneOffset.UTC));
+      jobRepository.save(job);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      RegionReparseJobEntity failed = jobRepository.findById(jobId).orElse(job);
+      failed.setStatus("failed");
+      failed.setMessage(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+      failed.setFinishedAt(OffsetDateTime.now(ZoneOffset.UTC));
+      jobRepository.save(failed);
+    }
+  }
+
+  private List<Row> readChunk(String table, RegionReparseJobEntity job) {
+    // Rides idx_*_project: (project_id, rowid) gives the id range directly.
+    return readOnlyJdbc.query(
+        "SELECT t.id, t.region_text, t.building_no, t.floor_no, t.zone, t.change_seq FROM " + table + " t "
+            + "WHERE t.project_id = ? AND t.id > ? "
+            + "AND (t.region_parser_version IS NULL OR t.region_parser_version < ?) "
+            + "AND NOT EXISTS (SELECT 1 FROM region_parse_checks c WHERE c.table_name = ? AND c.row_id = t.id "
+            + "AND c.parser_version >= ? AND c.change_seq IS t.change_seq) "
+            + "ORDER BY t.id LIMIT ?",
+        (rs, i) -> {
+          int floor = rs.getInt(4);
+          Integer floorNo = rs.wasNull() ? null : floor;
+          long seq = rs.getLong(6);
+          Long changeSeq = rs.wasNull() ? null : seq;
+          return new Row(rs.getLong(1), rs.getString(2), new RegionFields(rs.getString(3), floorNo, rs.getString(5)), changeSeq);
+        },
+        job.getProjectId(), job.getCheckpointId(), job.getParserVersion(), table, job.getParserVersion(),
+        job.getChunkSize());
+  }
+
+  /**
+   * Parses the chunk in parallel and commits the changed rows together with the new checkpoint.
+   */
+  private RegionReparseJobEntity applyChunk(RegionReparseJobEntity job, Phase phase, List<Row> rows,
+      List<RegionDiff> diff) {
+    List<Change> parsed = rows.parallelStream()
+        .map(r -> {
+          ParsedRegion p = RegionParser.parse(r.regionText() == null ? "" : r.regionText());
+          return new Change(r, new RegionFields(p.buildingNo(), p.floorNo(), p.zone()));
+        })
+        .toList();
+    List<Change> changes = parsed.stream().filter(c -> !c.after().equals(c.row().before())).toList();
+    List<Row> unchanged = parsed.stream().filter(c -> c.after().equals(c.row().before())).map(Change::row).toList();
+
+    for (Change c : changes) {
+      RegionFields b = c.row().before();
+      RegionFields a = c.after();
+      if (!Objects.equals(b.buildingNo(), a.buildingNo())) {
+        job.setBuildingChanges(job.getBuildingChanges() + 1);
+      }
+      if (!Objects.equals(b.floorNo(), a.floorNo())) {
+        job.setFloorChanges(job.getFloorChanges() + 1);
+      }
+      if (!Objects.equals(b.zone(), a.zone())) {
+        job.setZoneChanges(job.getZoneChanges() + 1);
+      }
+      if (diff.size() < MAX_DIFF) {
+        diff.add(new RegionDiff(phase.table(), c.row().id(), c.row().regionText(), b, a));
+      }
+    }
+    job.setRowsScanned(job.getRowsScanned() + rows.size());
+    job.setRowsChanged(job.getRowsChanged() + changes.size());
+    job.setCheckpointId(rows.get(rows.size() - 1).id());
+    job.setDiffJson(writeDiff(diff));
+
+    return tx.execute(status -> {
+      if (!job.isDryRun() && !changes.isEmpty()) {
+        // region_text is re-checked so a row edited since the read keeps its newer fields.
+        jdbc.batchUpdate(
+            "UPDATE " + phase.table() + " SET building_no = ?, floor_no = ?, zone = ?, region_parser_version = ? "
+                + "WHERE id = ? AND region_text IS ?",
+            changes,
+            changes.size(),
+            (ps, c) -> {
+              ps.setString(1, c.after().buildingNo());
+              ps.setObject(2, c.after().floorNo());
+              ps.setString(3, c.after().zone());
+              ps.setInt(4, job.getParserVersion());
+              ps.setLong(5, c.row().id());
+              ps.setString(6, c.row().regionText());
+            });
+      }
+      if (!job.isDryRun() && !unchanged.isEmpty()) {
+        jdbc.batchUpdate(
+            "INSERT INTO region_parse_checks (table_name, row_id, parser_version, change_seq) VALUES (?, ?, ?, ?) "
+                + "ON CONFLICT (table_name, row_id) DO UPDATE SET "
+                + "parser_version = excluded.parser_version, change_seq = excluded.change_seq",
+            unchanged,
+            unchanged.size(),
+            (ps, r) -> {
+              ps.setString(1, phase.table());
+              ps.setLong(2, r.id());
+              ps.setInt(3, job.getParserVersion());
+              ps.setObject(4, r.changeSeq());
+            });
+      }
+      return jobRepository.save(job);
+    });
+  }
+
+  private static int phaseIndex(String name) {
+    for (int i = 0; i < PHASES.size(); i++) {
+      if (PHASES.get(i).name().equals(name)) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+  private List<RegionDiff> readDiff(RegionReparseJobEntity job) {
+    if (job.getDiffJson() == null || job.getDiffJson().isBlank()) {
+      return new ArrayList<>();
+    }
+    try {
+      return new ArrayList<>(objectMapper.readValue(job.getDiffJson(), new TypeReference<List<RegionDiff>>() {}));
+    } catch (JsonProcessingException e) {
+      return new ArrayList<>();
+    }
+  }
+
+  private String writeDiff(List<RegionDiff> diff) {
+    try {
+      return objectMapper.writeValueAsString(diff);
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+  }
+
+  private RegionReparseJobOut toOut(RegionReparseJobEntity job) {
+    return new RegionReparseJobOut(
+        job.getId(),
+        job.getProjectId(),
+        job.getStatus(),
+        job.isDryRun(),
+        job.getParserVersion(),
+        job.getPhase(),
+        job.getCheckpointId(),
+        job.getRowsScanned(),
+        job.getRowsChanged(),
+        job.getBuildingChanges(),
+        job.getFloorChanges(),
+        job.getZoneChanges(),
+        readDiff(job),
+        job.getMessage(),
+        job.getCreatedAt(),
+        job.getStartedAt(),
+        job.getFinishedAt());
+  }
+}
@@ -0,0 +1,95 @@
+package com.flutterai.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.flutterai.backend.domain.AcceptanceRecordEntity;
+import com.flutterai.backend.domain.IssueReportEntity;
+import com.flutterai.backend.domain.RectificationActionEntity;
+import com.flutterai.backend.domain.SyncTombstoneEntity;
+import com.flutterai.backend.repo.AcceptanceRecordRepository;
+import com.flutterai.backend.repo.IssueReportRepository;
+import com.flutterai.backend.repo.RectificationActionRepository;
+import com.flutterai.backend.repo.SyncTombstoneRepository;
+import com.flutterai.backend.util.CursorCodec;
+
+@Service
+public class SyncService {
+  public record ChangeBatch(
+      List<AcceptanceRecordEntity> acceptance,
+      List<IssueReportEntity> issues,
+      List<RectificationActionEntity> actions,
+      List<SyncTombstoneEntity> tombstones,
+      String nextCursor,
+      boolean hasMore
+  ) {}
+
+  private final AcceptanceRecordRepository acceptanceRepository;
+  private final IssueReportRepository issueRepository;
+  private final RectificationActionRepository actionRepository;
+  private final SyncTombstoneRepository tombstoneRepository;
+
+  public SyncService(
+      AcceptanceRecordRepository acceptanceRepository,
+      IssueReportRepository issueRepository,
+      RectificationActionRepository actionRepository,
+      SyncTombstoneRepository tombstoneRepository) {
+    this.acceptanceRepository = acceptanceRepository;
+    this.issueRepository = issueRepository;
+    this.actionRepository = actionRepository;
+    this.tombstoneRepository = tombstoneRepository;
+  }
+
+  /**
+   * Rows and tombstones of a project whose change_seq is after the cursor, oldest change first.
+   * Every change has a unique change_seq, so the sequence alone is a complete keyset.
+   */
+  @Transactional(readOnly = true)
+  public ChangeBatch changesSince(long projectId, String cursor, int limit) {
+    int safeLimit = Math.max(1, Math.min(limit <= 0 ? 200 : limit, 1000));
+    long since = CursorCodec.decodeSeq(cursor);
+    var page = PageRequest.of(0, safeLimit);
+
+    var acceptance = acceptanceRepository.findByProjectIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(projectId, since, page);
+    var issues = issueRepository.findByProjectIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(projectId, since, page);
+    var actions = actionRepository.findByProjectIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(projectId, since, page);
+    var tombstones = tombstoneRepository.findByProjectIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(projectId, since, page);
+
+    // Each source is already seq-ordered; the page ends at the limit-th smallest seq across all of them.
+    List<Long> seqs = new ArrayList<>();
+    acceptance.forEach(r -> seqs.add(r.getChangeSeq()));
+    issues.forEach(r -> seqs.add(r.getChangeSeq()));
+    actions.forEach(r -> seqs.add(r.getChangeSeq()));
+    tombstones.forEach(r -> seqs.add(r.getChangeSeq()));
+    if (seqs.isEmpty()) {
+      return new ChangeBatch(List.of(), List.of(), List.of(), List.of(), CursorCodec.encodeSeq(since), false);
+    }
+    seqs.sort(Long::compareTo);
+
+    boolean anyFull = acceptance.size() >= safeLimit || issues.size() >= safeLimit
+        || actions.size() >= safeLimit || tombstones.size() >= safeLimit;
+    long upTo = seqs.get(Math.min(seqs.size(), safeLimit) - 1);
+
+    return new ChangeBatch(
+        upTo(acceptance, AcceptanceRecordEntity::getChangeSeq, upTo),
+        upTo(issues, IssueReportEntity::getChangeSeq, upTo),
+        upTo(actions, RectificationActionEntity::getChangeSeq, upTo),
+        upTo(tombstones, SyncTombstoneEntity::getChangeSeq, upTo),
+        CursorCodec.encodeSeq(upTo),
+        anyFull || seqs.size() > safeLimit
+    );
+  }
+
+  private static <T> List<T> upTo(List<T> rows, ToLongFunction<T> seq, long maxSeq) {
+    int n = 0;
+    while (n < rows.size() && seq.applyAsLong(rows.get(n)) <= maxSeq) {
+      n++;
+    }
+    return n == rows.size() ? rows : rows.subList(0, n);
+  }
+}
@@ -0,0 +1,277 @@
+package com.flutterai.backend.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flutterai.backend.dto.UploadDtos.GcReportOut;
+import com.flutterai.backend.util.LongHashSet;
+import com.flutterai.backend.util.UploadRefNormalizer;
+
+/**
+ * Mark-and-sweep for uploads nothing points at (abandoned forms, failed syncs, rewritten upserts).
+ *
+ * Mark streams every {@code photo_path} and {@code photo_urls} entry into a set of 64-bit name
+ * hashes (a collision can only keep a file, never drop one). Sweep walks the uploads tree and
+ * moves unreferenced files older than the grace period into {@code .quarantine/<day>/}; quarantine
+ * days past retention are deleted, and quarantined files that became referenced again (late offline
+ * sync) are put back.
+ */
+@Service
+public class UploadGarbageCollector {
+  private static final String QUARANTINE_DIR = ".quarantine";
+  private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+  private final PhotoStore photoStore;
+  private final UploadShardMigration shardMigration;
+  private final PanoramaTiles panoramaTiles;
+  private final JdbcTemplate readOnlyJdbc;
+  private final ObjectMapper objectMapper;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private volatile GcReportOut lastReport;
+
+  @Value("${app.uploads.gc.enabled:true}")
+  private boolean enabled;
+
+  @Value("${app.uploads.gc.grace-hours:168}")
+  private long graceHours;
+
+  @Value("${app.uploads.gc.quarantine-days:7}")
+  private long quarantineDays;
+
+  public UploadGarbageCollector(
+      PhotoStore photoStore,
+      UploadShardMigration shardMigration,
+      PanoramaTiles panoramaTiles,
+      @Qualifier("readOnlyJdbcTemplate") JdbcTemplate readOnlyJdbc,
+      ObjectMapper objectMapper) {
+    this.photoStore = photoStore;
+    this.shardMigration = shardMigration;
+    this.panoramaTiles = panoramaTiles;
+    this.readOnlyJdbc = readOnlyJdbc;
+    this.objectMapper = objectMapper;
+  }
+
+  public GcReportOut lastReport() {
+    return lastReport;
+  }
+
+  @Scheduled(cron = "${app.uploads.gc.cron:0 30 3 * * *}")
+  public void scheduled() {
+    if (enabled) {
+      run(false);
+    }
+  }
+
+  public GcReportOut run(boolean dryRun) {
+    OffsetDateTime startedAt = OffsetDateTime.now(ZoneOffset.UTC);
+    if (shardMigration.isRunning()) {
+      return new GcReportOut(dryRun, startedAt, 0, 0, 0, 0, 0, 0, 0, 0, "skipped: shard migration in progress");
+    }
+    if (!running.compareAndSet(false, true)) {
+      return new GcReportOut(dryRun, startedAt, 0, 0, 0, 0, 0, 0, 0, 0, "skipped: already running");
+    }
+    try {
+      Sweep sweep = new Sweep(dryRun);
+      LongHashSet referenced = mark();
+      Path dir = photoStore.dir();
+      if (Files.isDirectory(dir)) {
+        sweepLive(dir, referenced, sweep);
+        sweepQuarantine(dir, referenced, sweep);
+        if (!dryRun) {
+          panoramaTiles.pruneOrphans();
+        }
+      }
+      GcReportOut report = new GcReportOut(
+          dryRun,
+          startedAt,
+          Duration.between(startedAt, OffsetDateTime.now(ZoneOffset.UTC)).toMillis(),
+          referenced.size(),
+          sweep.scanned,
+          sweep.quarantined,
+          sweep.quarantinedBytes,
+          sweep.restored,
+          sweep.deleted,
+          sweep.reclaimedBytes,
+          null);
+      if (!dryRun) {
+        lastReport = report;
+      }
+      return report;
+    } catch (IOException e) {
+      GcReportOut failed = new GcReportOut(dryRun, startedAt, 0, 0, 0, 0, 0, 0, 0, 0, "failed: " + e.getMessage());
+      lastReport = failed;
+      return failed;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private static final class Sweep {
+    final boolean dryRun;
+    long scanned;
+    long quarantined;
+    long quarantinedBytes;
+    long restored;
+    long deleted;
+    long reclaimedBytes;
+
+    Sweep(boolean dryRun) {
+      this.dryRun = dryRun;
+    }
+  }
+
+  private LongHashSet mark() {
+    LongHashSet set = new LongHashSet(1 << 16);
+    readOnlyJdbc.query(
+        "SELECT photo_path FROM acceptance_records WHERE photo_path IS NOT NULL "
+            + "UNION ALL SELECT photo_path FROM issue_reports WHERE photo_path IS NOT NULL",
+        rs -> {
+          markRef(set, rs.getString(1));
+        });
+    readOnlyJdbc.query("SELECT photo_urls FROM rectification_actions WHERE photo_urls IS NOT NULL", rs -> {
+      String json = rs.getString(1);
+      try {
+        for (String ref : objectMapper.readValue(json, String[].class)) {
+          markRef(set, ref);
+        }
+      } catch (IOException e) {
+        markRef(set, json); // legacy non-JSON value
+      }
+    });
+    return set;
+  }
+
+  // Keyed by file name only, so flat and sharded paths of the same file match.
+  private static void markRef(LongHashSet set, String ref) {
+    String p = UploadRefNormalizer.uploadsPathFromRef(ref);
+    if (p == null) {
+      return;
+    }
+    int q = p.indexOf('?');
+    if (q >= 0) {
+      p = p.substring(0, q);
+    }
+    set.add(LongHashSet.hash(p.substring(p.lastIndexOf('/') + 1)));
+  }
+
+  private void sweepLive(Path dir, LongHashSet referenced, Sweep sweep) throws IOException {
+    long cutoff = System.currentTimeMillis() - Duration.ofHours(graceHours).toMillis();
+    Path quarantineDay = dir.resolve(QUARANTINE_DIR).resolve(LocalDate.now(ZoneOffset.UTC).format(DAY));
+    Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) {
+        // .variants, .quarantine and other dot dirs are not uploads.
+        return !d.equals(dir) && d.getFileName().toString().startsWith(".")
+            ? FileVisitResult.SKIP_SUBTREE
+            : FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path f, BasicFileAttributes attrs) throws IOException {
+        String name = f.getFileName().toString();
+        if (name.startsWith(".")) {
+          return FileVisitResult.CONTINUE; // in-flight .part files
+        }
+        sweep.scanned++;
+        if (referenced.contains(LongHashSet.hash(name)) || attrs.lastModifiedTime().toMillis() > cutoff) {
+          return FileVisitResult.CONTINUE;
+        }
+        sweep.quarantined++;
+        sweep.quarantinedBytes += attrs.size();
+        if (!sweep.dryRun) {
+          Path target = quarantineDay.resolve(dir.relativize(f));
+          Files.createDirectories(target.getParent());
+          Files.move(f, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path f, IOException e) {
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private void sweepQuarantine(Path dir, LongHashSet referenced, Sweep sweep) throws IOException {
+    Path root = dir.resolve(QUARANTINE_DIR);
+    if (!Files.isDirectory(root)) {
+      return;
+    }
+    LocalDate expireBefore = LocalDate.now(ZoneOffset.UTC).minusDays(quarantineDays);
+    List<Path> days = new ArrayList<>();
+    try (DirectoryStream<Path> ds = Files.newDirectoryStream(root, Files::isDirectory)) {
+      ds.forEach(days::add);
+    }
+    for (Path day : days) {
+      LocalDate date;
+      try {
+        date = LocalDate.parse(day.getFileName().toString(), DAY);
+      } catch (RuntimeException e) {
+        continue;
+      }
+      boolean expired = date.isBefore(expireBefore);
+      List<Path> files;
+      try (Stream<Path> s = Files.walk(day)) {
+        files = s.filter(Files::isRegularFile).toList();
+      }
+      for (Path f : files) {
+        if (referenced.contains(LongHashSet.hash(f.getFileName().toString()))) {
+          sweep.restored++;
+          if (!sweep.dryRun) {
+            Path back = dir.resolve(day.relativize(f).toString());
+            Files.createDirectories(back.getParent());
+            Files.move(f, back, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+          }
+        } else if (expired) {
+          sweep.deleted++;
+          sweep.reclaimedBytes += Files.size(f);
+          if (!sweep.dryRun) {
+            Files.delete(f);
+          }
+        }
+      }
+      if (!sweep.dryRun) {
+        deleteEmptyDirs(day);
+      }
+    }
+  }
+
+  private static void deleteEmptyDirs(Path root) throws IOException {
+    List<Path> dirs;
+    try (Stream<Path> s = Files.walk(root)) {
+      dirs = s.filter(Files::isDirectory).sorted(Comparator.reverseOrder()).toList();
+    }
+    for (Path d : dirs) {
+      try (DirectoryStream<Path> ds = Files.newDirectoryStream(d)) {
+        if (!ds.iterator().hasNext()) {
+          Files.delete(d);
+        }
+      }
+    }
+  }
+}
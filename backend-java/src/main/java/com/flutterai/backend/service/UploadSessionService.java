@@ -0,0 +1,272 @@
+package com.flutterai.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flutterai.backend.domain.UploadSessionEntity;
+import com.flutterai.backend.dto.UploadDtos.UploadSessionIn;
+import com.flutterai.backend.dto.UploadDtos.UploadSessionOut;
+import com.flutterai.backend.repo.UploadSessionRepository;
+import com.flutterai.backend.service.PhotoStore.StoredPhoto;
+
+/**
+ * Resumable chunked uploads for large photos (panoramas) over unreliable connections: create a
+ * session, PUT chunks at an offset, ask for the offset after a drop, then complete.
+ *
+ * Chunks are written with positional writes into {@code uploads/.sessions/<id>.part}; the offset
+ * is persisted only after the data is forced to disk. A chunk cut off mid-body still counts for
+ * the bytes that arrived. Completion hands the file to {@link PhotoStore} in place.
+ */
+@Service
+public class UploadSessionService {
+  private static final String SESSIONS_DIR = ".sessions";
+  private static final Pattern SESSION_ID = Pattern.compile("[0-9a-f]{32}");
+  private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+  private static final int COPY_BUFFER = 64 * 1024;
+
+  private final UploadSessionRepository repo;
+  private final PhotoStore photoStore;
+  private final PhotoIngest photoIngest;
+  private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+  @Value("${app.uploads.sessions.max-chunk-bytes:8388608}")
+  private long maxChunkBytes;
+
+  @Value("${app.uploads.sessions.ttl-hours:24}")
+  private long ttlHours;
+
+  public UploadSessionService(UploadSessionRepository repo, PhotoStore photoStore, PhotoIngest photoIngest) {
+    this.repo = repo;
+    this.photoStore = photoStore;
+    this.photoIngest = photoIngest;
+  }
+
+  public UploadSessionOut create(UploadSessionIn in) throws IOException {
+    Path name = in.filename() == null || in.filename().isBlank() ? null : Path.of(in.filename().trim()).getFileName();
+    if (name == null) {
+      throw new IllegalArgumentException("filename is required");
+    }
+    if (in.size() <= 0) {
+      throw new IllegalArgumentException("size must be positive");
+    }
+    if (in.size() > photoStore.maxPhotoBytes()) {
+      throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "photo exceeds " + photoStore.maxPhotoBytes() + " bytes");
+    }
+    String sha = in.sha256() == null || in.sha256().isBlank() ? null : in.sha256().trim().toLowerCase(Locale.ROOT);
+    if (sha != null && !SHA256.matcher(sha).matches()) {
+      throw new IllegalArgumentException("invalid sha256");
+    }
+
+    UploadSessionEntity s = new UploadSessionEntity();
+    s.setId(UUID.randomUUID().toString().replace("-", ""));
+    s.setFileName(name.toString());
+    s.setTotalBytes(in.size());
+    s.setExpectedSha256(sha);
+    s.setStatus("open");
+    s.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+    Path part = partFile(s.getId());
+    Files.createDirectories(part.getParent());
+    Files.createFile(part);
+    return toOut(repo.save(s));
+  }
+
+  public UploadSessionOut get(String id) {
+    UploadSessionEntity s = find(id);
+    return s == null ? null : toOut(s);
+  }
+
+  /**
+   * Writes one chunk starting at {@code offset}, which may not be past the current offset (a
+   * retried chunk may overlap data already received). Returns null if the session does not exist.
+   */
+  public UploadSessionOut writeChunk(String id, long offset, InputStream body, long contentLength) throws IOException {
+    UploadSessionEntity s = find(id);
+    if (s == null) {
+      return null;
+    }
+    ReentrantLock lock = locks.computeIfAbsent(id, k -> new ReentrantLock());
+    if (!lock.tryLock()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "another chunk is being written to this session");
+    }
+    try {
+      s = find(id);
+      if (s == null) {
+        return null;
+      }
+      if (!"open".equals(s.getStatus())) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "upload session already completed");
+      }
+      if (offset < 0 || offset > s.getReceivedBytes()) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "offset mismatch (current offset " + s.getReceivedBytes() + ")");
+      }
+      if (contentLength > maxChunkBytes) {
+        throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "chunk exceeds " + maxChunkBytes + " bytes");
+      }
+      if (contentLength > 0 && offset + contentLength > s.getTotalBytes()) {
+        throw new IllegalArgumentException("chunk runs past the declared size " + s.getTotalBytes());
+      }
+
+      long pos = offset;
+      try (ReadableByteChannel src = Channels.newChannel(body);
+          FileChannel dst = FileChannel.open(partFile(id), StandardOpenOption.WRITE)) {
+        ByteBuffer buf = ByteBuffer.allocate(COPY_BUFFER);
+        try {
+          while (src.read(buf) >= 0) {
+            buf.flip();
+            if (pos + buf.remaining() - offset > maxChunkBytes) {
+              throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "chunk exceeds " + maxChunkBytes + " bytes");
+            }
+            if (pos + buf.remaining() > s.getTotalBytes()) {
+              throw new IllegalArgumentException("chunk runs past the declared size " + s.getTotalBytes());
+            }
+            while (buf.hasRemaining()) {
+              pos += dst.write(buf, pos);
+            }
+            buf.clear();
+          }
+        } finally {
+          // Also on a dropped connection: whatever arrived is kept and counted.
+          if (pos > s.getReceivedBytes()) {
+            dst.force(false);
+            s.setReceivedBytes(pos);
+          }
+          s.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+          s = repo.save(s);
+        }
+      }
+      return toOut(s);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Moves the assembled file into the photo store and runs the ingest stage on it. Repeating it
+   * after success returns the same photo. Null if the session does not exist.
+   */
+  public CompletableFuture<StoredPhoto> complete(String id) throws IOException {
+    UploadSessionEntity s = find(id);
+    if (s == null) {
+      return null;
+    }
+    ReentrantLock lock = locks.computeIfAbsent(id, k -> new ReentrantLock());
+    if (!lock.tryLock()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "another chunk is being written to this session");
+    }
+    try {
+      s = find(id);
+      if (s == null) {
+        return null;
+      }
+      if ("complete".equals(s.getStatus())) {
+        String name = s.getResultPath().substring("/uploads/".length());
+        Path file = photoStore.resolve(name);
+        long size = file == null ? s.getTotalBytes() : Files.size(file);
+        return CompletableFuture.completedFuture(new StoredPhoto(name, s.getResultPath(), s.getResultSha256(), size, true));
+      }
+      if (s.getReceivedBytes() != s.getTotalBytes()) {
+        throw new IllegalArgumentException("upload incomplete (" + s.getReceivedBytes() + " of " + s.getTotalBytes() + " bytes)");
+      }
+      Path part = partFile(id);
+      StoredPhoto stored;
+      try {
+        stored = photoStore.storeFile(part, s.getFileName(), s.getExpectedSha256());
+      } catch (IllegalArgumentException e) {
+        // Corrupt assembly: the client has to start over.
+        discard(s);
+        throw new IllegalArgumentException(e.getMessage() + "; upload session discarded");
+      }
+      s.setStatus("complete");
+      recordResult(s, stored);
+      return photoIngest.process(stored).thenApply(p -> {
+        if (p != stored) {
+          repo.findById(id).ifPresent(done -> recordResult(done, p));
+        }
+        return p;
+      });
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void recordResult(UploadSessionEntity s, StoredPhoto p) {
+    s.setResultPath(p.path());
+    s.setResultSha256(p.sha256());
+    s.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+    repo.save(s);
+  }
+
+  public boolean abort(String id) throws IOException {
+    UploadSessionEntity s = find(id);
+    if (s == null) {
+      return false;
+    }
+    discard(s);
+    return true;
+  }
+
+  // Sessions untouched for ttl-hours: open ones are abandoned, completed ones no longer needed for retries.
+  @Scheduled(fixedDelayString = "${app.uploads.sessions.purge-interval-ms:3600000}", initialDelay = 60_000)
+  public void purgeExpired() {
+    OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minusHours(ttlHours);
+    for (UploadSessionEntity s : repo.findByUpdatedAtBefore(cutoff)) {
+      try {
+        discard(s);
+      } catch (IOException ignored) {
+        // retried on the next run
+      }
+    }
+  }
+
+  private void discard(UploadSessionEntity s) throws IOException {
+    Files.deleteIfExists(partFile(s.getId()));
+    repo.delete(s);
+    locks.remove(s.getId());
+  }
+
+  private UploadSessionEntity find(String id) {
+    if (id == null || !SESSION_ID.matcher(id).matches()) {
+      return null;
+    }
+    return repo.findById(id).orElse(null);
+  }
+
+  private Path partFile(String id) {
+    return photoStore.dir().resolve(SESSIONS_DIR).resolve(id + ".part");
+  }
+
+  private UploadSessionOut toOut(UploadSessionEntity s) {
+    OffsetDateTime touched = s.getUpdatedAt() == null ? s.getCreatedAt() : s.getUpdatedAt();
+    return new UploadSessionOut(
+        s.getId(),
+        s.getFileName(),
+        s.getTotalBytes(),
+        s.getReceivedBytes(),
+        s.getStatus(),
+        s.getResultPath(),
+        s.getCreatedAt(),
+        touched == null ? null : touched.plusHours(ttlHours));
+  }
+}
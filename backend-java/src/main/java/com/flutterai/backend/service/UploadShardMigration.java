@@ -0,0 +1,156 @@
+package com.flutterai.backend.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves files left in the flat uploads layout into their {@code ab/cd/} shard, in the background.
+ *
+ * Each batch of files is moved first (reads keep working either way, see {@link PhotoStore#resolve})
+ * and then the rows referencing them, found through {@code photo_refs}, are rewritten in one
+ * transaction. The rewrite bumps {@code change_seq}, so synced clients pick up the new paths.
+ */
+@Service
+public class UploadShardMigration {
+  private record RefColumn(String table, String ownerType, String column) {}
+
+  private static final List<RefColumn> REF_COLUMNS = List.of(
+      new RefColumn("acceptance_records", "acceptance", "photo_path"),
+      new RefColumn("issue_reports", "issue", "photo_path"),
+      new RefColumn("rectification_actions", "action", "photo_urls")
+  );
+
+  private final PhotoStore photoStore;
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private volatile boolean running;
+
+  @Value("${app.uploads.shard-migration.enabled:true}")
+  private boolean enabled;
+
+  @Value("${app.uploads.shard-migration.batch-size:200}")
+  private int batchSize;
+
+  // Pause between batches so the migration never monopolises the single DB connection.
+  @Value("${app.uploads.shard-migration.pause-ms:200}")
+  private long pauseMs;
+
+  public UploadShardMigration(PhotoStore photoStore, JdbcTemplate jdbc, TransactionTemplate tx) {
+    this.photoStore = photoStore;
+    this.jdbc = jdbc;
+    this.tx = tx;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    Thread t = new Thread(this::run, "upload-shard-migration");
+    t.setDaemon(true);
+    t.setPriority(Thread.MIN_PRIORITY);
+    t.start();
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  void run() {
+    Path dir = photoStore.dir();
+    if (!Files.isDirectory(dir)) {
+      return;
+    }
+    running = true;
+    List<String> batch = new ArrayList<>(batchSize);
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir,
+        p -> Files.isRegularFile(p) && !p.getFileName().toString().startsWith("."))) {
+      for (Path p : files) {
+        batch.add(p.getFileName().toString());
+        if (batch.size() >= batchSize) {
+          migrateBatch(dir, batch);
+          batch.clear();
+          Thread.sleep(pauseMs);
+        }
+      }
+      if (!batch.isEmpty()) {
+        migrateBatch(dir, batch);
+      }
+      rewriteStaleRefs(dir);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | RuntimeException e) {
+      // Leave the rest flat; they still resolve and the next start picks them up again.
+    } finally {
+      running = false;
+    }
+  }
+
+  private void migrateBatch(Path dir, List<String> names) throws IOException {
+    Map<String, String> moved = new LinkedHashMap<>();
+    for (String name : names) {
+      Path src = dir.resolve(name);
+      String target = PhotoStore.sharded(name);
+      Path dst = dir.resolve(target);
+      Files.createDirectories(dst.getParent());
+      if (Files.exists(dst)) {
+        // Same hash/UUID name: the shard already holds this content.
+        Files.delete(src);
+      } else {
+        Files.move(src, dst, StandardCopyOption.ATOMIC_MOVE);
+      }
+      moved.put(name, target);
+    }
+    rewriteRefs(moved);
+  }
+
+  /**
+   * Rows still pointing at a flat name whose file already lives in its shard (saved by a client
+   * that held the old path, or written after its file was moved).
+   */
+  private void rewriteStaleRefs(Path dir) throws InterruptedException {
+    List<String> flat = jdbc.queryForList("SELECT DISTINCT blob FROM photo_refs WHERE instr(blob, '/') = 0", String.class);
+    Map<String, String> stale = new LinkedHashMap<>();
+    for (String name : flat) {
+      String target = PhotoStore.sharded(name);
+      if (!Files.exists(dir.resolve(name)) && Files.exists(dir.resolve(target))) {
+        stale.put(name, target);
+      }
+      if (stale.size() >= batchSize) {
+        rewriteRefs(stale);
+        stale.clear();
+        Thread.sleep(pauseMs);
+      }
+    }
+    if (!stale.isEmpty()) {
+      rewriteRefs(stale);
+    }
+  }
+
+  private void rewriteRefs(Map<String, String> moved) {
+    tx.executeWithoutResult(s -> {
+      for (RefColumn c : REF_COLUMNS) {
+        List<Object[]> args = new ArrayList<>(moved.size());
+        moved.forEach((from, to) -> args.add(new Object[] {"/uploads/" + from, "/uploads/" + to, from}));
+        jdbc.batchUpdate(
+            "UPDATE " + c.table() + " SET " + c.column() + " = replace(" + c.column() + ", ?, ?) "
+                + "WHERE id IN (SELECT owner_id FROM photo_refs WHERE owner_type = '" + c.ownerType() + "' AND blob = ?)",
+            args);
+      }
+    });
+  }
+}
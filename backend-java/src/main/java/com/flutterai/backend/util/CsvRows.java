@@ -0,0 +1,80 @@
+package com.flutterai.backend.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 reader (quoted fields may contain commas, quotes and newlines). UTF-8, BOM tolerated.
+ */
+final class CsvRows implements SpreadsheetRows {
+  private final BufferedReader in;
+
+  CsvRows(Path file) throws IOException {
+    PushbackInputStream raw = new PushbackInputStream(Files.newInputStream(file), 3);
+    byte[] bom = new byte[3];
+    int n = raw.readNBytes(bom, 0, 3);
+    if (!(n == 3 && bom[0] == (byte) 0xEF && bom[1] == (byte) 0xBB && bom[2] == (byte) 0xBF) && n > 0) {
+      raw.unread(bom, 0, n);
+    }
+    this.in = new BufferedReader(new InputStreamReader(raw, StandardCharsets.UTF_8), 64 * 1024);
+  }
+
+  @Override
+  public String[] next() throws IOException {
+    int c = in.read();
+    if (c < 0) {
+      return null;
+    }
+    List<String> cells = new ArrayList<>();
+    StringBuilder cell = new StringBuilder();
+    boolean quoted = false;
+    while (c >= 0) {
+      if (quoted) {
+        if (c == '"') {
+          in.mark(1);
+          int d = in.read();
+          if (d == '"') {
+            cell.append('"');
+          } else {
+            quoted = false;
+            if (d >= 0) {
+              in.reset();
+            }
+          }
+        } else {
+          cell.append((char) c);
+        }
+      } else if (c == '"' && cell.length() == 0) {
+        quoted = true;
+      } else if (c == ',') {
+        cells.add(cell.toString());
+        cell.setLength(0);
+      } else if (c == '\n') {
+        break;
+      } else if (c == '\r') {
+        in.mark(1);
+        if (in.read() != '\n') {
+          in.reset();
+        }
+        break;
+      } else {
+        cell.append((char) c);
+      }
+      c = in.read();
+    }
+    cells.add(cell.toString());
+    return cells.toArray(String[]::new);
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
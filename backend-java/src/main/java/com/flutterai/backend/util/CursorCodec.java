@@ -0,0 +1,103 @@
+package com.flutterai.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque cursor tokens for keyset paging. Clients must treat the value as a black box.
+ */
+public final class CursorCodec {
+  private CursorCodec() {}
+
+  private static final char SEP = '|';
+  private static final String TEXT_TS = "s";
+  private static final String NULL_TS = "n";
+
+  /**
+   * Keyset position on (created_at, id). {@code createdAt} is the raw column value: Long epoch
+   * millis (Hibernate rows) or String (Python rows), so the next page compares like-for-like in SQLite.
+   * Null means the row had no created_at; paging then continues among such rows by id.
+   */
+  public record Keyset(Object createdAt, long id) {}
+
+  public static String encode(Object... parts) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        sb.append(SEP);
+      }
+      sb.append(parts[i] == null ? "" : parts[i].toString());
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns null for a blank cursor; throws IllegalArgumentException (HTTP 400) for malformed ones.
+   */
+  public static String[] decode(String cursor, int expectedParts) {
+    String t = cursor == null ? "" : cursor.trim();
+    if (t.isEmpty()) {
+      return null;
+    }
+    String raw;
+    try {
+      raw = new String(Base64.getUrlDecoder().decode(t), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("invalid cursor");
+    }
+    String[] parts = raw.split("\\" + SEP, -1);
+    if (parts.length != expectedParts) {
+      throw new IllegalArgumentException("invalid cursor");
+    }
+    return parts;
+  }
+
+  public static String encodeSeq(long seq) {
+    return encode(seq);
+  }
+
+  public static long decodeSeq(String cursor) {
+    String[] parts = decode(cursor, 1);
+    if (parts == null) {
+      return 0L;
+    }
+    try {
+      return Math.max(0L, Long.parseLong(parts[0]));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("invalid cursor");
+    }
+  }
+
+  public static String encodeKeyset(Object rawCreatedAt, long id) {
+    if (rawCreatedAt instanceof Number n) {
+      return encode(n.longValue(), id);
+    }
+    if (rawCreatedAt instanceof OffsetDateTime odt) {
+      return encode(odt.toInstant().toEpochMilli(), id);
+    }
+    if (rawCreatedAt == null) {
+      return encode(NULL_TS, id);
+    }
+    return encode(TEXT_TS + rawCreatedAt, id);
+  }
+
+  public static Keyset decodeKeyset(String cursor) {
+    String[] parts = decode(cursor, 2);
+    if (parts == null) {
+      return null;
+    }
+    try {
+      long id = Long.parseLong(parts[1]);
+      if (parts[0].equals(NULL_TS)) {
+        return new Keyset(null, id);
+      }
+      if (parts[0].startsWith(TEXT_TS)) {
+        return new Keyset(parts[0].substring(TEXT_TS.length()), id);
+      }
+      return new Keyset(Long.parseLong(parts[0]), id);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.flutterai.backend.util;
+
+/**
+ * Open-addressing set of non-zero longs (8 bytes per slot, no boxing).
+ */
+public final class LongHashSet {
+  private long[] slots;
+  private int size;
+
+  public LongHashSet(int expected) {
+    int cap = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+    this.slots = new long[cap];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean add(long v) {
+    long key = v == 0 ? 1 : v;
+    if ((size + 1) * 2 > slots.length) {
+      grow();
+    }
+    int mask = slots.length - 1;
+    int i = mix(key) & mask;
+    while (slots[i] != 0) {
+      if (slots[i] == key) {
+        return false;
+      }
+      i = (i + 1) & mask;
+    }
+    slots[i] = key;
+    size++;
+    return true;
+  }
+
+  public boolean contains(long v) {
+    long key = v == 0 ? 1 : v;
+    int mask = slots.length - 1;
+    int i = mix(key) & mask;
+    while (slots[i] != 0) {
+      if (slots[i] == key) {
+        return true;
+      }
+      i = (i + 1) & mask;
+    }
+    return false;
+  }
+
+  private void grow() {
+    long[] old = slots;
+    slots = new long[old.length * 2];
+    size = 0;
+    for (long k : old) {
+      if (k != 0) {
+        add(k);
+      }
+    }
+  }
+
+  private static int mix(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    return (int) k;
+  }
+
+  /**
+   * 64-bit FNV-1a of a string's chars.
+   */
+  public static long hash(CharSequence s) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < s.length(); i++) {
+      h ^= s.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return h;
+  }
+}
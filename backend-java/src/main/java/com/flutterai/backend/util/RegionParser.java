@@ -1,117 +1,298 @@
 package com.flutterai.backend.util;
 
-import java.util.Map;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Extracts building / floor / zone from free-text region descriptions ("3栋12层/1203",
+ * "二栋五层", "5#十二层 A1").
+ *
+ * One hand-written scan over the text, without regexes or intermediate strings; results are
+ * memoized in a bounded concurrent cache because a site only has a few hundred distinct
+ * locations and every write, backfill and import row parses one. Output is identical to the
+ * earlier regex version:
+ * <ul>
+ *   <li>building: the first run of digits / Chinese numerals followed by 栋, 楼 or #</li>
+ *   <li>floor: the first such run followed by 层 or 楼</li>
+ *   <li>zone: with a "/", the last non-blank segment (if there are at least two segments);
+ *       otherwise two or more ASCII letters/digits ending the text right after 层 or 楼</li>
+ * </ul>
+ * Spaces are ignored except inside "/" segments.
+ */
 public final class RegionParser {
   private RegionParser() {}
 
+  /**
+   * Stored with every parsed row. Bump it whenever a rule change alters output for some input;
+   * {@code RegionReparseService} then re-parses rows carrying an older version.
+   */
+  public static final int VERSION = 1;
+
   public record ParsedRegion(String buildingNo, Integer floorNo, String zone) {}
 
-  private static final Map<String, Integer> CN_NUM = Map.ofEntries(
-      Map.entry("零", 0),
-      Map.entry("一", 1),
-      Map.entry("二", 2),
-      Map.entry("两", 2),
-      Map.entry("三", 3),
-      Map.entry("四", 4),
-      Map.entry("五", 5),
-      Map.entry("六", 6),
-      Map.entry("七", 7),
-      Map.entry("八", 8),
-      Map.entry("九", 9),
-      Map.entry("十", 10)
-  );
-
-  private static final Pattern BUILDING = Pattern.compile("([\\d一二三四五六七八九十两]+)(?:栋|楼|#)");
-  private static final Pattern FLOOR = Pattern.compile("([\\d一二三四五六七八九十两]+)(?:层|楼)");
-  private static final Pattern ROOM_AFTER_FLOOR = Pattern.compile("(?:层|楼)([A-Za-z0-9]{2,}|[\\d]{2,})$");
+  private static final ParsedRegion EMPTY = new ParsedRegion(null, null, null);
 
-  public static ParsedRegion parse(String regionText) {
-    String raw = Optional.ofNullable(regionText).orElse("").trim();
-    if (raw.isEmpty()) {
-      return new ParsedRegion(null, null, null);
-    }
+  private static final int CACHE_MAX_ENTRIES = 8192;
+  private static final int CACHE_MAX_KEY_LENGTH = 128;
+  private static final ConcurrentHashMap<String, ParsedRegion> CACHE = new ConcurrentHashMap<>();
 
-    String compact = raw.replace(" ", "");
+  private static final String[] BUILDING_NAMES = new String[256];
 
-    String buildingNo = null;
-    Matcher mb = BUILDING.matcher(compact);
-    if (mb.find()) {
-      Integer bi = cnToInt(mb.group(1));
-      if (bi != null) {
-        buildingNo = bi + "栋";
+  static {
+    for (int i = 0; i < BUILDING_NAMES.length; i++) {
+      BUILDING_NAMES[i] = i + "栋";
+    }
+  }
+
+  public static ParsedRegion parse(String regionText) {
+    if (regionText == null) {
+      return EMPTY;
+    }
+    ParsedRegion hit = CACHE.get(regionText);
+    if (hit != null) {
+      return hit;
+    }
+    ParsedRegion parsed = scan(regionText);
+    if (regionText.length() <= CACHE_MAX_KEY_LENGTH) {
+      if (CACHE.size() >= CACHE_MAX_ENTRIES) {
+        // Far more distinct texts than any site has: start over rather than track recency.
+        CACHE.clear();
+      }
+      ParsedRegion prev = CACHE.putIfAbsent(regionText, parsed);
+      if (prev != null) {
+        return prev;
       }
     }
+    return parsed;
+  }
 
-    Integer floorNo = null;
-    Matcher mf = FLOOR.matcher(compact);
-    if (mf.find()) {
-      floorNo = cnToInt(mf.group(1));
-    }
-
-    String zone = null;
-    if (raw.contains("/")) {
-      String[] parts = raw.split("/");
-      String last = null;
-      for (String p : parts) {
-        String t = (p == null ? "" : p.trim());
-        if (!t.isEmpty()) {
-          last = t;
+  private static ParsedRegion scan(String s) {
+    // Same bounds as String.trim().
+    int from = 0;
+    int to = s.length();
+    while (from < to && s.charAt(from) <= ' ') {
+      from++;
+    }
+    while (to > from && s.charAt(to - 1) <= ' ') {
+      to--;
+    }
+    if (from == to) {
+      return EMPTY;
+    }
+
+    int runStart = -1;
+    int buildingStart = -1;
+    int buildingEnd = -1;
+    int floorStart = -1;
+    int floorEnd = -1;
+    int lastFloorMark = -1;
+    boolean slash = false;
+    for (int i = from; i < to; i++) {
+      char c = s.charAt(i);
+      if (c == ' ') {
+        continue; // runs continue across spaces
+      }
+      if (isNumeral(c)) {
+        if (runStart < 0) {
+          runStart = i;
         }
+        continue;
       }
-      if (parts.length >= 2) {
-        zone = last;
+      if (runStart >= 0) {
+        if (buildingStart < 0 && (c == '栋' || c == '楼' || c == '#')) {
+          buildingStart = runStart;
+          buildingEnd = i;
+        }
+        if (floorStart < 0 && (c == '层' || c == '楼')) {
+          floorStart = runStart;
+          floorEnd = i;
+        }
+        runStart = -1;
       }
-    } else {
-      Matcher mRoom = ROOM_AFTER_FLOOR.matcher(compact);
-      if (mRoom.find()) {
-        zone = mRoom.group(1);
+      if (c == '层' || c == '楼') {
+        lastFloorMark = i;
+      } else if (c == '/') {
+        slash = true;
       }
     }
 
+    String buildingNo = null;
+    if (buildingStart >= 0) {
+      int b = numeralValue(s, buildingStart, buildingEnd);
+      if (b >= 0) {
+        buildingNo = b < BUILDING_NAMES.length ? BUILDING_NAMES[b] : b + "栋";
+      }
+    }
+    Integer floorNo = null;
+    if (floorStart >= 0) {
+      int f = numeralValue(s, floorStart, floorEnd);
+      if (f >= 0) {
+        floorNo = f;
+      }
+    }
+    String zone = slash ? lastSegment(s, from, to) : roomAfter(s, lastFloorMark, to);
     return new ParsedRegion(buildingNo, floorNo, zone);
   }
 
-  private static Integer cnToInt(String s) {
-    String t = Optional.ofNullable(s).orElse("").trim();
-    if (t.isEmpty()) {
+  /**
+   * Last non-blank "/" segment, trimmed; null unless some segment after the first is non-empty
+   * (String.split drops trailing empty segments).
+   */
+  private static String lastSegment(String s, int from, int to) {
+    boolean multiple = false;
+    int lastStart = -1;
+    int lastEnd = -1;
+    int segStart = from;
+    for (int i = from; i <= to; i++) {
+      if (i < to && s.charAt(i) != '/') {
+        continue;
+      }
+      if (segStart > from && i > segStart) {
+        multiple = true;
+      }
+      int a = segStart;
+      int b = i;
+      while (a < b && s.charAt(a) <= ' ') {
+        a++;
+      }
+      while (b > a && s.charAt(b - 1) <= ' ') {
+        b--;
+      }
+      if (a < b) {
+        lastStart = a;
+        lastEnd = b;
+      }
+      segStart = i + 1;
+    }
+    return multiple && lastStart >= 0 ? s.substring(lastStart, lastEnd) : null;
+  }
+
+  /**
+   * Two or more ASCII letters/digits (spaces ignored) running from the last 层/楼 to the end.
+   */
+  private static String roomAfter(String s, int mark, int to) {
+    if (mark < 0) {
       return null;
     }
-    if (t.chars().allMatch(Character::isDigit)) {
-      try {
-        return Integer.parseInt(t);
-      } catch (NumberFormatException e) {
+    // Like regex '$', also accept the text ending in one line separator.
+    char last = s.charAt(to - 1);
+    if (last == '\u0085' || last == '\u2028' || last == '\u2029') {
+      to--;
+    }
+    int n = 0;
+    boolean spaced = false;
+    for (int i = mark + 1; i < to; i++) {
+      char c = s.charAt(i);
+      if (c == ' ') {
+        spaced = true;
+      } else if ((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+        n++;
+      } else {
         return null;
       }
     }
-
-    for (int i = 0; i < t.length(); i++) {
-      String ch = String.valueOf(t.charAt(i));
-      if (!CN_NUM.containsKey(ch)) {
-        return null;
+    if (n < 2) {
+      return null;
+    }
+    if (!spaced) {
+      return s.substring(mark + 1, to);
+    }
+    StringBuilder sb = new StringBuilder(n);
+    for (int i = mark + 1; i < to; i++) {
+      char c = s.charAt(i);
+      if (c != ' ') {
+        sb.append(c);
       }
     }
+    return sb.toString();
+  }
 
-    if (t.equals("十")) {
-      return 10;
+  private static boolean isNumeral(char c) {
+    return (c >= '0' && c <= '9') || cnDigit(c) >= 0;
+  }
+
+  // No 零: the regex version never let it into a numeral run.
+  private static int cnDigit(char c) {
+    return switch (c) {
+      case '一' -> 1;
+      case '二', '两' -> 2;
+      case '三' -> 3;
+      case '四' -> 4;
+      case '五' -> 5;
+      case '六' -> 6;
+      case '七' -> 7;
+      case '八' -> 8;
+      case '九' -> 9;
+      case '十' -> 10;
+      default -> -1;
+    };
+  }
+
+  /**
+   * Value of the numeral run s[start, end) with spaces skipped, or -1. All-digit runs are decimal
+   * (-1 on int overflow); Chinese runs follow the old rules: 十X, X十, X十Y, or one numeral. A run
+   * mixing digits and Chinese numerals has no value.
+   */
+  private static int numeralValue(String s, int start, int end) {
+    boolean digits = false;
+    boolean chinese = false;
+    long v = 0;
+    int len = 0;
+    int tenAt = -1;
+    int c0 = -1;
+    int c1 = -1;
+    int c2 = -1;
+    for (int i = start; i < end; i++) {
+      char c = s.charAt(i);
+      if (c == ' ') {
+        continue;
+      }
+      if (c >= '0' && c <= '9') {
+        digits = true;
+        if (v <= Integer.MAX_VALUE) {
+          v = v * 10 + (c - '0');
+        }
+      } else {
+        chinese = true;
+        int d = cnDigit(c);
+        if (d == 10 && tenAt < 0) {
+          tenAt = len;
+        }
+        if (len == 0) {
+          c0 = d;
+        } else if (len == 1) {
+          c1 = d;
+        } else if (len == 2) {
+          c2 = d;
+        }
+      }
+      len++;
+    }
+    if (digits) {
+      return chinese || v > Integer.MAX_VALUE ? -1 : (int) v;
+    }
+    if (len == 1) {
+      return c0;
     }
-    if (t.startsWith("十")) {
-      String onesKey = t.substring(1);
-      int ones = CN_NUM.getOrDefault(onesKey, 0);
-      return 10 + ones;
+    if (tenAt == 0) {
+      // 十 + remainder; a multi-character remainder counts as 0
+      return 10 + (len == 2 ? c1 : 0);
     }
-    int idx = t.indexOf("十");
-    if (idx >= 0) {
-      String a = t.substring(0, idx);
-      String b = t.substring(idx + 1);
-      int tens = CN_NUM.getOrDefault(a, 0) * 10;
-      int ones = b.isEmpty() ? 0 : CN_NUM.getOrDefault(b, 0);
+    if (tenAt > 0) {
+      int tens = tenAt == 1 ? c0 * 10 : 0;
+      int rest = len - tenAt - 1;
+      int ones = rest == 1 ? (tenAt == 1 ? c2 : lastCn(s, start, end)) : 0;
       return tens + ones;
     }
+    return -1;
+  }
 
-    return CN_NUM.get(t);
+  private static int lastCn(String s, int start, int end) {
+    for (int i = end - 1; i >= start; i--) {
+      char c = s.charAt(i);
+      if (c != ' ') {
+        return cnDigit(c);
+      }
+    }
+    return -1;
   }
 }
@@ -0,0 +1,28 @@
+package com.flutterai.backend.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Forward-only row reader over an uploaded sheet. The first row returned is the header.
+ */
+public interface SpreadsheetRows extends Closeable {
+  /**
+   * Next row's cells (missing trailing cells may be absent), or null at end of file.
+   */
+  String[] next() throws IOException;
+
+  static boolean supports(String fileName) {
+    String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+    return name.endsWith(".xlsx") || name.endsWith(".csv") || name.endsWith(".txt");
+  }
+
+  static SpreadsheetRows open(Path file, String fileName) throws IOException {
+    if (!supports(fileName)) {
+      throw new IllegalArgumentException("unsupported file type (expected .csv or .xlsx)");
+    }
+    return fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx") ? new XlsxRows(file) : new CsvRows(file);
+  }
+}
@@ -0,0 +1,89 @@
+package com.flutterai.backend.util;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+
+/**
+ * Reads timestamp columns as stored in the shared SQLite DB.
+ *
+ * Rows written by Hibernate hold epoch millis (INTEGER); rows written by the Python backend hold
+ * text like {@code 2026-01-27 23:05:43[.ffffff]} (naive UTC, same assumption as the Python side).
+ */
+public final class SqliteTimestamps {
+  private SqliteTimestamps() {}
+
+  private static final DateTimeFormatter LOCAL_FLEX = new DateTimeFormatterBuilder()
+      .appendPattern("yyyy-MM-dd")
+      .optionalStart()
+      .appendLiteral('T')
+      .optionalEnd()
+      .optionalStart()
+      .appendLiteral(' ')
+      .optionalEnd()
+      .appendPattern("HH:mm:ss")
+      .optionalStart()
+      .appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, true)
+      .optionalEnd()
+      .toFormatter();
+
+  public static Instant toInstant(Object raw) {
+    if (raw == null) {
+      return null;
+    }
+    if (raw instanceof Number n) {
+      return Instant.ofEpochMilli(n.longValue());
+    }
+    if (raw instanceof OffsetDateTime odt) {
+      return odt.toInstant();
+    }
+    if (raw instanceof Timestamp ts) {
+      return ts.toInstant();
+    }
+    String s = raw.toString().trim();
+    if (s.isEmpty()) {
+      return null;
+    }
+    if (s.chars().allMatch(Character::isDigit)) {
+      try {
+        return Instant.ofEpochMilli(Long.parseLong(s));
+      } catch (NumberFormatException ignored) {
+        return null;
+      }
+    }
+    try {
+      return OffsetDateTime.parse(s).toInstant();
+    } catch (Exception ignored) {
+      // fall through
+    }
+    try {
+      return LocalDateTime.parse(s, LOCAL_FLEX).toInstant(ZoneOffset.UTC);
+    } catch (Exception ignored) {
+      // fall through
+    }
+    try {
+      return Instant.parse(s);
+    } catch (Exception ignored) {
+      return null;
+    }
+  }
+
+  /**
+   * SQL expression for a timestamp column (or expression) as epoch millis, whichever way the row
+   * stored it; NULL when the text can't be parsed.
+   */
+  public static String millisSql(String column) {
+    return "(CASE WHEN typeof(" + column + ") = 'integer' THEN " + column
+        + " ELSE CAST(ROUND((julianday(" + column + ") - 2440587.5) * 86400000) AS INTEGER) END)";
+  }
+
+  public static OffsetDateTime toOffsetDateTime(Object raw) {
+    Instant i = toInstant(raw);
+    return i == null ? null : i.atOffset(ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,188 @@
+package com.flutterai.backend.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the first worksheet of an .xlsx with StAX, one {@code <row>} at a time, so large sheets
+ * never become a DOM. Only the shared-strings table is held in memory.
+ *
+ * Numeric cells come back as their stored text (dates stay Excel serial numbers).
+ */
+final class XlsxRows implements SpreadsheetRows {
+  private static final XMLInputFactory XML = XMLInputFactory.newFactory();
+
+  static {
+    XML.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    XML.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  private final ZipFile zip;
+  private final InputStream sheetIn;
+  private final XMLStreamReader sheet;
+  private final List<String> sharedStrings;
+
+  XlsxRows(Path file) throws IOException {
+    this.zip = new ZipFile(file.toFile());
+    try {
+      this.sharedStrings = readSharedStrings(zip);
+      ZipEntry entry = zip.getEntry("xl/worksheets/sheet1.xml");
+      if (entry == null) {
+        entry = zip.stream()
+            .filter(e -> e.getName().startsWith("xl/worksheets/sheet") && e.getName().endsWith(".xml"))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("xlsx has no worksheet"));
+      }
+      this.sheetIn = zip.getInputStream(entry);
+      this.sheet = XML.createXMLStreamReader(sheetIn);
+    } catch (XMLStreamException e) {
+      zip.close();
+      throw new IOException("invalid xlsx", e);
+    } catch (IOException | RuntimeException e) {
+      zip.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public String[] next() throws IOException {
+    try {
+      while (sheet.hasNext()) {
+        if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+          return readRow();
+        }
+      }
+      return null;
+    } catch (XMLStreamException e) {
+      throw new IOException("invalid xlsx sheet", e);
+    }
+  }
+
+  private String[] readRow() throws XMLStreamException {
+    String[] cells = new String[0];
+    int nextCol = 0;
+    while (sheet.hasNext()) {
+      int ev = sheet.next();
+      if (ev == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+        break;
+      }
+      if (ev != XMLStreamConstants.START_ELEMENT || !"c".equals(sheet.getLocalName())) {
+        continue;
+      }
+      String ref = sheet.getAttributeValue(null, "r");
+      String type = sheet.getAttributeValue(null, "t");
+      int col = ref == null ? nextCol : columnIndex(ref);
+      String value = readCell(type);
+      if (col >= cells.length) {
+        cells = Arrays.copyOf(cells, col + 1);
+      }
+      cells[col] = value;
+      nextCol = col + 1;
+    }
+    for (int i = 0; i < cells.length; i++) {
+      if (cells[i] == null) {
+        cells[i] = "";
+      }
+    }
+    return cells;
+  }
+
+  // Positioned on <c>; consumes through </c>.
+  private String readCell(String type) throws XMLStreamException {
+    StringBuilder v = new StringBuilder();
+    while (sheet.hasNext()) {
+      int ev = sheet.next();
+      if (ev == XMLStreamConstants.END_ELEMENT && "c".equals(sheet.getLocalName())) {
+        break;
+      }
+      if (ev == XMLStreamConstants.START_ELEMENT && ("v".equals(sheet.getLocalName()) || "t".equals(sheet.getLocalName()))) {
+        v.append(sheet.getElementText());
+      }
+    }
+    String s = v.toString();
+    if ("s".equals(type) && !s.isEmpty()) {
+      int idx = Integer.parseInt(s.trim());
+      return idx >= 0 && idx < sharedStrings.size() ? sharedStrings.get(idx) : "";
+    }
+    if ("b".equals(type)) {
+      return "1".equals(s) ? "TRUE" : "FALSE";
+    }
+    return s;
+  }
+
+  static int columnIndex(String ref) {
+    int col = 0;
+    for (int i = 0; i < ref.length(); i++) {
+      char ch = ref.charAt(i);
+      if (ch < 'A' || ch > 'Z') {
+        break;
+      }
+      col = col * 26 + (ch - 'A' + 1);
+    }
+    return col - 1;
+  }
+
+  private static List<String> readSharedStrings(ZipFile zip) throws IOException, XMLStreamException {
+    List<String> out = new ArrayList<>();
+    ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+    if (entry == null) {
+      return out;
+    }
+    try (InputStream in = zip.getInputStream(entry)) {
+      XMLStreamReader r = XML.createXMLStreamReader(in);
+      StringBuilder cur = null;
+      while (r.hasNext()) {
+        int ev = r.next();
+        if (ev == XMLStreamConstants.START_ELEMENT) {
+          String name = r.getLocalName();
+          if ("si".equals(name)) {
+            cur = new StringBuilder();
+          } else if ("t".equals(name) && cur != null) {
+            cur.append(r.getElementText());
+          } else if ("rPh".equals(name)) {
+            skipElement(r); // phonetic hints are not cell text
+          }
+        } else if (ev == XMLStreamConstants.END_ELEMENT && "si".equals(r.getLocalName()) && cur != null) {
+          out.add(cur.toString());
+          cur = null;
+        }
+      }
+      r.close();
+    }
+    return out;
+  }
+
+  private static void skipElement(XMLStreamReader r) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0 && r.hasNext()) {
+      int ev = r.next();
+      if (ev == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (ev == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      sheet.close();
+    } catch (XMLStreamException ignored) {
+      // closing the zip below releases everything anyway
+    }
+    sheetIn.close();
+    zip.close();
+  }
+}
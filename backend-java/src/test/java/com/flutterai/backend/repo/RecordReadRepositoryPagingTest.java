@@ -0,0 +1,119 @@
+package com.flutterai.backend.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.flutterai.backend.dto.AcceptanceDtos.AcceptanceRecordOut;
+import com.flutterai.backend.dto.ActionDtos.RectificationActionOut;
+
+/**
+ * Keyset paging over mixed created_at storage (epoch millis, text, NULL) on a real SQLite DB:
+ * every page size must return each row exactly once, undated rows included.
+ */
+class RecordReadRepositoryPagingTest {
+  private SingleConnectionDataSource ds;
+  private JdbcTemplate jdbc;
+  private RecordReadRepository repo;
+
+  // id -> created_at as stored; null = no created_at.
+  private static final Object[][] ROWS = {
+      {1L, 1_700_000_000_000L},
+      {2L, null},
+      {3L, "2024-01-02 10:00:00"},
+      {4L, 1_700_000_000_000L},
+      {5L, null},
+      {6L, 1_600_000_000_000L},
+      {7L, "2023-12-31 09:00:00"},
+      {8L, null},
+      {9L, null},
+      {10L, 1_800_000_000_000L},
+  };
+
+  @BeforeEach
+  void setUp() {
+    ds = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+    jdbc = new JdbcTemplate(ds);
+    jdbc.execute("CREATE TABLE acceptance_records (id INTEGER PRIMARY KEY, project_id INTEGER, region_code TEXT, "
+        + "region_text TEXT, building_no TEXT, floor_no INTEGER, zone TEXT, division TEXT, subdivision TEXT, item TEXT, "
+        + "item_code TEXT, indicator TEXT, indicator_code TEXT, result TEXT, photo_path TEXT, remark TEXT, ai_json TEXT, "
+        + "client_created_at, created_at, source TEXT, client_record_id TEXT)");
+    jdbc.execute("CREATE INDEX idx_acceptance_project_created ON acceptance_records (project_id, created_at, id)");
+    jdbc.execute("CREATE TABLE rectification_actions (id INTEGER PRIMARY KEY, project_id INTEGER, target_type TEXT, "
+        + "target_id INTEGER, action_type TEXT, content TEXT, photo_urls TEXT, actor_role TEXT, actor_name TEXT, created_at)");
+    for (Object[] r : ROWS) {
+      jdbc.update("INSERT INTO acceptance_records (id, project_id, result, created_at) VALUES (?, 1, 'qualified', ?)", r[0], r[1]);
+      jdbc.update("INSERT INTO rectification_actions (id, project_id, target_type, target_id, action_type, created_at) "
+          + "VALUES (?, 1, 'issue', 77, 'comment', ?)", r[0], r[1]);
+    }
+    repo = new RecordReadRepository(jdbc);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ds.destroy();
+  }
+
+  @Test
+  void descendingPagesCrossIntoUndatedRowsWithoutRepeats() {
+    for (int limit = 1; limit <= ROWS.length + 1; limit++) {
+      int l = limit;
+      List<Long> ids = collect(cursor -> repo.acceptancePage(1, cursor, l), AcceptanceRecordOut::id);
+      assertEachRowOnce(ids, limit);
+      // Undated rows sort after every dated one, newest id first.
+      assertEquals(List.of(9L, 8L, 5L, 2L), ids.subList(ids.size() - 4, ids.size()), "limit " + limit);
+    }
+  }
+
+  @Test
+  void ascendingPagesStartWithUndatedRowsWithoutRepeats() {
+    for (int limit = 1; limit <= ROWS.length + 1; limit++) {
+      int l = limit;
+      List<Long> ids = collect(cursor -> repo.actionPage("issue", 77, cursor, l), RectificationActionOut::id);
+      assertEachRowOnce(ids, limit);
+      assertEquals(List.of(2L, 5L, 8L, 9L), ids.subList(0, 4), "limit " + limit);
+    }
+  }
+
+  @Test
+  void descendingPagesMatchOrderOfSingleQuery() {
+    List<Long> expected = jdbc.queryForList(
+        "SELECT id FROM acceptance_records WHERE created_at IS NOT NULL ORDER BY created_at DESC, id DESC", Long.class);
+    List<Long> ids = collect(cursor -> repo.acceptancePage(1, cursor, 3), AcceptanceRecordOut::id);
+    assertEquals(expected, ids.subList(0, expected.size()));
+  }
+
+  private static <T> List<Long> collect(Function<String, ReadPage<T>> fetch, Function<T, Long> id) {
+    List<Long> ids = new ArrayList<>();
+    String cursor = null;
+    for (int guard = 0; guard <= ROWS.length + 1; guard++) {
+      ReadPage<T> page = fetch.apply(cursor);
+      page.items().forEach(item -> ids.add(id.apply(item)));
+      cursor = page.nextCursor();
+      if (cursor == null) {
+        return ids;
+      }
+    }
+    throw new AssertionError("paging did not terminate: " + ids);
+  }
+
+  private static void assertEachRowOnce(List<Long> ids, int limit) {
+    Set<Long> seen = new HashSet<>(ids);
+    assertEquals(ids.size(), seen.size(), "repeated rows at limit " + limit + ": " + ids);
+    assertEquals(ROWS.length, ids.size(), "skipped rows at limit " + limit + ": " + ids);
+    for (Object[] r : ROWS) {
+      assertTrue(seen.contains((Long) r[0]), "missing " + r[0] + " at limit " + limit);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.flutterai.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import com.flutterai.backend.domain.ProjectEntity;
+import com.flutterai.backend.repo.ProjectRepository;
+
+/**
+ * Project list paging across the dated / undated boundary, through the same cursor round trip
+ * the controller uses (KeysetCursors.next, then KeysetCursors.position on the next request).
+ */
+class ProjectServiceListTest {
+  private static final OffsetDateTime T0 = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  @Test
+  void pagesCoverDatedThenUndatedProjectsOnce() {
+    List<ProjectEntity> all = new ArrayList<>();
+    for (long id = 1; id <= 9; id++) {
+      // ids 3, 6 and 9 have no created_at; two dated projects share a timestamp.
+      all.add(project(id, id % 3 == 0 ? null : T0.plusDays(id == 5 ? 4 : id)));
+    }
+    ProjectService service = new ProjectService(fakeRepository(all));
+
+    for (int limit = 1; limit <= all.size() + 1; limit++) {
+      List<Long> ids = new ArrayList<>();
+      String cursor = null;
+      int pages = 0;
+      do {
+        Window<ProjectEntity> w = service.list(limit, cursor);
+        w.getContent().forEach(p -> ids.add(p.getId()));
+        cursor = KeysetCursors.next(w, ProjectEntity::getCreatedAt, ProjectEntity::getId);
+        if (++pages > all.size() + 1) {
+          throw new AssertionError("paging did not terminate at limit " + limit + ": " + ids);
+        }
+      } while (cursor != null);
+
+      assertEquals(List.of(8L, 7L, 5L, 4L, 2L, 1L, 9L, 6L, 3L), ids, "limit " + limit);
+      assertEquals(ids.size(), new HashSet<>(ids).size(), "limit " + limit);
+    }
+  }
+
+  private static ProjectEntity project(long id, OffsetDateTime createdAt) {
+    ProjectEntity p = new ProjectEntity();
+    p.setId(id);
+    p.setName("p" + id);
+    p.setCreatedAt(createdAt);
+    return p;
+  }
+
+  /**
+   * Just the two scroll queries ProjectService.list uses, with Spring Data's keyset semantics
+   * (strictly after the position's keys, limit + "has next").
+   */
+  private static ProjectRepository fakeRepository(List<ProjectEntity> all) {
+    return (ProjectRepository) Proxy.newProxyInstance(
+        ProjectRepository.class.getClassLoader(),
+        new Class<?>[] {ProjectRepository.class},
+        (proxy, method, args) -> {
+          KeysetScrollPosition pos = (KeysetScrollPosition) args[0];
+          int limit = ((Limit) args[1]).max();
+          Map<String, Object> keys = pos.getKeys();
+          List<ProjectEntity> rows = new ArrayList<>();
+          switch (method.getName()) {
+            case "findByCreatedAtIsNotNullOrderByCreatedAtDescIdDesc" -> {
+              Comparator<ProjectEntity> order = Comparator.comparing(ProjectEntity::getCreatedAt)
+                  .thenComparing(ProjectEntity::getId).reversed();
+              for (ProjectEntity p : all) {
+                if (p.getCreatedAt() == null) {
+                  continue;
+                }
+                if (!pos.isInitial()) {
+                  OffsetDateTime t = (OffsetDateTime) keys.get("createdAt");
+                  long id = (Long) keys.get("id");
+                  int c = p.getCreatedAt().compareTo(t);
+                  if (c > 0 || (c == 0 && p.getId() >= id)) {
+                    continue;
+                  }
+                }
+                rows.add(p);
+              }
+              rows.sort(order);
+            }
+            case "findByCreatedAtIsNullOrderByIdDesc" -> {
+              for (ProjectEntity p : all) {
+                if (p.getCreatedAt() == null && (pos.isInitial() || p.getId() < (Long) keys.get("id"))) {
+                  rows.add(p);
+                }
+              }
+              rows.sort(Comparator.comparing(ProjectEntity::getId).reversed());
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+          }
+          boolean hasNext = rows.size() > limit;
+          List<ProjectEntity> page = rows.subList(0, Math.min(limit, rows.size()));
+          return Window.from(page, i -> ScrollPosition.keyset(), hasNext);
+        });
+  }
+}
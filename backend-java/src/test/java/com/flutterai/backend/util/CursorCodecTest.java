@@ -0,0 +1,64 @@
+package com.flutterai.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+class CursorCodecTest {
+
+  @Test
+  void millisRoundTrip() {
+    CursorCodec.Keyset k = CursorCodec.decodeKeyset(CursorCodec.encodeKeyset(1_700_000_000_123L, 42));
+    assertEquals(1_700_000_000_123L, k.createdAt());
+    assertEquals(42, k.id());
+  }
+
+  @Test
+  void offsetDateTimeEncodesAsMillis() {
+    OffsetDateTime t = OffsetDateTime.of(2024, 5, 1, 8, 30, 0, 0, ZoneOffset.ofHours(8));
+    CursorCodec.Keyset k = CursorCodec.decodeKeyset(CursorCodec.encodeKeyset(t, 7));
+    assertEquals(t.toInstant().toEpochMilli(), k.createdAt());
+  }
+
+  @Test
+  void textRoundTrip() {
+    CursorCodec.Keyset k = CursorCodec.decodeKeyset(CursorCodec.encodeKeyset("2024-05-01 08:30:00", 9));
+    assertEquals("2024-05-01 08:30:00", k.createdAt());
+    assertEquals(9, k.id());
+  }
+
+  @Test
+  void emptyTextStaysText() {
+    assertEquals("", CursorCodec.decodeKeyset(CursorCodec.encodeKeyset("", 3)).createdAt());
+  }
+
+  @Test
+  void textThatLooksLikeTheNullMarkerStaysText() {
+    assertEquals("n", CursorCodec.decodeKeyset(CursorCodec.encodeKeyset("n", 3)).createdAt());
+  }
+
+  @Test
+  void nullRoundTrip() {
+    CursorCodec.Keyset k = CursorCodec.decodeKeyset(CursorCodec.encodeKeyset(null, 11));
+    assertNull(k.createdAt());
+    assertEquals(11, k.id());
+  }
+
+  @Test
+  void blankCursorIsTheFirstPage() {
+    assertNull(CursorCodec.decodeKeyset(null));
+    assertNull(CursorCodec.decodeKeyset("  "));
+  }
+
+  @Test
+  void malformedCursorIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> CursorCodec.decodeKeyset("!!!"));
+    assertThrows(IllegalArgumentException.class, () -> CursorCodec.decodeKeyset(CursorCodec.encode("x", 1)));
+    assertThrows(IllegalArgumentException.class, () -> CursorCodec.decodeKeyset(CursorCodec.encode(1, 2, 3)));
+  }
+}
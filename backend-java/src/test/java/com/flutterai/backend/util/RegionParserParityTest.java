@@ -0,0 +1,87 @@
+package com.flutterai.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.flutterai.backend.util.RegionParser.ParsedRegion;
+
+class RegionParserParityTest {
+
+  // Everything the scanner branches on, plus a few characters it must treat as plain text.
+  private static final String ALPHABET = "0123456789一二两三四五六七八九十零栋楼#层/ Ab-x\t\n\u0085\u2028";
+
+  @Test
+  void commonShapes() {
+    check("3栋12层/1203", "3栋", 12, "1203");
+    check("二栋五层", "2栋", 5, null);
+    check("5#十二层 A1", "5栋", 12, "A1");
+    check("12楼", "12栋", 12, null);
+    check("二十五层", null, 25, null);
+    check("  ", null, null, null);
+    check(null, null, null, null);
+  }
+
+  @Test
+  void zeroNeverStartsANumeralRun() {
+    check("零栋", null, null, null);
+    check("一零栋", null, null, null);
+    check("十零层", null, null, null);
+    check("零3栋", "3栋", null, null);
+  }
+
+  @Test
+  void mixedDigitAndChineseRunsHaveNoValue() {
+    check("3十栋", null, null, null);
+    check("1二层", null, null, null);
+    check("二1栋3层", null, 3, null);
+    check("3 栋 1 2 层 A 1", "3栋", 12, "A1");
+    check("99999999999栋", null, null, null);
+  }
+
+  @Test
+  void zoneKeepsSplitSemantics() {
+    check("3栋12层/", "3栋", 12, null);
+    check("/A1", null, null, "A1");
+    check("A//", null, null, null);
+    check("A/ /", null, null, "A");
+    check("A/ B /", null, null, "B");
+    check("/", null, null, null);
+    check("//B", null, null, "B");
+  }
+
+  @Test
+  void roomMayEndBeforeOneTrailingLineSeparator() {
+    check("3栋12层1203\u2028", "3栋", 12, "1203");
+    check("12层A1\u0085", null, 12, "A1");
+    check("12层A1\u2029", null, 12, "A1");
+    check("12层A1\u2028\u2028", null, 12, null);
+    check("12层A", null, 12, null);
+  }
+
+  @Test
+  void randomTextMatchesRegexVersion() {
+    Random rnd = new Random(41);
+    StringBuilder sb = new StringBuilder();
+    for (int n = 0; n < 200_000; n++) {
+      sb.setLength(0);
+      int len = rnd.nextInt(14);
+      for (int i = 0; i < len; i++) {
+        sb.append(ALPHABET.charAt(rnd.nextInt(ALPHABET.length())));
+      }
+      String s = sb.toString();
+      ParsedRegion expected = LegacyRegionParser.parse(s);
+      assertEquals(expected, RegionParser.parse(s), s);
+      // again, now served from the cache
+      assertEquals(expected, RegionParser.parse(s), s);
+    }
+  }
+
+  private static void check(String text, String buildingNo, Integer floorNo, String zone) {
+    ParsedRegion expected = new ParsedRegion(buildingNo, floorNo, zone);
+    assertEquals(expected, LegacyRegionParser.parse(text), "regex version: " + text);
+    assertEquals(expected, RegionParser.parse(text), "scanner: " + text);
+  }
+}